@@ -0,0 +1,100 @@
+package core.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import core.api.ApiClient;
+import core.api.ApiMetrics;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Requests per second against an embedded HTTP server: REST-assured as steps usually call it, with a new client and
+ * connection per request, against {@link ApiClient}'s pooled keep-alive connections, sequentially and fanned out.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiClientBenchmark {
+    private static final int FAN_OUT = 16;
+    private static final byte[] BODY = "{\"id\":1,\"name\":\"Ada\",\"roles\":[\"admin\",\"user\"]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String baseUrl;
+    private List<Function<RequestSpecification, Response>> fanOut;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Otherwise Nagle's algorithm and delayed ACKs add 40 ms to every response on a kept-alive connection
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/users", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(FAN_OUT));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        System.setProperty("api.base.url", baseUrl);
+        fanOut = new ArrayList<>();
+        for (int i = 0; i < FAN_OUT; i++) {
+            fanOut.add(spec -> spec.get("/users/1"));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetMetrics() {
+        ApiMetrics.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public Object naiveRestAssured() {
+        return RestAssured.given().baseUri(baseUrl).get("/users/1").as(Map.class);
+    }
+
+    @Benchmark
+    public Object pooledApiClient() {
+        return ApiClient.read(ApiClient.request().get("/users/1"), Map.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FAN_OUT)
+    public Object pooledApiClientFanOut() {
+        return ApiClient.all(fanOut);
+    }
+}
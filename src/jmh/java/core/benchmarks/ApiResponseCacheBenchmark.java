@@ -0,0 +1,106 @@
+package core.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import core.api.ApiClient;
+import core.api.ApiResponseCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reference-data GET from 8 threads against an embedded server that takes {@code serverMillis} per response:
+ * plain {@link ApiClient#request()} against {@link ApiClient#cached()}. With {@code ttlSeconds} 0 every cached request
+ * is revalidated and answered 304. The server's full and 304 response counts are printed after each run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ApiResponseCacheBenchmark {
+    private static final byte[] BODY = "{\"flags\":{\"newCheckout\":true,\"darkMode\":false}}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final String ETAG = "\"flags-1\"";
+
+    @Param({"20"})
+    public long serverMillis;
+
+    @Param({"300", "0"})
+    public long ttlSeconds;
+
+    private final AtomicLong fullResponses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private HttpServer server;
+
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        System.setProperty("api.cache.enabled", "true");
+        System.setProperty("api.cache.ttl.seconds", String.valueOf(ttlSeconds));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/feature-flags", exchange -> {
+            try {
+                Thread.sleep(serverMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            fullResponses.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+        System.setProperty("api.base.url", "http://127.0.0.1:" + server.getAddress().getPort());
+        // The first request of the JVM loads REST-assured; keep that out of the cache's time-saved estimate
+        ApiClient.request().get("/feature-flags");
+        ApiResponseCache.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println(System.lineSeparator() + "Server full responses: " + fullResponses.get()
+                + ", 304 responses: " + notModified.get() + ", " + ApiResponseCache.getSummary());
+        server.stop(0);
+    }
+
+    @Benchmark
+    public Object uncached() {
+        return ApiClient.read(ApiClient.request().get("/feature-flags"), Map.class);
+    }
+
+    @Benchmark
+    public Object cached() {
+        return ApiClient.read(ApiClient.cached().get("/feature-flags"), Map.class);
+    }
+}
@@ -0,0 +1,76 @@
+package core.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result against a baseline and exits with status 1 when any benchmark
+ * regressed by more than the threshold percentage. Without a baseline file there is nothing to compare, so it only
+ * says how to create one and exits with status 0.
+ * <p>
+ * Usage: {@code BenchmarkComparator <baseline.json> <result.json> [thresholdPercent]}
+ */
+public class BenchmarkComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparator <baseline.json> <result.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + ", skipping the comparison; copy a jmh-result.json there"
+                    + " to create one");
+            return;
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = readResults(baselineFile);
+        Map<String, JsonNode> current = readResults(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", score(entry.getValue()), "new");
+                continue;
+            }
+            double change = (score(entry.getValue()) - score(before)) / score(before) * 100;
+            // Throughput is better when higher, every other mode is a time and better when lower
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double regression = higherIsBetter ? -change : change;
+            boolean failed = regression > threshold;
+            if (failed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), score(before),
+                    score(entry.getValue()), change, failed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+        System.out.printf("No benchmark regressed more than %.1f%%%n", threshold);
+    }
+
+    private static Map<String, JsonNode> readResults(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String key = result.path("benchmark").asText() + result.path("params").toString().replace("\"", "")
+                    + " [" + result.path("mode").asText() + ", " + result.path("threads").asInt() + "t]";
+            results.put(key.replace("[missing node]", "").replace("core.benchmarks.", ""), result);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+}
@@ -0,0 +1,103 @@
+package core.benchmarks;
+
+import core.drivers.SharedBrowserPool;
+import core.drivers.WebDriverFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Memory of the browser processes per concurrent scenario: one process per scenario against isolated contexts
+ * sharing one process. Each scenario thread opens the page and holds its driver while the JVM's child processes
+ * (drivers and browsers) are measured, using PSS where Linux reports it and RSS otherwise.
+ * <p>
+ * Needs a local browser. Usage: {@code BrowserMemoryComparison [concurrency] [url] [browser]}
+ */
+public class BrowserMemoryComparison {
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        String url = args.length > 1 ? args[1] : "https://the-internet.herokuapp.com/login";
+        System.setProperty("browser", args.length > 2 ? args[2] : "chrome");
+        System.setProperty("runAt", "Local");
+
+        System.out.printf("%-22s %11s %10s %16s%n", "Mode", "Processes", "Total MB", "MB per scenario");
+        measure("process per scenario", 1, concurrency, url);
+        measure("shared contexts", concurrency, concurrency, url);
+    }
+
+    private static void measure(String mode, int contextsPerProcess, int concurrency, String url) throws Exception {
+        System.setProperty("browser.contexts.per.process", String.valueOf(contextsPerProcess));
+        CyclicBarrier opened = new CyclicBarrier(concurrency + 1);
+        CountDownLatch measured = new CountDownLatch(1);
+        List<Thread> scenarios = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Thread scenario = new Thread(() -> {
+                try {
+                    WebDriverFactory.getDriver().get(url);
+                    opened.await();
+                    measured.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    WebDriverFactory.quitDriver();
+                }
+            }, "scenario-" + i);
+            scenario.start();
+            scenarios.add(scenario);
+        }
+        opened.await();
+        // Let the pages settle before sampling
+        Thread.sleep(2000);
+        long[] sample = sampleChildProcessesKb();
+        measured.countDown();
+        for (Thread scenario : scenarios) {
+            scenario.join();
+        }
+        SharedBrowserPool.shutdown();
+        double totalMb = sample[1] / 1024.0;
+        System.out.printf("%-22s %11d %10.1f %16.1f%n", mode, sample[0], totalMb, totalMb / concurrency);
+    }
+
+    // Returns the process count and their summed memory in KB
+    private static long[] sampleChildProcessesKb() {
+        long[] sample = new long[2];
+        ProcessHandle.current().descendants().forEach(process -> {
+            sample[0]++;
+            sample[1] += memoryKb(process.pid());
+        });
+        return sample;
+    }
+
+    private static long memoryKb(long pid) {
+        Path proc = Paths.get("/proc", String.valueOf(pid));
+        try {
+            Path rollup = proc.resolve("smaps_rollup");
+            if (Files.isReadable(rollup)) {
+                long pss = readKb(rollup, "Pss:");
+                if (pss >= 0) {
+                    return pss;
+                }
+            }
+            return Math.max(0, readKb(proc.resolve("status"), "VmRSS:"));
+        } catch (IOException e) {
+            // The process exited or /proc is not available
+            return 0;
+        }
+    }
+
+    private static long readKb(Path file, String field) throws IOException {
+        for (String line : Files.readAllLines(file)) {
+            if (line.startsWith(field)) {
+                return Long.parseLong(line.substring(field.length()).trim().split("\\s+")[0]);
+            }
+        }
+        return -1;
+    }
+}
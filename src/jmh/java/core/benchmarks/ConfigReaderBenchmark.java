@@ -0,0 +1,33 @@
+package core.benchmarks;
+
+import core.config.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Property lookups, which go through System.getProperty before the combined config files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigReaderBenchmark {
+
+    @Benchmark
+    public String getConfigProp() {
+        return ConfigReader.getConfigProp("implicitWaitTime");
+    }
+
+    @Benchmark
+    public String getConfigPropWithDefault() {
+        return ConfigReader.getConfigProp("benchmark.missing.key", "default");
+    }
+}
@@ -0,0 +1,125 @@
+package core.benchmarks;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import core.reports.ModifyCucumberReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cucumber JSON post-processing on a synthetic report with screenshot embeddings: the streaming
+ * {@link ModifyCucumberReport} against loading the whole report as a tree. Run with {@code -prof gc}
+ * to see the allocation difference; the tree variant needs a heap larger than the report.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class CucumberReportBenchmark {
+    private static final Path DIR = Paths.get("target/benchmark-report");
+
+    @Param({"400"})
+    public int scenarios;
+
+    private Path input;
+
+    @Setup(Level.Trial)
+    public void writeReport() throws IOException {
+        Files.createDirectories(DIR);
+        input = DIR.resolve("synthetic-" + scenarios + ".json");
+        byte[] screenshot = new byte[200 * 1024];
+        Random random = new Random(42);
+        try (JsonGenerator generator = new JsonFactory().createGenerator(input.toFile(), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (int feature = 0; feature < scenarios / 20; feature++) {
+                generator.writeStartObject();
+                generator.writeStringField("uri", "file:features/F" + feature + ".feature");
+                generator.writeStringField("name", "Feature " + feature);
+                generator.writeArrayFieldStart("elements");
+                for (int scenario = 0; scenario < 20; scenario++) {
+                    generator.writeStartObject();
+                    generator.writeStringField("type", "scenario");
+                    generator.writeStringField("name", "Scenario " + scenario);
+                    generator.writeNumberField("line", scenario * 5 + 3);
+                    generator.writeArrayFieldStart("steps");
+                    for (int step = 0; step < 8; step++) {
+                        generator.writeStartObject();
+                        generator.writeStringField("name", "step " + step);
+                        generator.writeObjectFieldStart("result");
+                        generator.writeNumberField("duration", 1_000_000L * (step + 1));
+                        generator.writeStringField("status", "passed");
+                        generator.writeEndObject();
+                        generator.writeEndObject();
+                    }
+                    generator.writeEndArray();
+                    // Every fourth scenario carries a screenshot, as the after hook attaches one on failure
+                    if (scenario % 4 == 0) {
+                        random.nextBytes(screenshot);
+                        generator.writeArrayFieldStart("after");
+                        generator.writeStartObject();
+                        generator.writeObjectFieldStart("result");
+                        generator.writeNumberField("duration", 5_000_000L);
+                        generator.writeStringField("status", "passed");
+                        generator.writeEndObject();
+                        generator.writeArrayFieldStart("embeddings");
+                        generator.writeStartObject();
+                        generator.writeBinaryField("data", screenshot);
+                        generator.writeStringField("mime_type", "image/png");
+                        generator.writeEndObject();
+                        generator.writeEndArray();
+                        generator.writeEndObject();
+                        generator.writeEndArray();
+                    }
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Benchmark
+    public Path streaming() throws IOException {
+        Path output = DIR.resolve("streaming/report.json");
+        new ModifyCucumberReport(Collections.singletonMap("environment", "QA"), output).process(input, output);
+        return output;
+    }
+
+    @Benchmark
+    public Path treeModel() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode report = mapper.readTree(input.toFile());
+        for (JsonNode feature : report) {
+            ((ObjectNode) feature).putObject("environment").put("environment", "QA");
+        }
+        Path output = DIR.resolve("tree/report.json");
+        Files.createDirectories(output.getParent());
+        mapper.writeValue(output.toFile(), report);
+        return output;
+    }
+}
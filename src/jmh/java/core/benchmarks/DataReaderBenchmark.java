@@ -0,0 +1,60 @@
+package core.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import core.util.CSVDataReader;
+import core.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test data reads from classpath resources, as step definitions do for every row they need.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataReaderBenchmark {
+    private static final String JSON = "{\"login\":{\"username\":\"tomsmith\",\"password\":\"SuperSecretPassword!\"}}";
+
+    private final Map<String, Object> payload = new HashMap<>();
+
+    public DataReaderBenchmark() {
+        payload.put("username", "tomsmith");
+        payload.put("roles", List.of("admin", "user"));
+    }
+
+    @Benchmark
+    public Optional<String> jsonDataFromFile() {
+        return JsonUtil.getJsonDataFromFile("benchmark.json", "login", "username");
+    }
+
+    @Benchmark
+    public Optional<JsonNode> parseJson() {
+        return JsonUtil.parseJson(JSON);
+    }
+
+    @Benchmark
+    public Optional<String> toJson() {
+        return JsonUtil.toJson(payload);
+    }
+
+    @Benchmark
+    public List<String[]> csvFileData() {
+        return CSVDataReader.getCSVFileData("data/benchmark.csv");
+    }
+}
@@ -0,0 +1,53 @@
+package core.benchmarks;
+
+import core.util.DateTimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached-formatter DateTimeUtil against the previous per-call formatter implementation.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeUtilBenchmark {
+    private static final String PATTERN = "yyyyMMdd_HHmm";
+
+    @Benchmark
+    public String currentDateTime() {
+        return DateTimeUtil.getCurrentDateTime(PATTERN);
+    }
+
+    @Benchmark
+    public String currentDateTimeLegacy() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern(PATTERN));
+    }
+
+    @Benchmark
+    public String convertDateFormat() {
+        return DateTimeUtil.convertDateFormat("2024-03-05", "yyyy-MM-dd", "dd/MM/yyyy");
+    }
+
+    @Benchmark
+    public String convertDateFormatLegacy() {
+        try {
+            return new SimpleDateFormat("dd/MM/yyyy").format(new SimpleDateFormat("yyyy-MM-dd").parse("2024-03-05"));
+        } catch (ParseException e) {
+            return "Invalid Date Format";
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package core.benchmarks;
+
+import core.drivers.DriverBinaryCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.manager.SeleniumManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver resolution time per session: a Selenium Manager run, which {@code new ChromeDriver(options)} does for every
+ * session, against {@link DriverBinaryCache} after its first resolution in the JVM.
+ * <p>
+ * Selenium Manager runs offline, so the number is its process cost rather than download time. It fails without a
+ * chromedriver on the PATH; the failure costs about the same, so both outcomes are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DriverResolutionBenchmark {
+
+    @Setup
+    public void setUp() throws IOException {
+        Path cacheDir = Files.createTempDirectory("driver-cache");
+        Path driver = Files.createFile(cacheDir.resolve("chromedriver"));
+        String key = "chrome|installed|" + System.getProperty("os.name").toLowerCase().replaceAll("\\s+", "")
+                + "-" + System.getProperty("os.arch").toLowerCase();
+        Files.writeString(cacheDir.resolve("index.json"), "{\"" + key + "\":{\"driverPath\":\""
+                + driver.toString().replace("\\", "\\\\") + "\"}}");
+        System.setProperty("chromedriver.path", "");
+        System.setProperty("driver.cache.dir", cacheDir.toString());
+        System.setProperty("driver.offline", "true");
+    }
+
+    @Benchmark
+    public Object seleniumManagerPerSession() {
+        try {
+            return SeleniumManager.getInstance().getBinaryPaths(List.of("--browser", "chrome", "--offline"));
+        } catch (WebDriverException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object cachedPerJvm() {
+        return DriverBinaryCache.resolve("chrome", null);
+    }
+}
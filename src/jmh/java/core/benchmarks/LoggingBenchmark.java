@@ -0,0 +1,89 @@
+package core.benchmarks;
+
+import core.logging.AsyncLogWriter;
+import core.logging.ScenarioLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread time spent logging a scenario's 50 records on four parallel scenario threads, and the output written per
+ * scenario: synchronous lines on an autoflushing shared stream, as slf4j-simple writes stderr, against scenario-buffered
+ * records handed to the async writer. Nine in ten scenarios pass and only log a summary.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Dslf4j.provider=core.logging.FrameworkLogServiceProvider",
+        "-Dlog.file=target/benchmark-log/async.log", "-Dlog.level=debug"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    private static final int RECORDS_PER_SCENARIO = 50;
+    private static final Logger logger = LoggerFactory.getLogger(LoggingBenchmark.class);
+
+    private final AtomicLong scenarios = new AtomicLong();
+    private final AtomicLong synchronousChars = new AtomicLong();
+    private PrintStream stderrLike;
+    private long asyncCharsAtStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws FileNotFoundException {
+        new File("target/benchmark-log").mkdirs();
+        stderrLike = new PrintStream(new FileOutputStream("target/benchmark-log/sync.log"), true, StandardCharsets.UTF_8);
+        asyncCharsAtStart = AsyncLogWriter.getCharsWritten();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stderrLike.close();
+        AsyncLogWriter.flush();
+        long count = Math.max(1, scenarios.get());
+        System.out.printf("%nchars written per scenario: synchronous %d, scenario-buffered %d%n",
+                synchronousChars.get() / count, (AsyncLogWriter.getCharsWritten() - asyncCharsAtStart) / count);
+    }
+
+    @Benchmark
+    public void synchronousStream() {
+        scenarios.incrementAndGet();
+        for (int i = 0; i < RECORDS_PER_SCENARIO; i++) {
+            String line = LocalDateTime.now() + " [" + Thread.currentThread().getName() + "] DEBUG "
+                    + LoggingBenchmark.class.getName() + " - Finding element: By.id: field-" + i;
+            synchronousChars.addAndGet(line.length() + 1);
+            stderrLike.println(line);
+        }
+    }
+
+    @Benchmark
+    public String scenarioBuffered() {
+        long scenario = scenarios.incrementAndGet();
+        ScenarioLog.start("Scenario " + scenario, "@tc_" + scenario);
+        for (int i = 0; i < RECORDS_PER_SCENARIO; i++) {
+            logger.debug("Finding element: {}", "By.id: field-" + i);
+        }
+        boolean failed = scenario % 10 == 0;
+        return ScenarioLog.finish(failed ? "FAILED" : "PASSED", failed);
+    }
+}
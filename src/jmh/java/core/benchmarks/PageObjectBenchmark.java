@@ -0,0 +1,73 @@
+package core.benchmarks;
+
+import core.base.PageObject;
+import core.drivers.InMemoryWebDriver;
+import core.drivers.WebDriverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead PageObject adds around element lookup, waits and clicks, measured against a real DOM
+ * held by {@link InMemoryWebDriver} so locators are actually evaluated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageObjectBenchmark {
+    private static final By PRESENT = By.id("present");
+    private static final By MISSING = By.id("missing");
+    private static final String PAGE = "<html><head><title>Benchmark</title></head><body>"
+            + "<form id='checkboxes'><input type='checkbox'> one<input type='checkbox' checked> two</form>"
+            + "<button id='present' type='button'>Present</button></body></html>";
+
+    private PageObject page;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("browser", InMemoryWebDriver.BROWSER_NAME);
+        System.setProperty("runAt", "Local");
+        ((InMemoryWebDriver) WebDriverFactory.getDriver()).loadHtml(PAGE, "http://localhost/");
+        page = new PageObject();
+    }
+
+    @TearDown
+    public void tearDown() {
+        WebDriverFactory.quitDriver();
+    }
+
+    @Benchmark
+    public WebElement findElement() {
+        return page.$(PRESENT);
+    }
+
+    @Benchmark
+    public void click() {
+        page.click(PRESENT);
+    }
+
+    @Benchmark
+    public void waitForElementVisible() {
+        page.waitForElementVisible(PRESENT);
+    }
+
+    @Benchmark
+    public boolean isVisibleWhenMissing() {
+        return page.isVisible(MISSING);
+    }
+}
@@ -0,0 +1,151 @@
+package core.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import core.drivers.ScenarioContext;
+import core.drivers.WebDriverFactory;
+import core.util.VirtualThreads;
+import org.openqa.selenium.By;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent remote-session scenarios on platform threads against virtual threads. Each scenario opens a
+ * {@link RemoteWebDriver} session on a local stand-in for a grid that answers every command after
+ * {@code commandMillis}, navigates, clicks an element and quits, all through {@link WebDriverFactory} and its
+ * {@link ScenarioContext}.
+ * <p>
+ * Platform threads are compared at the suite's usual pool size and at the full concurrency; virtual threads are
+ * reported as unavailable before Java 21. Usage:
+ * {@code ScenarioThreadComparison [scenarios] [concurrency] [commandMillis]}
+ */
+public class ScenarioThreadComparison {
+    private static final String BROWSER_NAME = "standin";
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+    public static void main(String[] args) throws Exception {
+        int scenarios = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        long commandMillis = args.length > 2 ? Long.parseLong(args[2]) : 50;
+
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer grid = startStandInGrid(commandMillis);
+        URL gridUrl = new URL("http://127.0.0.1:" + grid.getAddress().getPort());
+        WebDriverFactory.registerBrowser(BROWSER_NAME, () -> new RemoteWebDriver(gridUrl,
+                new MutableCapabilities(Map.of("browserName", BROWSER_NAME))));
+        System.setProperty("browser", BROWSER_NAME);
+        System.setProperty("runAt", "Local");
+        System.setProperty("teardown.async", "false");
+
+        // Loads the Selenium client classes outside the measurements
+        run(VirtualThreads.newExecutor(false, 1, "warm-up-"), 2, 1);
+        System.out.printf("%d scenarios, %d ms per grid command%n", scenarios, commandMillis);
+        System.out.printf("%-30s %10s %13s %13s%n", "Mode", "Wall ms", "Scenarios/s", "Peak threads");
+        measure("platform, 4 threads", VirtualThreads.newExecutor(false, 4, "scenario-"), scenarios, 4);
+        measure("platform, " + concurrency + " threads",
+                VirtualThreads.newExecutor(false, concurrency, "scenario-"), scenarios, concurrency);
+        if (VirtualThreads.isAvailable()) {
+            measure("virtual, " + concurrency + " at once",
+                    VirtualThreads.newExecutor(true, concurrency, "scenario-"), scenarios, concurrency);
+        } else {
+            System.out.printf("%-30s unavailable on Java %s%n", "virtual, " + concurrency + " at once",
+                    System.getProperty("java.specification.version"));
+        }
+        grid.stop(0);
+    }
+
+    private static void measure(String mode, ExecutorService executor, int scenarios, int concurrency)
+            throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long started = System.nanoTime();
+        int failed = run(executor, scenarios, concurrency);
+        double wallMs = (System.nanoTime() - started) / 1e6;
+        System.out.printf("%-30s %10.0f %13.1f %13d%s%n", mode, wallMs, scenarios / (wallMs / 1000),
+                threads.getPeakThreadCount(), failed > 0 ? "  (" + failed + " failed)" : "");
+    }
+
+    private static int run(ExecutorService executor, int scenarios, int concurrency) throws InterruptedException {
+        Semaphore slots = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(scenarios);
+        AtomicInteger failed = new AtomicInteger();
+        for (int i = 0; i < scenarios; i++) {
+            String name = "scenario " + i;
+            slots.acquire();
+            executor.execute(() -> {
+                ScenarioContext.begin(name, List.of("@ui"));
+                try {
+                    WebDriver driver = WebDriverFactory.getDriver();
+                    driver.get("http://app.test/login");
+                    driver.findElement(By.id("login")).click();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                } finally {
+                    WebDriverFactory.quitDriver();
+                    ScenarioContext.end();
+                    slots.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+        return failed.get();
+    }
+
+    // The W3C commands a scenario sends, each answered after commandMillis like a grid node would
+    private static HttpServer startStandInGrid(long commandMillis) throws IOException {
+        AtomicInteger sessions = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/session", exchange -> {
+            pause(commandMillis);
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            if ("POST".equals(method) && path.equals("/session")) {
+                respond(exchange, "{\"sessionId\":\"standin-" + sessions.incrementAndGet()
+                        + "\",\"capabilities\":{\"browserName\":\"" + BROWSER_NAME + "\"}}");
+            } else if ("POST".equals(method) && path.endsWith("/element")) {
+                respond(exchange, "{\"" + ELEMENT_KEY + "\":\"login-button\"}");
+            } else {
+                respond(exchange, "null");
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String value) throws IOException {
+        byte[] body = ("{\"value\":" + value + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package core.benchmarks;
+
+import core.drivers.InMemoryWebDriver;
+import core.drivers.ScreenshotManager;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Failure screenshot handling: capture as bytes and write once, against the previous
+ * temp file, copy and re-read sequence. The driver returns a 256 KB image.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScreenshotBenchmark {
+    private final ScreenshotDriver driver = new ScreenshotDriver();
+    private final ScreenshotManager screenshotManager = new ScreenshotManager();
+
+    // The in-memory driver renders nothing, so this one answers every screenshot with the same bytes
+    private static class ScreenshotDriver extends InMemoryWebDriver implements TakesScreenshot {
+        private static final byte[] SCREENSHOT = new byte[256 * 1024];
+
+        static {
+            new Random(42).nextBytes(SCREENSHOT);
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            return target.convertFromPngBytes(SCREENSHOT);
+        }
+    }
+
+    @Benchmark
+    public Path captureAndSave() throws IOException {
+        return screenshotManager.save(screenshotManager.capture(driver), "benchmark");
+    }
+
+    @Benchmark
+    public byte[] captureAndSaveLegacy() throws IOException {
+        File screenshot = driver.getScreenshotAs(OutputType.FILE);
+        FileUtils.copyFile(screenshot, new File("target/screenshots/benchmark-legacy.png"));
+        byte[] attachment = Files.readAllBytes(screenshot.toPath());
+        Files.delete(screenshot.toPath());
+        return attachment;
+    }
+}
@@ -0,0 +1,84 @@
+package core.benchmarks;
+
+import core.drivers.BrowserEvents;
+import core.drivers.InMemoryWebDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from a click until the page object sees the new tab, when the tab opens {@code openDelayMs} after the click:
+ * polling window handles at the page object's 500 ms interval against waking on the browsing context event.
+ * Prompts are detected the same two ways, so the difference per alert is the same.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TabDetectionBenchmark {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Param({"50"})
+    public long openDelayMs;
+
+    private ScheduledExecutorService browser;
+    private volatile long tabOpenedAt;
+
+    @Setup
+    public void setUp() {
+        browser = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        browser.shutdownNow();
+    }
+
+    @Benchmark
+    public String polling() {
+        tabOpenedAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(openDelayMs);
+        InMemoryWebDriver driver = new InMemoryWebDriver() {
+            @Override
+            public Set<String> getWindowHandles() {
+                if (System.nanoTime() < tabOpenedAt) {
+                    return Collections.singleton("main");
+                }
+                return new LinkedHashSet<>(List.of("main", "tab"));
+            }
+        };
+        return new WebDriverWait(driver, TIMEOUT, Duration.ofMillis(500)).until(webDriver -> webDriver.getWindowHandles()
+                .stream()
+                .filter(handle -> !handle.equals("main"))
+                .findFirst()
+                .orElse(null));
+    }
+
+    @Benchmark
+    public String events() throws InterruptedException {
+        BrowserEvents events = new BrowserEvents();
+        events.windowOpened("main");
+        browser.schedule(() -> events.windowOpened("tab"), openDelayMs, TimeUnit.MILLISECONDS);
+        return events.awaitWindowOtherThan("main", TIMEOUT);
+    }
+}
@@ -0,0 +1,86 @@
+package core.benchmarks;
+
+import core.drivers.InMemoryWebDriver;
+import core.drivers.TeardownExecutor;
+import core.drivers.WebDriverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per scenario on one worker thread when the browser takes {@code quitMs} to quit, as remote sessions do,
+ * with the quit on the worker against handing it to the {@link TeardownExecutor}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeardownBenchmark {
+    private static final String BROWSER_NAME = "slow-quit";
+
+    @Param({"200"})
+    public long scenarioMs;
+
+    @Param({"500"})
+    public long quitMs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long delay = quitMs;
+        WebDriverFactory.registerBrowser(BROWSER_NAME, () -> new InMemoryWebDriver() {
+            @Override
+            public void quit() {
+                sleep(delay);
+                super.quit();
+            }
+        });
+        System.setProperty("browser", BROWSER_NAME);
+        System.setProperty("runAt", "Local");
+        System.setProperty("teardown.threads", "4");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TeardownExecutor.awaitCompletion();
+    }
+
+    @Benchmark
+    public void syncTeardown() {
+        runScenario();
+        WebDriverFactory.quitDriver();
+    }
+
+    @Benchmark
+    public void asyncTeardown() {
+        runScenario();
+        WebDriverFactory.quitDriverAsync(driver -> {
+        });
+    }
+
+    private void runScenario() {
+        WebDriverFactory.createDriver();
+        sleep(scenarioMs);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
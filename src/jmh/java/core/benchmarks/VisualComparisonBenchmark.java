@@ -0,0 +1,141 @@
+package core.benchmarks;
+
+import core.visual.VisualComparator;
+import core.visual.VisualOptions;
+import core.visual.VisualResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-HD page comparisons with {@link VisualComparator} against a naive per-pixel {@code getRGB} loop. The images
+ * are drawn like a rendered page. The baseline is packed ARGB, as {@link core.visual.BaselineStore} keeps it; the
+ * captures are {@code TYPE_3BYTE_BGR}, the type ImageIO decodes screenshots to, so each comparison includes their
+ * conversion.
+ * <ul>
+ *     <li>identical: a second rendering of the same page</li>
+ *     <li>antiAliased: the text drawn a third of a pixel to the right</li>
+ *     <li>changed: one button moved and recoloured</li>
+ *     <li>otherPage: a different page, rejected by the perceptual hash when no diff image is wanted</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VisualComparisonBenchmark {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+
+    private BufferedImage baseline;
+    private BufferedImage identical;
+    private BufferedImage antiAliased;
+    private BufferedImage changed;
+    private BufferedImage otherPage;
+    private final VisualOptions withDiff = new VisualOptions.Builder().diffImage(true).build();
+    private final VisualOptions withoutDiff = new VisualOptions.Builder().diffImage(false).build();
+
+    @Setup
+    public void setUp() {
+        baseline = page(BufferedImage.TYPE_INT_ARGB, 0, false, "Welcome back");
+        identical = page(BufferedImage.TYPE_3BYTE_BGR, 0, false, "Welcome back");
+        antiAliased = page(BufferedImage.TYPE_3BYTE_BGR, 0.33, false, "Welcome back");
+        changed = page(BufferedImage.TYPE_3BYTE_BGR, 0, true, "Welcome back");
+        otherPage = page(BufferedImage.TYPE_3BYTE_BGR, 0, false, "Order history");
+        for (int y = 0; y < HEIGHT; y += 40) {
+            // Another page: a table instead of the hero banner
+            Graphics2D graphics = otherPage.createGraphics();
+            graphics.setColor(y % 80 == 0 ? new Color(0xF2F4F7) : Color.WHITE);
+            graphics.fillRect(0, y, WIDTH, 40);
+            graphics.dispose();
+        }
+        System.out.println(System.lineSeparator() + "antiAliased: " + VisualComparator.compare(baseline, antiAliased, withDiff)
+                + "; changed: " + VisualComparator.compare(baseline, changed, withDiff));
+    }
+
+    @Benchmark
+    public long naivePixelLoopChanged() {
+        long diff = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                if (baseline.getRGB(x, y) != changed.getRGB(x, y)) {
+                    diff++;
+                }
+            }
+        }
+        return diff;
+    }
+
+    @Benchmark
+    public VisualResult identical() {
+        return VisualComparator.compare(baseline, identical, withDiff);
+    }
+
+    @Benchmark
+    public VisualResult antiAliased() {
+        return VisualComparator.compare(baseline, antiAliased, withDiff);
+    }
+
+    @Benchmark
+    public VisualResult changedWithDiffImage() {
+        return VisualComparator.compare(baseline, changed, withDiff);
+    }
+
+    @Benchmark
+    public VisualResult changedEarlyExit() {
+        return VisualComparator.compare(baseline, changed, withoutDiff);
+    }
+
+    @Benchmark
+    public VisualResult otherPageHashPrefilter() {
+        return VisualComparator.compare(baseline, otherPage, withoutDiff);
+    }
+
+    private static BufferedImage page(int type, double textOffset, boolean movedButton, String title) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        graphics.setColor(new Color(0x1F2937));
+        graphics.fillRect(0, 0, WIDTH, 72);
+        graphics.setPaint(new GradientPaint(0, 72, new Color(0x3B82F6), WIDTH, 400, new Color(0x9333EA)));
+        graphics.fillRect(0, 72, WIDTH, 328);
+
+        graphics.setColor(Color.WHITE);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 56));
+        graphics.drawString(title, (float) (160 + textOffset), 260f);
+        graphics.setColor(new Color(0x111827));
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 18));
+        for (int line = 0; line < 20; line++) {
+            graphics.drawString("Line " + line + " of the account overview with balances, recent orders and messages",
+                    (float) (160 + textOffset), 460f + line * 28);
+        }
+
+        graphics.setColor(movedButton ? new Color(0x16A34A) : new Color(0x2563EB));
+        graphics.fillRoundRect(movedButton ? 1420 : 1400, 980, 320, 56, 12, 12);
+        graphics.setColor(Color.WHITE);
+        graphics.drawString("Continue", movedButton ? 1540 : 1520, 1014);
+        graphics.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,59 @@
+package core.benchmarks;
+
+import core.drivers.InMemoryWebDriver;
+import core.drivers.WebDriverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the per-thread driver lookup every page object and hook goes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WebDriverFactoryBenchmark {
+
+    @Setup
+    public void setUp() {
+        System.setProperty("browser", InMemoryWebDriver.BROWSER_NAME);
+        System.setProperty("runAt", "Local");
+        WebDriverFactory.createDriver();
+    }
+
+    @TearDown
+    public void tearDown() {
+        WebDriverFactory.quitDriver();
+    }
+
+    @Benchmark
+    public WebDriver getDriver() {
+        return WebDriverFactory.getDriver();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public WebDriver getDriverFourThreads() {
+        return WebDriverFactory.getDriver();
+    }
+
+    @Benchmark
+    public String getSessionId() {
+        return WebDriverFactory.getSessionId();
+    }
+}
@@ -0,0 +1,211 @@
+package core.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import core.config.ConfigReader;
+import core.util.JsonUtil;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.mapper.factory.DefaultJackson2ObjectMapperFactory;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * REST-assured entry point for API steps that keeps connections alive between requests.
+ * <p>
+ * Each thread reuses one request specification and one HTTP client, and all clients share a pool of keep-alive
+ * connections ({@code api.pool.max.total}, {@code api.pool.max.per.route}). Responses deserialize with
+ * {@link JsonUtil}'s {@code ObjectMapper}, and every request's latency is recorded for the scenario by
+ * {@link ApiMetrics}. {@link #async} and {@link #all} fan requests out over {@code api.async.threads} threads.
+ * <pre>
+ * User user = ApiClient.read(ApiClient.request().get("/users/1"), User.class);
+ * List&lt;Response&gt; pages = ApiClient.all(List.of(spec -&gt; spec.get("/a"), spec -&gt; spec.get("/b")));
+ * </pre>
+ */
+@SuppressWarnings("deprecation") // REST-assured 5 only accepts the legacy AbstractHttpClient API
+public class ApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(ApiClient.class);
+    private static final PoolingClientConnectionManager CONNECTIONS = createConnectionManager();
+    private static final ThreadLocal<DefaultHttpClient> HTTP_CLIENT =
+            ThreadLocal.withInitial(() -> new DefaultHttpClient(CONNECTIONS));
+    private static final ThreadLocal<RequestSpecification> SPECIFICATION =
+            ThreadLocal.withInitial(ApiClient::createSpecification);
+    private static ExecutorService executor;
+
+    // Prevent instantiation
+    private ApiClient() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public ApiException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Starts a request from this thread's specification: {@code api.base.url}, JSON, pooled connections and
+     * latency recording
+     */
+    public static RequestSpecification request() {
+        return RestAssured.given().spec(SPECIFICATION.get());
+    }
+
+    /**
+     * Like {@link #request()}, but GETs are answered from the shared {@link ApiResponseCache} when
+     * {@code api.cache.enabled}; use it for idempotent reference data only
+     */
+    public static RequestSpecification cached() {
+        RequestSpecification request = request();
+        return ApiResponseCache.isEnabled() ? request.filter(ApiResponseCache.filter()) : request;
+    }
+
+    /**
+     * Sends a request on the async pool. Its latency is recorded for the calling thread's scenario.
+     *
+     * @param call builds and sends the request from a fresh {@link #request()}
+     */
+    public static CompletableFuture<Response> async(Function<RequestSpecification, Response> call) {
+        ApiMetrics.Recorder recorder = ApiMetrics.current();
+        Map<String, String> logContext = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            ApiMetrics.Recorder previousRecorder = ApiMetrics.bind(recorder);
+            if (logContext != null) {
+                MDC.setContextMap(logContext);
+            }
+            try {
+                return call.apply(request());
+            } finally {
+                MDC.clear();
+                ApiMetrics.bind(previousRecorder);
+            }
+        }, getExecutor());
+    }
+
+    /**
+     * Sends the requests concurrently and waits for all of them
+     *
+     * @return the responses in the order of the calls
+     */
+    public static List<Response> all(List<Function<RequestSpecification, Response>> calls) {
+        List<CompletableFuture<Response>> futures = new ArrayList<>(calls.size());
+        for (Function<RequestSpecification, Response> call : calls) {
+            futures.add(async(call));
+        }
+        List<Response> responses = new ArrayList<>(futures.size());
+        for (CompletableFuture<Response> future : futures) {
+            try {
+                responses.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new ApiException("Concurrent request failed", e.getCause());
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Grows the connection pool so that many concurrent callers, e.g. load workers, do not queue for a connection
+     */
+    public static synchronized void ensureConnections(int perRoute) {
+        if (CONNECTIONS.getDefaultMaxPerRoute() < perRoute) {
+            CONNECTIONS.setDefaultMaxPerRoute(perRoute);
+        }
+        if (CONNECTIONS.getMaxTotal() < perRoute) {
+            CONNECTIONS.setMaxTotal(perRoute);
+        }
+    }
+
+    /**
+     * Deserializes the response body with the shared {@code ObjectMapper}
+     */
+    public static <T> T read(Response response, Class<T> type) {
+        try {
+            return JsonUtil.getObjectMapper().readValue(response.asByteArray(), type);
+        } catch (IOException e) {
+            throw new ApiException("Cannot read " + type.getSimpleName() + " from the response", e);
+        }
+    }
+
+    public static <T> T read(Response response, TypeReference<T> type) {
+        try {
+            return JsonUtil.getObjectMapper().readValue(response.asByteArray(), type);
+        } catch (IOException e) {
+            throw new ApiException("Cannot read " + type.getType().getTypeName() + " from the response", e);
+        }
+    }
+
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager connections = new PoolingClientConnectionManager();
+        connections.setMaxTotal(Integer.parseInt(ConfigReader.getConfigProp("api.pool.max.total", "100")));
+        connections.setDefaultMaxPerRoute(Integer.parseInt(ConfigReader.getConfigProp("api.pool.max.per.route", "20")));
+        return connections;
+    }
+
+    private static RequestSpecification createSpecification() {
+        int timeoutMillis = Integer.parseInt(ConfigReader.getConfigProp("api.timeout.ms", "30000"));
+        DefaultHttpClient client = HTTP_CLIENT.get();
+        RestAssuredConfig config = RestAssuredConfig.config()
+                .httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(() -> client)
+                        .reuseHttpClientInstance()
+                        .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, timeoutMillis)
+                        .setParam(CoreConnectionPNames.SO_TIMEOUT, timeoutMillis))
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                        .jackson2ObjectMapperFactory(new DefaultJackson2ObjectMapperFactory() {
+                            @Override
+                            public ObjectMapper create(Type type, String charset) {
+                                return JsonUtil.getObjectMapper();
+                            }
+                        }));
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setConfig(config)
+                .setAccept(ContentType.JSON)
+                .addFilter(new ApiMetrics.LatencyFilter());
+        String baseUrl = ConfigReader.getConfigProp("api.base.url", "");
+        if (!baseUrl.isEmpty()) {
+            builder.setBaseUri(baseUrl);
+        }
+        return builder.build();
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Integer.parseInt(ConfigReader.getConfigProp("api.async.threads", "16"));
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "api-async-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            logger.debug("Started {} API request threads", threads);
+        }
+        return executor;
+    }
+}
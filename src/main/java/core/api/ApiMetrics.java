@@ -0,0 +1,157 @@
+package core.api;
+
+import core.config.ConfigReader;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-scenario latency of requests sent through {@link ApiClient}. Samples go to the recorder that {@link #start()}
+ * bound to the calling thread; {@link ApiClient}'s async requests record into the recorder of the thread that
+ * submitted them. Requests from threads without a recorder, such as load workers, are not recorded.
+ * <p>
+ * Every request counts towards the summary; the first {@code api.latency.max.records} are also listed one by one.
+ */
+public class ApiMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(ApiMetrics.class);
+    private static final ThreadLocal<Recorder> RECORDER = new ThreadLocal<>();
+
+    // Prevent instantiation
+    private ApiMetrics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Starts recording the requests of the scenario on this thread, dropping any left over from an earlier one
+     */
+    public static void start() {
+        RECORDER.set(new Recorder(Integer.parseInt(ConfigReader.getConfigProp("api.latency.max.records", "1000"))));
+    }
+
+    /**
+     * Ends the scenario's recording
+     *
+     * @return a latency summary followed by the individual requests, or null when no request was sent
+     */
+    public static String finish() {
+        Recorder recorder = RECORDER.get();
+        RECORDER.remove();
+        return recorder == null ? null : recorder.format();
+    }
+
+    /**
+     * @return requests recorded so far for the scenario on this thread, 0 when it is not recording
+     */
+    public static int getRequestCount() {
+        Recorder recorder = RECORDER.get();
+        return recorder == null ? 0 : recorder.getCount();
+    }
+
+    /**
+     * @return this thread's recorder, or null when it is not recording
+     */
+    static Recorder current() {
+        return RECORDER.get();
+    }
+
+    /**
+     * Makes this thread record into the given recorder until the returned previous one is bound again
+     */
+    static Recorder bind(Recorder recorder) {
+        Recorder previous = RECORDER.get();
+        if (recorder == null) {
+            RECORDER.remove();
+        } else {
+            RECORDER.set(recorder);
+        }
+        return previous;
+    }
+
+    /**
+     * Times each request up to its fully read response
+     */
+    static class LatencyFilter implements Filter {
+        @Override
+        public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification response,
+                               FilterContext context) {
+            long started = System.nanoTime();
+            int status = -1;
+            try {
+                Response result = context.next(request, response);
+                // Reading the body to the end returns the connection to the pool, whether or not the step reads it
+                result.asByteArray();
+                status = result.getStatusCode();
+                return result;
+            } finally {
+                long micros = (System.nanoTime() - started) / 1_000;
+                String path = URI.create(request.getURI()).getRawPath();
+                Recorder recorder = current();
+                if (recorder != null) {
+                    recorder.add(request.getMethod(), path, status, micros);
+                }
+                logger.debug("{} {} -> {} in {} us", request.getMethod(), path, status, micros);
+            }
+        }
+    }
+
+    static class Recorder {
+        private final int maxRecords;
+        private final List<String> records = new ArrayList<>();
+        private long[] latencies = new long[64];
+        private int count;
+        private int errors;
+
+        private Recorder(int maxRecords) {
+            this.maxRecords = maxRecords;
+        }
+
+        synchronized void add(String method, String path, int status, long micros) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = micros;
+            if (status < 0 || status >= 400) {
+                errors++;
+            }
+            if (records.size() < maxRecords) {
+                records.add(String.format(Locale.ROOT, "%-6s %-4s %8.1f ms  %s", method,
+                        status < 0 ? "ERR" : String.valueOf(status), micros / 1000.0, path));
+            }
+        }
+
+        synchronized int getCount() {
+            return count;
+        }
+
+        synchronized String format() {
+            if (count == 0) {
+                return null;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                    "API requests: %d, errors: %d, p50 %.1f ms, p95 %.1f ms, max %.1f ms%n", count, errors,
+                    percentile(sorted, 50) / 1000.0, percentile(sorted, 95) / 1000.0, sorted[count - 1] / 1000.0));
+            records.forEach(record -> text.append(record).append(System.lineSeparator()));
+            if (count > records.size()) {
+                text.append("... ").append(count - records.size()).append(" more").append(System.lineSeparator());
+            }
+            return text.toString();
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package core.api;
+
+import core.config.ConfigReader;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * JVM-wide cache of successful GET responses for reference data that many scenarios fetch, used through
+ * {@link ApiClient#cached()}.
+ * <p>
+ * Entries are keyed by URL and the request headers named in {@code api.cache.vary.headers}, which include cookies by
+ * default so sessions of different roles never share an entry. They live for {@code api.cache.ttl.seconds} and are
+ * evicted least recently used beyond {@code api.cache.max.entries} or {@code api.cache.max.bytes} of bodies. An
+ * expired entry with an {@code ETag} or {@code Last-Modified} is revalidated with a conditional request and kept on
+ * {@code 304}. Concurrent requests for a missing entry share one request.
+ * Responses marked {@code Cache-Control: no-store} are never cached.
+ */
+public class ApiResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(ApiResponseCache.class);
+    private static final Filter FILTER = new CacheFilter();
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<String, CompletableFuture<Entry>> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong REVALIDATIONS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong NANOS_SAVED = new AtomicLong();
+    private static long cachedBytes;
+
+    // Prevent instantiation
+    private ApiResponseCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getConfigProp("api.cache.enabled", "false"));
+    }
+
+    static Filter filter() {
+        return FILTER;
+    }
+
+    public static void clear() {
+        synchronized (ENTRIES) {
+            ENTRIES.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    /**
+     * @return share of cached requests answered without a full response from the server, revalidations included
+     */
+    public static double getHitRatio() {
+        long total = HITS.get() + REVALIDATIONS.get() + MISSES.get();
+        return total == 0 ? 0 : (double) (HITS.get() + REVALIDATIONS.get()) / total;
+    }
+
+    /**
+     * @return estimated time saved: for each cache hit, the response time of the request that filled the entry
+     */
+    public static Duration getTimeSaved() {
+        return Duration.ofNanos(NANOS_SAVED.get());
+    }
+
+    public static String getSummary() {
+        return String.format(Locale.ROOT, "API cache: %d hits, %d revalidated, %d misses (hit ratio %.1f%%), %d ms saved",
+                HITS.get(), REVALIDATIONS.get(), MISSES.get(), getHitRatio() * 100, getTimeSaved().toMillis());
+    }
+
+    /**
+     * Logs the summary once the cache has been used; called after all scenarios
+     */
+    public static void logSummary() {
+        if (HITS.get() + REVALIDATIONS.get() + MISSES.get() > 0) {
+            logger.info(getSummary());
+        }
+    }
+
+    // region Entries
+
+    private static class Entry {
+        private final Response response;
+        private final byte[] body;
+        private final long fetchNanos;
+        private final String etag;
+        private final String lastModified;
+        private volatile long expiresAt;
+
+        private Entry(Response response, long fetchNanos, long expiresAt) {
+            this.body = response.asByteArray();
+            this.response = response;
+            this.fetchNanos = fetchNanos;
+            this.etag = response.getHeader("ETag");
+            this.lastModified = response.getHeader("Last-Modified");
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isFresh() {
+            return System.nanoTime() - expiresAt < 0;
+        }
+
+        private boolean canRevalidate() {
+            return etag != null || lastModified != null;
+        }
+
+        // Each caller gets its own response object
+        private Response copy() {
+            return new ResponseBuilder().clone(response).setBody(body).build();
+        }
+    }
+
+    private static Entry get(String key) {
+        synchronized (ENTRIES) {
+            return ENTRIES.get(key);
+        }
+    }
+
+    private static void put(String key, Entry entry) {
+        long maxEntries = Long.parseLong(ConfigReader.getConfigProp("api.cache.max.entries", "500"));
+        long maxBytes = Long.parseLong(ConfigReader.getConfigProp("api.cache.max.bytes", "52428800"));
+        synchronized (ENTRIES) {
+            Entry previous = ENTRIES.put(key, entry);
+            cachedBytes += entry.body.length - (previous == null ? 0 : previous.body.length);
+            Iterator<Map.Entry<String, Entry>> eldest = ENTRIES.entrySet().iterator();
+            while ((ENTRIES.size() > maxEntries || cachedBytes > maxBytes) && eldest.hasNext()) {
+                Map.Entry<String, Entry> evicted = eldest.next();
+                if (evicted.getValue() != entry) {
+                    cachedBytes -= evicted.getValue().body.length;
+                    eldest.remove();
+                }
+            }
+        }
+    }
+
+    private static long expiry() {
+        return System.nanoTime() + Duration.ofSeconds(
+                Long.parseLong(ConfigReader.getConfigProp("api.cache.ttl.seconds", "300"))).toNanos();
+    }
+
+    // endregion
+
+    private static class CacheFilter implements Filter {
+        @Override
+        public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification response,
+                               FilterContext context) {
+            if (!"GET".equalsIgnoreCase(request.getMethod())) {
+                return context.next(request, response);
+            }
+            String key = keyOf(request);
+            while (true) {
+                Entry entry = get(key);
+                if (entry != null && entry.isFresh()) {
+                    HITS.incrementAndGet();
+                    NANOS_SAVED.addAndGet(entry.fetchNanos);
+                    return entry.copy();
+                }
+                CompletableFuture<Entry> fetch = new CompletableFuture<>();
+                CompletableFuture<Entry> running = IN_FLIGHT.putIfAbsent(key, fetch);
+                if (running == null) {
+                    return fetch(key, entry, fetch, request, response, context);
+                }
+                // Another thread is fetching it; use its result unless it turned out not to be cacheable
+                Entry shared = running.exceptionally(e -> null).join();
+                if (shared == null) {
+                    return context.next(request, response);
+                }
+                if (shared.isFresh()) {
+                    HITS.incrementAndGet();
+                    NANOS_SAVED.addAndGet(shared.fetchNanos);
+                    return shared.copy();
+                }
+            }
+        }
+
+        private Response fetch(String key, Entry stale, CompletableFuture<Entry> fetch,
+                               FilterableRequestSpecification request, FilterableResponseSpecification response,
+                               FilterContext context) {
+            Entry stored = null;
+            try {
+                boolean conditional = stale != null && stale.canRevalidate();
+                if (conditional) {
+                    if (stale.etag != null) {
+                        request.header("If-None-Match", stale.etag);
+                    }
+                    if (stale.lastModified != null) {
+                        request.header("If-Modified-Since", stale.lastModified);
+                    }
+                }
+                long started = System.nanoTime();
+                Response result = context.next(request, response);
+                long elapsed = System.nanoTime() - started;
+                if (conditional && result.getStatusCode() == 304) {
+                    REVALIDATIONS.incrementAndGet();
+                    stale.expiresAt = expiry();
+                    stored = stale;
+                    logger.debug("Revalidated cached {}", key);
+                    return stale.copy();
+                }
+                MISSES.incrementAndGet();
+                if (isCacheable(result)) {
+                    stored = new Entry(result, elapsed, expiry());
+                    put(key, stored);
+                }
+                return result;
+            } finally {
+                IN_FLIGHT.remove(key, fetch);
+                fetch.complete(stored);
+            }
+        }
+
+        private static boolean isCacheable(Response result) {
+            String cacheControl = result.getHeader("Cache-Control");
+            return result.getStatusCode() == 200
+                    && (cacheControl == null || !cacheControl.toLowerCase(Locale.ROOT).contains("no-store"));
+        }
+
+        private static String keyOf(FilterableRequestSpecification request) {
+            List<String> varyHeaders = Arrays.asList(
+                    ConfigReader.getConfigProp("api.cache.vary.headers", "Accept,Accept-Language,Authorization,Cookie")
+                            .split(","));
+            return request.getURI() + varyHeaders.stream()
+                    .map(String::trim)
+                    .map(name -> name + "=" + headerValues(request, name))
+                    .collect(Collectors.joining(";", " ", ""));
+        }
+
+        private static List<String> headerValues(FilterableRequestSpecification request, String name) {
+            List<String> values = new ArrayList<>(request.getHeaders().getValues(name));
+            // Cookies set through the spec only become a header when the request is sent
+            if ("Cookie".equalsIgnoreCase(name)) {
+                request.getCookies().asList().stream()
+                        .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                        .sorted()
+                        .forEach(values::add);
+            }
+            return values;
+        }
+    }
+}
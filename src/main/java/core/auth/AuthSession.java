@@ -0,0 +1,87 @@
+package core.auth;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of an authenticated session: cookies, optional local storage entries
+ * and the window in which they may be reused.
+ */
+public class AuthSession {
+    private final String role;
+    private final String baseUrl;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final long authenticationMillis;
+
+    public AuthSession(String role, String baseUrl, List<Cookie> cookies, Map<String, String> localStorage,
+                       Instant issuedAt, Duration ttl, long authenticationMillis) {
+        this.role = role;
+        this.baseUrl = baseUrl;
+        this.cookies = Collections.unmodifiableList(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+        this.issuedAt = issuedAt;
+        this.expiresAt = earliestExpiry(cookies, issuedAt.plus(ttl));
+        this.authenticationMillis = authenticationMillis;
+    }
+
+    // A session is only as valid as its shortest-lived cookie
+    private static Instant earliestExpiry(List<Cookie> cookies, Instant ttlExpiry) {
+        Instant expiry = ttlExpiry;
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(expiry)) {
+                expiry = cookie.getExpiry().toInstant();
+            }
+        }
+        return expiry;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Whether the session expires within the given window and should be refreshed before reuse.
+     */
+    public boolean needsRefresh(Instant now, Duration refreshWindow) {
+        return !now.plus(refreshWindow).isBefore(expiresAt);
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return time the {@link Authenticator} took to log in, e.g. the API login of {@link FormLoginAuthenticator}
+     */
+    public long getAuthenticationMillis() {
+        return authenticationMillis;
+    }
+}
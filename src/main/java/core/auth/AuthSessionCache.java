@@ -0,0 +1,157 @@
+package core.auth;
+
+import core.config.ConfigReader;
+import core.util.DateTimeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide cache of authenticated sessions keyed by user role.
+ * Concurrent requests for the same role share a single authentication call.
+ */
+public class AuthSessionCache {
+    private static final Logger logger = LoggerFactory.getLogger(AuthSessionCache.class);
+    private static final Map<String, CompletableFuture<AuthSession>> SESSIONS = new ConcurrentHashMap<>();
+    private static final Map<String, Authenticator> AUTHENTICATORS = new ConcurrentHashMap<>();
+    private static volatile Authenticator defaultAuthenticator;
+
+    // Prevent instantiation
+    private AuthSessionCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static class AuthenticationException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public AuthenticationException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Registers the authenticator used for a specific role.
+     */
+    public static void register(String role, Authenticator authenticator) {
+        AUTHENTICATORS.put(role, authenticator);
+        invalidate(role);
+    }
+
+    /**
+     * Registers the authenticator used for roles without a dedicated one.
+     */
+    public static void registerDefault(Authenticator authenticator) {
+        defaultAuthenticator = authenticator;
+        invalidateAll();
+    }
+
+    /**
+     * Returns a valid session for the role, authenticating only when none is cached,
+     * the cached one is expired or it is inside the refresh window.
+     *
+     * @param role the user role to log in as
+     * @return the cached or freshly created session
+     * @throws AuthenticationException if no authenticator is available or authentication fails
+     */
+    public static AuthSession getSession(String role) {
+        while (true) {
+            CompletableFuture<AuthSession> current = SESSIONS.get(role);
+            if (current != null) {
+                AuthSession session = await(role, current);
+                if (session != null && !session.needsRefresh(now(), getRefreshWindow())) {
+                    return session;
+                }
+                // Expired or failed: drop it, unless another thread already replaced it
+                SESSIONS.remove(role, current);
+                continue;
+            }
+
+            CompletableFuture<AuthSession> created = new CompletableFuture<>();
+            if (SESSIONS.putIfAbsent(role, created) == null) {
+                return authenticate(role, created);
+            }
+        }
+    }
+
+    public static boolean isCached(String role) {
+        CompletableFuture<AuthSession> current = SESSIONS.get(role);
+        if (current == null || !current.isDone() || current.isCompletedExceptionally()) {
+            return false;
+        }
+        return !current.join().isExpired(now());
+    }
+
+    /**
+     * Discards the cached session for a role, e.g. after the application rejected it.
+     */
+    public static void invalidate(String role) {
+        SESSIONS.remove(role);
+    }
+
+    public static void invalidateAll() {
+        SESSIONS.clear();
+    }
+
+    private static AuthSession authenticate(String role, CompletableFuture<AuthSession> target) {
+        try {
+            Authenticator authenticator = resolveAuthenticator(role);
+            long start = System.nanoTime();
+            AuthSession session = authenticator.authenticate(role);
+            logger.info("Authenticated role '{}' in {} ms, session valid until {}",
+                    role, (System.nanoTime() - start) / 1_000_000, session.getExpiresAt());
+            target.complete(session);
+            return session;
+        } catch (RuntimeException e) {
+            SESSIONS.remove(role, target);
+            target.completeExceptionally(e);
+            throw e instanceof AuthenticationException
+                    ? e : new AuthenticationException("Authentication failed for role: " + role, e);
+        }
+    }
+
+    // Returns null when the shared authentication failed so the caller can retry it
+    private static AuthSession await(String role, CompletableFuture<AuthSession> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            logger.warn("Shared authentication for role '{}' failed: {}", role, e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    private static Authenticator resolveAuthenticator(String role) {
+        Authenticator authenticator = AUTHENTICATORS.get(role);
+        if (authenticator != null) {
+            return authenticator;
+        }
+        if (defaultAuthenticator == null && !ConfigReader.getConfigProp("auth.login.url", "").isEmpty()) {
+            synchronized (AuthSessionCache.class) {
+                if (defaultAuthenticator == null) {
+                    defaultAuthenticator = new FormLoginAuthenticator();
+                }
+            }
+        }
+        if (defaultAuthenticator == null) {
+            throw new AuthenticationException("No authenticator registered for role: " + role, null);
+        }
+        return defaultAuthenticator;
+    }
+
+    static Duration getTtl() {
+        return Duration.ofSeconds(Long.parseLong(ConfigReader.getConfigProp("auth.session.ttl.seconds", "1800")));
+    }
+
+    private static Duration getRefreshWindow() {
+        return Duration.ofSeconds(Long.parseLong(ConfigReader.getConfigProp("auth.session.refresh.seconds", "60")));
+    }
+
+    static Instant now() {
+        return DateTimeUtil.getClock().instant();
+    }
+}
@@ -0,0 +1,118 @@
+package core.auth;
+
+import core.drivers.TestTagUtil;
+import core.drivers.WebDriverFactory;
+import core.util.JsonUtil;
+import io.cucumber.java.Scenario;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts scenarios tagged {@code @auth_<role>} with an already authenticated browser
+ * by injecting the cached session for that role into the fresh driver.
+ */
+public class AuthSessionManager {
+    private static final Logger logger = LoggerFactory.getLogger(AuthSessionManager.class);
+    private static final LongAdder TOTAL_REUSED_LOGIN_MILLIS = new LongAdder();
+
+    public void applySession(Scenario scenario) {
+        String role = TestTagUtil.extractAuthRole(scenario);
+        if (role.isEmpty()) {
+            return;
+        }
+
+        boolean cacheHit = AuthSessionCache.isCached(role);
+        long start = System.nanoTime();
+        AuthSession session = AuthSessionCache.getSession(role);
+        injectSession(WebDriverFactory.getDriver(), session);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        String message;
+        if (cacheHit) {
+            // The authenticator's login, not the UI login the scenario would otherwise go through
+            TOTAL_REUSED_LOGIN_MILLIS.add(session.getAuthenticationMillis());
+            message = String.format("Session for role '%s' applied in %d ms (cached, reused the %d ms API login;"
+                    + " %d ms of API logins reused this run)", role, elapsedMillis, session.getAuthenticationMillis(),
+                    TOTAL_REUSED_LOGIN_MILLIS.sum());
+        } else {
+            message = String.format("Session for role '%s' applied in %d ms (API login took %d ms)", role,
+                    elapsedMillis, session.getAuthenticationMillis());
+        }
+        scenario.log(message);
+        logger.info(message);
+    }
+
+    /**
+     * Applies the session's cookies and local storage to the driver. Chromium drivers get them
+     * through DevTools before any navigation; other drivers load the base URL once and use WebDriver.
+     */
+    public void injectSession(WebDriver driver, AuthSession session) {
+        if (driver instanceof HasCdp) {
+            injectWithCdp((HasCdp) driver, session);
+        } else {
+            injectWithWebDriver(driver, session);
+        }
+    }
+
+    private void injectWithCdp(HasCdp cdp, AuthSession session) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : session.getCookies()) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("name", cookie.getName());
+            params.put("value", cookie.getValue());
+            params.put("domain", cookie.getDomain());
+            params.put("path", cookie.getPath());
+            params.put("secure", cookie.isSecure());
+            params.put("httpOnly", cookie.isHttpOnly());
+            if (cookie.getSameSite() != null) {
+                params.put("sameSite", cookie.getSameSite());
+            }
+            if (cookie.getExpiry() != null) {
+                params.put("expires", cookie.getExpiry().getTime() / 1000);
+            }
+            cookies.add(params);
+        }
+        Map<String, Object> setCookies = new HashMap<>();
+        setCookies.put("cookies", cookies);
+        cdp.executeCdpCommand("Network.setCookies", setCookies);
+
+        if (!session.getLocalStorage().isEmpty()) {
+            Map<String, Object> script = new HashMap<>();
+            script.put("source", localStorageScript(session));
+            cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", script);
+        }
+    }
+
+    private void injectWithWebDriver(WebDriver driver, AuthSession session) {
+        // Cookies can only be added for the domain currently loaded
+        driver.get(session.getBaseUrl());
+        for (Cookie cookie : session.getCookies()) {
+            driver.manage().addCookie(cookie);
+        }
+        if (!session.getLocalStorage().isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(localStorageScript(session));
+        }
+    }
+
+    private static String localStorageScript(AuthSession session) {
+        URI base = URI.create(session.getBaseUrl());
+        String origin = base.getScheme() + "://" + base.getAuthority();
+        StringBuilder script = new StringBuilder("if (location.origin === ")
+                .append(JsonUtil.toJson(origin).orElse("''")).append(") {");
+        session.getLocalStorage().forEach((key, value) -> script.append("localStorage.setItem(")
+                .append(JsonUtil.toJson(key).orElse("''")).append(", ")
+                .append(JsonUtil.toJson(value).orElse("''")).append(");"));
+        return script.append('}').toString();
+    }
+}
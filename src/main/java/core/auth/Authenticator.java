@@ -0,0 +1,10 @@
+package core.auth;
+
+/**
+ * Performs a non-UI login for a user role and returns the resulting browser session state.
+ * Implementations are called at most once per role per TTL by {@link AuthSessionCache}.
+ */
+@FunctionalInterface
+public interface Authenticator {
+    AuthSession authenticate(String role);
+}
@@ -0,0 +1,103 @@
+package core.auth;
+
+import core.config.ConfigReader;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.openqa.selenium.Cookie;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Default {@link Authenticator} that submits the application's login form with REST-assured
+ * and keeps the cookies set by the response.
+ * <p>
+ * Reads {@code auth.login.url}, {@code auth.base.url}, {@code auth.username.field},
+ * {@code auth.password.field} and the per-role {@code auth.<role>.username} /
+ * {@code auth.<role>.password} properties. Credentials missing from the properties are read from environment
+ * variables named like {@code AUTH_<ROLE>_PASSWORD}, so passwords need not be committed.
+ */
+public class FormLoginAuthenticator implements Authenticator {
+    private final String loginUrl;
+    private final String baseUrl;
+    private final String usernameField;
+    private final String passwordField;
+
+    public FormLoginAuthenticator() {
+        this(ConfigReader.getConfigProp("auth.login.url"),
+                ConfigReader.getConfigProp("auth.base.url", ConfigReader.getConfigProp("auth.login.url")),
+                ConfigReader.getConfigProp("auth.username.field", "username"),
+                ConfigReader.getConfigProp("auth.password.field", "password"));
+    }
+
+    public FormLoginAuthenticator(String loginUrl, String baseUrl, String usernameField, String passwordField) {
+        this.loginUrl = loginUrl;
+        this.baseUrl = baseUrl;
+        this.usernameField = usernameField;
+        this.passwordField = passwordField;
+    }
+
+    @Override
+    public AuthSession authenticate(String role) {
+        String username = requireCredential(role, "username");
+        String password = requireCredential(role, "password");
+
+        long start = System.nanoTime();
+        // The session cookie is set on the redirect itself, so it must not be followed
+        Response response = RestAssured.given()
+                .redirects().follow(false)
+                .formParam(usernameField, username)
+                .formParam(passwordField, password)
+                .post(loginUrl);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        if (response.getStatusCode() >= 400) {
+            throw new AuthSessionCache.AuthenticationException(
+                    "Login for role '" + role + "' returned HTTP " + response.getStatusCode(), null);
+        }
+
+        List<Cookie> cookies = new ArrayList<>();
+        String defaultDomain = URI.create(baseUrl).getHost();
+        for (io.restassured.http.Cookie cookie : response.getDetailedCookies()) {
+            cookies.add(toSeleniumCookie(cookie, defaultDomain));
+        }
+        if (cookies.isEmpty()) {
+            throw new AuthSessionCache.AuthenticationException("Login for role '" + role + "' set no cookies", null);
+        }
+
+        return new AuthSession(role, baseUrl, cookies, new HashMap<>(), AuthSessionCache.now(),
+                AuthSessionCache.getTtl(), elapsedMillis);
+    }
+
+    private static Cookie toSeleniumCookie(io.restassured.http.Cookie cookie, String defaultDomain) {
+        Cookie.Builder builder = new Cookie.Builder(cookie.getName(), cookie.getValue())
+                .domain(cookie.hasDomain() ? cookie.getDomain() : defaultDomain)
+                .path(cookie.hasPath() ? cookie.getPath() : "/")
+                .isSecure(cookie.isSecured())
+                .isHttpOnly(cookie.isHttpOnly());
+        if (cookie.hasExpiryDate()) {
+            builder.expiresOn(cookie.getExpiryDate());
+        }
+        if (cookie.hasSameSite()) {
+            builder.sameSite(cookie.getSameSite());
+        }
+        return builder.build();
+    }
+
+    private static String requireCredential(String role, String name) {
+        String key = "auth." + role + "." + name;
+        String environmentVariable = key.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_");
+        String value = ConfigReader.getConfigProp(key);
+        if (value == null || value.isEmpty()) {
+            value = System.getenv(environmentVariable);
+        }
+        if (value == null || value.isEmpty()) {
+            throw new AuthSessionCache.AuthenticationException(
+                    "Missing property " + key + " or environment variable " + environmentVariable, null);
+        }
+        return value;
+    }
+}
@@ -1,10 +1,19 @@
 package core.base;
 
 import core.config.ConfigReader;
+import core.drivers.BrowserEvents;
+import core.drivers.ScenarioContext;
+import core.drivers.ScreenshotManager;
 import core.drivers.WebDriverFactory;
+import core.jfr.RetryAttemptEvent;
+import core.jfr.WaitEvent;
+import core.visual.VisualCheck;
+import core.visual.VisualOptions;
+import core.visual.VisualResult;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.interactions.Interactive;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
@@ -12,15 +21,26 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Enhanced Page Object class providing robust web automation capabilities
  * with improved error handling, logging, and additional functionality.
+ * <p>
+ * {@link #driver} is the scenario's driver itself when the page is created after the scenario's browser started, so
+ * it can be cast to the driver's own types. A page created earlier, such as by a glue constructor that runs before
+ * the browser hooks or in an API-only scenario, gets a stand-in that resolves the current thread's
+ * {@link ScenarioContext} driver on each call and only offers the {@link WebDriver} interfaces. Neither ever launches
+ * a browser: using a page without one throws {@link NoSuchSessionException}.
  */
 public class PageObject {
     private static final Logger logger = LoggerFactory.getLogger(PageObject.class);
@@ -35,16 +55,69 @@ public class PageObject {
      * Constructor initializing WebDriver and configuration settings
      */
     public PageObject() {
-        this.driver = WebDriverFactory.getDriver();
         this.implicitWaitTime = Integer.parseInt(ConfigReader.getConfigProp("implicitWaitTime"));
         this.pageLoadTimeout = Integer.parseInt(ConfigReader.getConfigProp("pageLoadTimeout"));
-
-        configureDriver();
+        WebDriver current = scenarioDriver();
+        if (current != null) {
+            configureDriver(current);
+            this.driver = current;
+        } else {
+            this.driver = (WebDriver) Proxy.newProxyInstance(PageObject.class.getClassLoader(), new Class<?>[]{
+                    WebDriver.class, JavascriptExecutor.class, TakesScreenshot.class, Interactive.class,
+                    HasCapabilities.class, WrapsDriver.class}, new ScenarioDriverHandler());
+        }
     }
 
     // region Driver Configuration
 
-    private void configureDriver() {
+    private static WebDriver scenarioDriver() {
+        ScenarioContext context = ScenarioContext.current();
+        return context == null ? null : context.getDriver();
+    }
+
+    /**
+     * Resolves the scenario's driver on every call, configuring each driver the first time this page uses it
+     */
+    private class ScenarioDriverHandler implements InvocationHandler {
+        private WebDriver configured;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PageObject driver of the current scenario";
+                default:
+                    break;
+            }
+            WebDriver current = scenarioDriver();
+            if (current == null) {
+                throw new NoSuchSessionException("No browser in the current scenario for " + method.getName()
+                        + "; pages need a scenario that starts one, such as @ui");
+            }
+            if (current != configured) {
+                configured = current;
+                configureDriver(current);
+            }
+            if (method.getDeclaringClass() == WrapsDriver.class) {
+                return current;
+            }
+            if (!method.getDeclaringClass().isInstance(current)) {
+                throw new UnsupportedCommandException(current.getClass().getSimpleName() + " does not support "
+                        + method.getDeclaringClass().getSimpleName() + "." + method.getName());
+            }
+            try {
+                return method.invoke(current, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private void configureDriver(WebDriver driver) {
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWaitTime));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
 
@@ -99,8 +172,7 @@ public class PageObject {
      * Waits for element with custom timeout and condition
      */
     public WebElement waitFor(By locator, Duration timeout, Function<By, WebElement> condition) {
-        WebDriverWait wait = new WebDriverWait(driver, timeout, POLLING_INTERVAL);
-        return wait.until(driver -> {
+        return await(locator, "custom", timeout, driver -> {
             try {
                 return condition.apply(locator);
             } catch (StaleElementReferenceException e) {
@@ -111,13 +183,11 @@ public class PageObject {
     }
 
     public void waitForElementVisible(By by) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(implicitWaitTime));
-        wait.until(ExpectedConditions.visibilityOfElementLocated(by));
+        await(by, "visible", Duration.ofSeconds(implicitWaitTime), ExpectedConditions.visibilityOfElementLocated(by));
     }
 
     public void waitForElementInvisible(By by, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-        wait.until(driver -> findElementsWithoutWait(by).isEmpty());
+        await(by, "invisible", Duration.ofSeconds(timeoutInSeconds), driver -> findElementsWithoutWait(by).isEmpty());
     }
 
     public void waitForElementInvisible(By by) {
@@ -125,34 +195,32 @@ public class PageObject {
     }
 
     public WebElement waitForElementTOBeClickable(By by) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(implicitWaitTime));
-        return wait.until(ExpectedConditions.elementToBeClickable(by));
+        return await(by, "clickable", Duration.ofSeconds(implicitWaitTime), ExpectedConditions.elementToBeClickable(by));
     }
 
 
     public WebElement waitForPresenceOfElement(By by) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(implicitWaitTime));
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(by));
+        await(by, "present", Duration.ofSeconds(implicitWaitTime), ExpectedConditions.presenceOfAllElementsLocatedBy(by));
         return $(by);
     }
 
     public boolean waitForUrlContains(String url) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        return wait.until(ExpectedConditions.urlContains(url));
+        return await(url, "url contains", Duration.ofSeconds(5), ExpectedConditions.urlContains(url));
     }
 
     public boolean waitForUrlToBe(String url) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        return wait.until(ExpectedConditions.urlToBe(url));
+        return await(url, "url is", Duration.ofSeconds(5), ExpectedConditions.urlToBe(url));
     }
 
     /**
-     * Smart wait using dynamic conditions instead of Thread.sleep
+     * Pauses the calling thread, for deliberate delays such as typing speed and retry backoff; never to wait for state
      */
-    private void smartWait(int milliseconds) {
-        new WebDriverWait(driver, Duration.ofMillis(milliseconds))
-                .pollingEvery(Duration.ofMillis(50))
-                .until(webDriver -> true);
+    private void pause(int milliseconds) {
+        try {
+            Thread.sleep(milliseconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     // endregion
@@ -226,7 +294,7 @@ public class PageObject {
         if (delayMillis > 0) {
             for (char c : text.toCharArray()) {
                 element.sendKeys(String.valueOf(c));
-                smartWait(delayMillis);
+                pause(delayMillis);
             }
         } else {
             element.sendKeys(text);
@@ -267,9 +335,8 @@ public class PageObject {
     }
 
     public boolean isElementClickable(By by) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofMillis(500));
         try {
-            return wait.until(ExpectedConditions.elementToBeClickable(by)) != null;
+            return await(by, "clickable", Duration.ofMillis(500), ExpectedConditions.elementToBeClickable(by)) != null;
         } catch (Exception e) {
             return false;
         }
@@ -308,6 +375,10 @@ public class PageObject {
 
     public boolean isNewTabOpen() {
         String currentWindowHandle = driver.getWindowHandle();
+        BrowserEvents browserEvents = browserEvents();
+        if (browserEvents != null) {
+            return browserEvents.findWindowOtherThan(currentWindowHandle) != null;
+        }
         Set<String> handles = driver.getWindowHandles();
         return handles.stream().anyMatch(handle -> !handle.equals(currentWindowHandle));
     }
@@ -327,34 +398,49 @@ public class PageObject {
     }
 
     public void waitForNewTab() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(implicitWaitTime));
-        wait.until(driver -> isNewTabOpen());
+        awaitNewTab(driver.getWindowHandle(), Duration.ofSeconds(implicitWaitTime));
     }
 
+    /**
+     * Waits for a window other than the given one, from BiDi events when available and by polling otherwise
+     *
+     * @return the new window's handle
+     * @throws TimeoutException when no other window opened in time
+     */
+    private String awaitNewTab(String originalHandle, Duration timeout) {
+        BrowserEvents browserEvents = browserEvents();
+        if (browserEvents == null) {
+            return await("window", "new tab", timeout, driver -> driver.getWindowHandles().stream()
+                    .filter(handle -> !handle.equals(originalHandle))
+                    .findFirst()
+                    .orElse(null));
+        }
+        return recordWait("window", "new tab", timeout, () -> {
+            String handle = awaitEvent(() -> browserEvents.awaitWindowOtherThan(originalHandle, timeout));
+            if (handle == null) {
+                throw new TimeoutException("No new tab opened within " + timeout.toMillis() + " ms");
+            }
+            return handle;
+        });
+    }
 
     public void executeInNewTab(String url) {
         String originalHandle = driver.getWindowHandle();
         ((JavascriptExecutor) driver).executeScript("window.open('" + url + "');");
-        Set<String> windowHandles = driver.getWindowHandles();
-        windowHandles.stream()
-                .filter(handle -> !handle.equals(originalHandle))
-                .findFirst()
-                .ifPresent(handle -> driver.switchTo().window(handle));
+        driver.switchTo().window(awaitNewTab(originalHandle, Duration.ofSeconds(implicitWaitTime)));
     }
 
     public boolean waitForTabAction(Action condition) {
-        smartWait(6000);
         String originalHandle = driver.getWindowHandle();
-        Set<String> windowHandles = driver.getWindowHandles();
-        if (windowHandles.size() < 2) {
+        String newHandle;
+        try {
+            newHandle = awaitNewTab(originalHandle, Duration.ofSeconds(6));
+        } catch (TimeoutException e) {
             throw new NoSuchWindowException("waitForTabAction(): No new tab is open.");
         }
 
         try {
-            windowHandles.stream()
-                    .filter(handle -> !handle.equals(originalHandle))
-                    .findFirst()
-                    .ifPresent(handle -> driver.switchTo().window(handle));
+            driver.switchTo().window(newHandle);
             condition.execute();
             return true;
         } catch (Exception e) {
@@ -364,7 +450,6 @@ public class PageObject {
         } finally {
             driver.close();
             driver.switchTo().window(originalHandle);
-            smartWait(500);
         }
     }
 
@@ -376,9 +461,8 @@ public class PageObject {
      * Handles different types of alerts
      */
     public void handleAlert(AlertAction action) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(implicitWaitTime));
         try {
-            Alert alert = wait.until(ExpectedConditions.alertIsPresent());
+            Alert alert = awaitAlert(Duration.ofSeconds(implicitWaitTime));
             switch (action) {
                 case ACCEPT:
                     alert.accept();
@@ -395,6 +479,25 @@ public class PageObject {
         }
     }
 
+    // Null when the scenario's driver has no BiDi events and waits poll instead
+    private BrowserEvents browserEvents() {
+        return WebDriverFactory.getBrowserEvents();
+    }
+
+    // Switches to the alert as soon as the prompt event arrives, or polls for it without BiDi
+    private Alert awaitAlert(Duration timeout) {
+        BrowserEvents browserEvents = browserEvents();
+        if (browserEvents == null) {
+            return await("alert", "present", timeout, ExpectedConditions.alertIsPresent());
+        }
+        return recordWait("alert", "present", timeout, () -> {
+            if (!awaitEvent(() -> browserEvents.awaitPrompt(timeout))) {
+                throw new TimeoutException("No alert opened within " + timeout.toMillis() + " ms");
+            }
+            return driver.switchTo().alert();
+        });
+    }
+
     public enum AlertAction {
         ACCEPT, DISMISS, GET_TEXT
     }
@@ -420,6 +523,39 @@ public class PageObject {
             throw new RuntimeException("Screenshot failed", e);
         }
     }
+
+    /**
+     * Compares the visible page with its stored baseline, see {@link VisualCheck}
+     *
+     * @param name            baseline name, unique per page state
+     * @param ignoredElements elements left out of the comparison, such as clocks or ads
+     * @throws VisualCheck.VisualMismatchException when the page differs beyond the {@code visual.*} tolerances
+     */
+    public VisualResult verifyVisual(String name, By... ignoredElements) {
+        VisualOptions.Builder options = new VisualOptions.Builder();
+        if (ignoredElements.length > 0) {
+            // Element rectangles are in CSS pixels relative to the document; the screenshot is the scaled viewport
+            double ratio = 1;
+            double scrollX = 0;
+            double scrollY = 0;
+            if (driver instanceof JavascriptExecutor) {
+                List<?> viewport = (List<?>) ((JavascriptExecutor) driver).executeScript(
+                        "return [window.devicePixelRatio || 1, window.pageXOffset, window.pageYOffset];");
+                ratio = ((Number) viewport.get(0)).doubleValue();
+                scrollX = ((Number) viewport.get(1)).doubleValue();
+                scrollY = ((Number) viewport.get(2)).doubleValue();
+            }
+            for (By by : ignoredElements) {
+                for (WebElement element : findElementsWithoutWait(by)) {
+                    Rectangle rect = element.getRect();
+                    options.ignoreRegion(new java.awt.Rectangle((int) ((rect.getX() - scrollX) * ratio),
+                            (int) ((rect.getY() - scrollY) * ratio), (int) Math.ceil(rect.getWidth() * ratio),
+                            (int) Math.ceil(rect.getHeight() * ratio)));
+                }
+            }
+        }
+        return VisualCheck.verify(name, new ScreenshotManager().capture(driver), options.build());
+    }
     // region State Checking
 
     /**
@@ -450,17 +586,80 @@ public class PageObject {
     private <T> T retry(SupplierWithException<T> action, String errorMessage) {
         Exception lastException = null;
         for (int i = 0; i < DEFAULT_RETRY_COUNT; i++) {
+            RetryAttemptEvent attempt = new RetryAttemptEvent();
+            attempt.begin();
             try {
-                return action.get();
+                T result = action.get();
+                commitAttempt(attempt, errorMessage, i + 1, null);
+                return result;
             } catch (Exception e) {
+                commitAttempt(attempt, errorMessage, i + 1, e);
                 lastException = e;
                 logger.warn("Attempt {} failed: {}", i + 1, e.getMessage());
-                smartWait(1000 * (i + 1)); // Exponential backoff
+                if (i < DEFAULT_RETRY_COUNT - 1) {
+                    pause(1000 * (i + 1)); // Exponential backoff
+                }
             }
         }
         throw new RuntimeException(errorMessage, lastException);
     }
 
+    private static void commitAttempt(RetryAttemptEvent attempt, String operation, int number, Exception failure) {
+        attempt.end();
+        if (attempt.shouldCommit()) {
+            // Retried operations are described by their failure message, e.g. "Failed to click element: ..."
+            attempt.operation = operation.startsWith("Failed to ") ? operation.substring("Failed to ".length()) : operation;
+            attempt.attempt = number;
+            attempt.succeeded = failure == null;
+            attempt.failure = failure != null ? failure.getClass().getSimpleName() + ": " + failure.getMessage() : null;
+            attempt.commit();
+        }
+    }
+
+    /**
+     * Waits until the condition holds, recording a {@link WaitEvent} with the actual wait time
+     *
+     * @param target    what is waited on, usually a locator; only rendered when the event is recorded
+     * @param condition short name of the condition
+     */
+    private <T> T await(Object target, String condition, Duration timeout, Function<WebDriver, T> isTrue) {
+        return recordWait(target, condition, timeout, () -> new WebDriverWait(driver, timeout, POLLING_INTERVAL).until(isTrue));
+    }
+
+    private <T> T recordWait(Object target, String condition, Duration timeout, Supplier<T> wait) {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        boolean satisfied = false;
+        try {
+            T result = wait.get();
+            satisfied = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.locator = String.valueOf(target);
+                event.condition = condition;
+                event.timeout = timeout.toMillis();
+                event.satisfied = satisfied;
+                event.commit();
+            }
+        }
+    }
+
+    private static <T> T awaitEvent(EventWait<T> wait) {
+        try {
+            return wait.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for a browser event", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface EventWait<T> {
+        T get() throws InterruptedException;
+    }
+
     @FunctionalInterface
     private interface SupplierWithException<T> {
         T get() throws Exception;
@@ -558,8 +757,7 @@ public class PageObject {
      */
     public boolean isDisplayed(By by, Duration timeout) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, timeout);
-            return wait.until(driver -> $(by).isDisplayed());
+            return await(by, "displayed", timeout, driver -> $(by).isDisplayed());
         } catch (Exception e) {
             return false;
         }
@@ -1,20 +1,26 @@
 package core.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Enumeration;
 import java.util.Properties;
 
 public class ConfigReader {
-    private static Properties combinedProps = new Properties();
+    private static volatile Properties combinedProps = new Properties();
+    private static final Logger logger = LoggerFactory.getLogger(ConfigReader.class);
 
     // Static block to load all properties files
     static {
-        loadAllProperties();
+        loadAllProperties(combinedProps);
     }
 
     // Load all properties files and combine them
-    private static void loadAllProperties() {
+    private static void loadAllProperties(Properties target) {
         try {
             ClassLoader loader = ConfigReader.class.getClassLoader();
             // Load core properties file
@@ -22,7 +28,7 @@ public class ConfigReader {
                 if (coreStream != null) {
                     Properties coreProps = new Properties();
                     coreProps.load(coreStream);
-                    combinedProps.putAll(coreProps);
+                    target.putAll(coreProps);
                 }
             }
 
@@ -32,12 +38,35 @@ public class ConfigReader {
                 try (InputStream clientStream = configFiles.nextElement().openStream()) {
                     Properties clientProps = new Properties();
                     clientProps.load(clientStream);
-                    combinedProps.putAll(clientProps); // Combines all client properties
+                    target.putAll(clientProps); // Combines all client properties
                 }
             }
         } catch (IOException e) {
-            e.printStackTrace();
+            logger.error("Failed to load configuration: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reloads the properties files from the classpath, then applies {@code core-config.properties} and
+     * {@code config.properties} found in {@code directories}, e.g. the source resources a long-running JVM was built
+     * from. Readers see either the old or the new properties, never a mix.
+     */
+    public static synchronized void reload(Path... directories) {
+        Properties reloaded = new Properties();
+        loadAllProperties(reloaded);
+        for (Path directory : directories) {
+            for (String name : new String[]{"core-config.properties", "config.properties"}) {
+                Path file = directory.resolve(name);
+                if (Files.isRegularFile(file)) {
+                    try (InputStream stream = Files.newInputStream(file)) {
+                        reloaded.load(stream);
+                    } catch (IOException e) {
+                        logger.error("Failed to reload {}: {}", file, e.getMessage(), e);
+                    }
+                }
+            }
         }
+        combinedProps = reloaded;
     }
 
     // Get a property value, with system property override
@@ -51,6 +80,12 @@ public class ConfigReader {
         return combinedProps.getProperty(key);
     }
 
+    // Get a property value, falling back to a default when it is missing or blank
+    public static String getConfigProp(String key, String defaultValue) {
+        String value = getConfigProp(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
     // Example convenience method for frequently accessed properties
     public static String getEnvironment() {
         return getConfigProp("environment");
@@ -0,0 +1,152 @@
+package core.drivers;
+
+import core.config.ConfigReader;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.BrowsingContextInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Tracks the windows and user prompts of one driver from WebDriver BiDi events, so page objects are woken up the
+ * moment a tab or alert opens instead of polling for it.
+ * <p>
+ * Enabled with {@code browser.bidi.events=true}; {@link #attach(WebDriver)} returns null when the session has no
+ * BiDi connection, e.g. a remote endpoint without BiDi support, and callers fall back to polling.
+ */
+public class BrowserEvents implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserEvents.class);
+
+    private final Object lock = new Object();
+    private final Set<String> windows = new LinkedHashSet<>();
+    private final Set<String> prompts = new LinkedHashSet<>();
+    private BrowsingContextInspector inspector;
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getConfigProp("browser.bidi.events", "false"));
+    }
+
+    /**
+     * Subscribes to the driver's browsing context and user prompt events
+     *
+     * @return the subscription, or null when events are disabled or the session has no BiDi connection
+     */
+    public static BrowserEvents attach(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof HasBiDi) || ((HasBiDi) driver).maybeGetBiDi().isEmpty()) {
+            return null;
+        }
+        BrowserEvents events = new BrowserEvents();
+        try {
+            BrowsingContextInspector inspector = new BrowsingContextInspector(driver);
+            inspector.onBrowsingContextCreated(context -> {
+                if (context.getParentBrowsingContext() == null) {
+                    events.windowOpened(context.getId());
+                }
+            });
+            inspector.onBrowsingContextDestroyed(context -> events.windowClosed(context.getId()));
+            inspector.onUserPromptOpened(prompt -> events.promptOpened(prompt.getBrowsingContextId()));
+            inspector.onUserPromptClosed(prompt -> events.promptClosed(prompt.getBrowsingContextId()));
+            events.inspector = inspector;
+            // Windows open before the subscription, usually just the first one, never raise an event
+            driver.getWindowHandles().forEach(events::windowOpened);
+            return events;
+        } catch (RuntimeException e) {
+            logger.warn("BiDi events unavailable, falling back to polling: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // region Event handlers, called from the BiDi connection thread
+
+    public void windowOpened(String handle) {
+        synchronized (lock) {
+            windows.add(handle);
+            lock.notifyAll();
+        }
+    }
+
+    public void windowClosed(String handle) {
+        synchronized (lock) {
+            windows.remove(handle);
+            prompts.remove(handle);
+        }
+    }
+
+    public void promptOpened(String handle) {
+        synchronized (lock) {
+            prompts.add(handle);
+            lock.notifyAll();
+        }
+    }
+
+    public void promptClosed(String handle) {
+        synchronized (lock) {
+            prompts.remove(handle);
+        }
+    }
+
+    // endregion
+
+    /**
+     * Returns an open window other than the given one without waiting, or null
+     */
+    public String findWindowOtherThan(String handle) {
+        synchronized (lock) {
+            return windows.stream().filter(window -> !window.equals(handle)).findFirst().orElse(null);
+        }
+    }
+
+    /**
+     * Waits until a window other than the given one is open
+     *
+     * @return its handle, or null on timeout
+     */
+    public String awaitWindowOtherThan(String handle, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (lock) {
+            String window;
+            while ((window = findWindowOtherThan(handle)) == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                lock.wait(Math.max(1, remaining / 1_000_000));
+            }
+            return window;
+        }
+    }
+
+    /**
+     * Waits until a user prompt (alert, confirm, prompt, beforeunload) is open in any window
+     *
+     * @return false on timeout
+     */
+    public boolean awaitPrompt(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (lock) {
+            while (prompts.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                lock.wait(Math.max(1, remaining / 1_000_000));
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (inspector != null) {
+            try {
+                inspector.close();
+            } catch (RuntimeException e) {
+                logger.debug("Failed to unsubscribe from BiDi events: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package core.drivers;
+
+import core.config.ConfigReader;
+import core.util.DateTimeUtil;
+import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out persistent browser cache slots for the warm cache mode ({@code browser.cache.mode=warm}).
+ * <p>
+ * Each slot keeps its HTTP disk cache across sessions, while the profile holding cookies, local
+ * storage and other state is recreated on every lease so scenarios stay isolated.
+ * A slot is used by one browser at a time, so with a fixed thread pool each worker settles on its own slot.
+ */
+public class BrowserProfilePool {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserProfilePool.class);
+    private static final ConcurrentSkipListSet<Integer> FREE_SLOTS = new ConcurrentSkipListSet<>();
+    private static final AtomicInteger SLOT_COUNT = new AtomicInteger();
+    private static final String CACHE_MARKER = ".created";
+
+    // Prevent instantiation
+    private BrowserProfilePool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isWarmCacheEnabled() {
+        return "warm".equalsIgnoreCase(ConfigReader.getConfigProp("browser.cache.mode", "cold"));
+    }
+
+    /**
+     * Leases a slot, applying the cleanup policy to its cache and starting it with an empty profile.
+     *
+     * @return the slot directory, to be passed back to {@link #release(Path)} after the browser quits
+     */
+    public static Path lease() {
+        Integer slot = FREE_SLOTS.pollFirst();
+        if (slot == null) {
+            slot = SLOT_COUNT.getAndIncrement();
+        }
+        Path slotDir = getRootDir().resolve("slot-" + slot);
+        try {
+            FileUtils.deleteDirectory(slotDir.resolve("profile").toFile());
+            Files.createDirectories(slotDir.resolve("profile"));
+            enforceCachePolicy(slotDir.resolve("cache"));
+        } catch (IOException e) {
+            FREE_SLOTS.add(slot);
+            throw new UncheckedIOException("Cannot prepare browser cache slot " + slotDir, e);
+        }
+        return slotDir;
+    }
+
+    public static void release(Path slotDir) {
+        String name = slotDir.getFileName().toString();
+        FREE_SLOTS.add(Integer.parseInt(name.substring("slot-".length())));
+    }
+
+    /**
+     * Points a Chromium browser at the slot's profile and persistent cache.
+     */
+    public static void applyTo(ChromiumOptions<?> options, Path slotDir) {
+        options.addArguments(
+                "--user-data-dir=" + slotDir.resolve("profile").toAbsolutePath(),
+                "--disk-cache-dir=" + slotDir.resolve("cache").toAbsolutePath(),
+                "--disk-cache-size=" + getMaxCacheBytes(),
+                "--no-first-run",
+                "--no-default-browser-check");
+    }
+
+    // Drops the cache once it is older than the max age, or well past the size Chrome was asked to keep
+    private static void enforceCachePolicy(Path cacheDir) throws IOException {
+        Path marker = cacheDir.resolve(CACHE_MARKER);
+        if (Files.exists(marker)) {
+            Duration age = Duration.between(Files.getLastModifiedTime(marker).toInstant(), DateTimeUtil.getClock().instant());
+            long maxAgeHours = Long.parseLong(ConfigReader.getConfigProp("browser.cache.max.age.hours", "24"));
+            long size = FileUtils.sizeOfDirectory(cacheDir.toFile());
+            if (age.toHours() >= maxAgeHours || size > getMaxCacheBytes() * 2) {
+                logger.info("Clearing browser cache {} (age {} h, {} MB)", cacheDir, age.toHours(), size / (1024 * 1024));
+                FileUtils.deleteDirectory(cacheDir.toFile());
+            }
+        }
+        if (!Files.exists(marker)) {
+            Files.createDirectories(cacheDir);
+            Files.createFile(marker);
+        }
+    }
+
+    private static long getMaxCacheBytes() {
+        return Long.parseLong(ConfigReader.getConfigProp("browser.cache.max.mb", "500")) * 1024 * 1024;
+    }
+
+    private static Path getRootDir() {
+        return Paths.get(ConfigReader.getConfigProp("browser.cache.dir", "target/browser-cache"));
+    }
+}
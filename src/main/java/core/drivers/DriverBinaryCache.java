@@ -0,0 +1,248 @@
+package core.drivers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import core.config.ConfigReader;
+import org.openqa.selenium.manager.SeleniumManager;
+import org.openqa.selenium.manager.SeleniumManagerOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Resolves driver and browser binaries once per JVM instead of once per session.
+ * <p>
+ * Resolution order for a browser:
+ * <ol>
+ *     <li>an explicit {@code <driver>.path} from config (e.g. {@code chromedriver.path}) when the file exists</li>
+ *     <li>paths already resolved in this JVM</li>
+ *     <li>the index in {@code driver.cache.dir}, keyed by browser, version and platform, when its files still exist</li>
+ *     <li>Selenium Manager, downloading into {@code driver.cache.dir}; with {@code driver.offline=true} it only
+ *     looks at binaries already on the machine</li>
+ * </ol>
+ * A cached entry only proves the files still exist; an installed browser may have auto-updated past its driver since.
+ * {@link #evict} drops an entry after its session could not be created, so the next resolution fetches a matching
+ * driver.
+ * Run {@code main} at build time to pre-seed the cache for network-isolated agents.
+ */
+public class DriverBinaryCache {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryCache.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String INDEX_FILE = "index.json";
+    private static final Map<String, Binaries> RESOLVED = new ConcurrentHashMap<>();
+    private static final Set<String> MISSING_CONFIGURED = ConcurrentHashMap.newKeySet();
+
+    // Prevent instantiation
+    private DriverBinaryCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Driver and, when Selenium Manager provided one, browser executable for a browser
+     */
+    public static class Binaries {
+        public String driverPath;
+        public String browserPath;
+
+        public Binaries() {
+        }
+
+        Binaries(String driverPath, String browserPath) {
+            this.driverPath = driverPath;
+            this.browserPath = browserPath == null || browserPath.isEmpty() ? null : browserPath;
+        }
+
+        boolean exist() {
+            return driverPath != null && Files.isRegularFile(Paths.get(driverPath))
+                    && (browserPath == null || Files.exists(Paths.get(browserPath)));
+        }
+    }
+
+    /**
+     * Pre-seeds the cache, e.g. {@code DriverBinaryCache chrome edge}
+     */
+    public static void main(String[] args) {
+        String[] browsers = args.length > 0 ? args : new String[]{ConfigReader.getConfigProp("browser", "chrome")};
+        for (String browser : browsers) {
+            Binaries binaries = resolve(browser, null);
+            System.out.printf("%-8s driver %s%n%-8s browser %s%n", browser, binaries.driverPath, "",
+                    binaries.browserPath == null ? "(installed)" : binaries.browserPath);
+        }
+        System.out.println("Cache: " + getCacheDir().toAbsolutePath());
+    }
+
+    /**
+     * @param browserVersion requested browser version, or null for the installed or stable one
+     */
+    public static Binaries resolve(String browser, String browserVersion) {
+        long started = System.nanoTime();
+        String name = browser.toLowerCase(Locale.ROOT);
+        String source = "memory";
+        Binaries binaries = fromConfig(name);
+        if (binaries != null) {
+            source = "config";
+        } else {
+            String key = keyOf(name, browserVersion);
+            binaries = RESOLVED.get(key);
+            if (binaries == null) {
+                // Parallel sessions starting together wait for one resolution rather than each running their own
+                synchronized (DriverBinaryCache.class) {
+                    binaries = RESOLVED.get(key);
+                    if (binaries == null) {
+                        binaries = readIndex().get(key);
+                        source = "disk";
+                        if (binaries == null || !binaries.exist()) {
+                            binaries = runSeleniumManager(name, browserVersion);
+                            source = "selenium-manager";
+                            Binaries resolved = binaries;
+                            updateIndex(entries -> entries.put(key, resolved));
+                        }
+                        RESOLVED.put(key, binaries);
+                    }
+                }
+            }
+        }
+        logger.debug("Resolved {} driver from {} in {} us", name, source,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+        return binaries;
+    }
+
+    /**
+     * Forgets the cached binaries of a browser after a session could not be started with them
+     *
+     * @return true when resolving again may give different binaries, false when they are configured explicitly
+     */
+    public static boolean evict(String browser, String browserVersion, Binaries failed) {
+        String name = browser.toLowerCase(Locale.ROOT);
+        if (fromConfig(name) != null) {
+            return false;
+        }
+        String key = keyOf(name, browserVersion);
+        synchronized (DriverBinaryCache.class) {
+            // A parallel session may already have evicted and re-resolved this entry
+            if (RESOLVED.get(key) == failed) {
+                RESOLVED.remove(key);
+                updateIndex(entries -> entries.remove(key));
+                logger.warn("Evicted cached {} driver {}; it could not start a session", name, failed.driverPath);
+            }
+        }
+        return true;
+    }
+
+    private static Binaries fromConfig(String browser) {
+        String property = driverExecutable(browser) + ".path";
+        String configured = ConfigReader.getConfigProp(property, "");
+        if (configured.isEmpty()) {
+            return null;
+        }
+        if (!Files.isRegularFile(Paths.get(configured))) {
+            if (MISSING_CONFIGURED.add(configured)) {
+                logger.warn("{}={} does not exist, resolving the driver instead", property, configured);
+            }
+            return null;
+        }
+        return new Binaries(Paths.get(configured).toAbsolutePath().toString(), null);
+    }
+
+    private static String driverExecutable(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "chromedriver";
+            case "edge":
+                return "edgedriver";
+            case "firefox":
+                return "geckodriver";
+            default:
+                return browser + "driver";
+        }
+    }
+
+    static String keyOf(String browser, String browserVersion) {
+        String version = browserVersion == null || browserVersion.isEmpty() ? "installed" : browserVersion;
+        String platform = System.getProperty("os.name").toLowerCase(Locale.ROOT).replaceAll("\\s+", "")
+                + "-" + System.getProperty("os.arch").toLowerCase(Locale.ROOT);
+        return browser + "|" + version + "|" + platform;
+    }
+
+    private static Binaries runSeleniumManager(String browser, String browserVersion) {
+        boolean offline = isOffline();
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--browser");
+        arguments.add(browser);
+        if (browserVersion != null && !browserVersion.isEmpty()) {
+            arguments.add("--browser-version");
+            arguments.add(browserVersion);
+        }
+        arguments.add("--cache-path");
+        arguments.add(getCacheDir().toAbsolutePath().toString());
+        if (offline) {
+            arguments.add("--offline");
+        }
+        try {
+            SeleniumManagerOutput.Result result = SeleniumManager.getInstance().getBinaryPaths(arguments);
+            return new Binaries(result.getDriverPath(), result.getBrowserPath());
+        } catch (RuntimeException e) {
+            throw new WebDriverFactory.DriverConfigurationException("Cannot resolve the " + browser + " driver"
+                    + (offline ? " offline; set " + driverExecutable(browser) + ".path or pre-seed " + getCacheDir() : ""), e);
+        }
+    }
+
+    // region Index
+
+    private static Map<String, Binaries> readIndex() {
+        Path index = getCacheDir().resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            return new TreeMap<>();
+        }
+        try {
+            return objectMapper.readValue(index.toFile(), new TypeReference<TreeMap<String, Binaries>>() {
+            });
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable driver cache index {}: {}", index, e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    private static void updateIndex(Consumer<Map<String, Binaries>> update) {
+        Path index = getCacheDir().resolve(INDEX_FILE);
+        try {
+            Files.createDirectories(index.getParent());
+            Map<String, Binaries> entries = readIndex();
+            update.accept(entries);
+            Path temp = Files.createTempFile(index.getParent(), INDEX_FILE, ".tmp");
+            objectMapper.writeValue(temp.toFile(), entries);
+            Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not update driver cache index {}: {}", index, e.getMessage());
+        }
+    }
+
+    // endregion
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getConfigProp("driver.cache.enabled", "false"));
+    }
+
+    public static boolean isOffline() {
+        return Boolean.parseBoolean(ConfigReader.getConfigProp("driver.offline", "false"));
+    }
+
+    private static Path getCacheDir() {
+        return Paths.get(ConfigReader.getConfigProp("driver.cache.dir", ".cache/drivers"));
+    }
+}
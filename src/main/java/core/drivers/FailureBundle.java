@@ -0,0 +1,305 @@
+package core.drivers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import core.config.ConfigReader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Everything the browser can tell about a failed scenario, written as one zip to {@code forensics.dir}: the page
+ * source, URL, title, window handles, browser console log and screenshot, plus a {@code manifest.json} listing what
+ * could not be captured.
+ * <p>
+ * {@link #capture} reads the browser on the scenario thread, with URL, title and DOM fetched in a single script call.
+ * Compressing and writing happen on one background writer, so teardown only waits for the browser. The DOM is cut at
+ * {@code forensics.max.page.kb} in the browser, the console log at {@code forensics.max.console.entries}; when
+ * {@code forensics.queue.size} bundles are already waiting or the run has written {@code forensics.max.total.mb},
+ * further bundles are dropped with a warning instead of holding up the scenario thread.
+ */
+public class FailureBundle {
+    private static final Logger logger = LoggerFactory.getLogger(FailureBundle.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final AtomicLong BYTES_WRITTEN = new AtomicLong();
+    private static final AtomicInteger DROPPED = new AtomicInteger();
+    // URL, title and the DOM, cut to arguments[0] characters before it leaves the browser
+    private static final String SNAPSHOT_SCRIPT =
+            "var d = document.doctype ? new XMLSerializer().serializeToString(document.doctype) + '\\n' : '';" +
+            "var html = d + document.documentElement.outerHTML;" +
+            "return {url: location.href, title: document.title, length: html.length," +
+            " html: html.length > arguments[0] ? html.substring(0, arguments[0]) : html};";
+    private static ThreadPoolExecutor writer;
+
+    private final String scenarioName;
+    private final Instant capturedAt = Instant.now();
+    private final Map<String, String> errors = new LinkedHashMap<>();
+    private String url;
+    private String title;
+    private String currentWindow;
+    private List<String> windowHandles = List.of();
+    private String pageSource;
+    private long pageSourceLength;
+    private final List<String> consoleLog = new ArrayList<>();
+    private boolean consoleLogTruncated;
+    private byte[] screenshot;
+
+    private FailureBundle(String scenarioName) {
+        this.scenarioName = scenarioName;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getConfigProp("forensics.enabled", "false"));
+    }
+
+    public static Path getDir() {
+        return Paths.get(ConfigReader.getConfigProp("forensics.dir", "target/forensics"));
+    }
+
+    /**
+     * Reads the browser state of a failed scenario; parts the driver cannot provide are noted in the manifest
+     *
+     * @param screenshot PNG already taken for the report, or null
+     */
+    public static FailureBundle capture(WebDriver driver, String scenarioName, byte[] screenshot) {
+        FailureBundle bundle = new FailureBundle(scenarioName);
+        bundle.screenshot = screenshot;
+        bundle.capturePage(driver);
+        try {
+            bundle.currentWindow = driver.getWindowHandle();
+            bundle.windowHandles = new ArrayList<>(driver.getWindowHandles());
+        } catch (RuntimeException e) {
+            bundle.errors.put("windows", firstLine(e));
+        }
+        bundle.captureConsoleLog(driver);
+        return bundle;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void capturePage(WebDriver driver) {
+        int maxChars = Integer.parseInt(ConfigReader.getConfigProp("forensics.max.page.kb", "2048")) * 1024;
+        if (driver instanceof JavascriptExecutor) {
+            try {
+                Map<String, Object> page = (Map<String, Object>) ((JavascriptExecutor) driver)
+                        .executeScript(SNAPSHOT_SCRIPT, maxChars);
+                url = String.valueOf(page.get("url"));
+                title = String.valueOf(page.get("title"));
+                pageSource = String.valueOf(page.get("html"));
+                pageSourceLength = ((Number) page.get("length")).longValue();
+                return;
+            } catch (RuntimeException e) {
+                // An open alert or a driver without scripting; fall back to the separate commands
+                logger.debug("Page snapshot script failed, reading the page piecemeal: {}", firstLine(e));
+            }
+        }
+        try {
+            url = driver.getCurrentUrl();
+        } catch (RuntimeException e) {
+            errors.put("url", firstLine(e));
+        }
+        try {
+            title = driver.getTitle();
+        } catch (RuntimeException e) {
+            errors.put("title", firstLine(e));
+        }
+        try {
+            String source = driver.getPageSource();
+            pageSourceLength = source.length();
+            pageSource = source.length() > maxChars ? source.substring(0, maxChars) : source;
+        } catch (RuntimeException e) {
+            errors.put("pageSource", firstLine(e));
+        }
+    }
+
+    private void captureConsoleLog(WebDriver driver) {
+        int maxEntries = Integer.parseInt(ConfigReader.getConfigProp("forensics.max.console.entries", "1000"));
+        try {
+            List<LogEntry> entries = driver.manage().logs().get(LogType.BROWSER).getAll();
+            // The latest entries are the ones closest to the failure
+            int from = Math.max(0, entries.size() - maxEntries);
+            consoleLogTruncated = from > 0;
+            for (LogEntry entry : entries.subList(from, entries.size())) {
+                consoleLog.add(Instant.ofEpochMilli(entry.getTimestamp()) + " " + entry.getLevel() + " "
+                        + entry.getMessage());
+            }
+        } catch (RuntimeException e) {
+            // Firefox and remote sessions without the legacy log endpoint
+            errors.put("consoleLog", firstLine(e));
+        }
+    }
+
+    /**
+     * Queues the bundle for the background writer
+     *
+     * @return the path the zip will be written to, or null when it was dropped
+     */
+    public Path writeAsync() {
+        long maxTotalBytes = Long.parseLong(ConfigReader.getConfigProp("forensics.max.total.mb", "200")) * 1024 * 1024;
+        if (BYTES_WRITTEN.get() >= maxTotalBytes) {
+            return drop("the run already wrote " + BYTES_WRITTEN.get() / (1024 * 1024) + " MB of bundles");
+        }
+        Path path = getDir().resolve(LocalDateTime.now().format(FILE_TIME) + "-" + SEQUENCE.incrementAndGet() + "-"
+                + scenarioName.replaceAll("[^A-Za-z0-9._-]", "_") + ".zip");
+        try {
+            getWriter().execute(() -> write(path));
+        } catch (RejectedExecutionException e) {
+            return drop("the writer queue is full");
+        }
+        return path;
+    }
+
+    private Path drop(String reason) {
+        DROPPED.incrementAndGet();
+        logger.warn("Dropped the failure bundle of '{}': {}", scenarioName, reason);
+        return null;
+    }
+
+    private void write(Path path) {
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), "bundle", ".tmp");
+            try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(temp))) {
+                zip.setLevel(6);
+                addEntry(zip, "manifest.json", objectMapper.writeValueAsBytes(manifest()));
+                if (pageSource != null) {
+                    addEntry(zip, "page.html", pageSource.getBytes(StandardCharsets.UTF_8));
+                }
+                if (!consoleLog.isEmpty()) {
+                    addEntry(zip, "console.log", (String.join(System.lineSeparator(), consoleLog)
+                            + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+                }
+                if (screenshot != null) {
+                    addStoredEntry(zip, "screenshot.png", screenshot);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long size = Files.size(path);
+            BYTES_WRITTEN.addAndGet(size);
+            logger.debug("Wrote failure bundle {} ({} KB) in {} ms", path, size / 1024,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            logger.warn("Could not write failure bundle {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> manifest() {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("scenario", scenarioName);
+        manifest.put("capturedAt", capturedAt.toString());
+        manifest.put("url", url);
+        manifest.put("title", title);
+        manifest.put("currentWindow", currentWindow);
+        manifest.put("windowHandles", windowHandles);
+        manifest.put("pageSourceChars", pageSourceLength);
+        manifest.put("pageSourceTruncated", pageSource != null && pageSource.length() < pageSourceLength);
+        manifest.put("consoleEntries", consoleLog.size());
+        manifest.put("consoleLogTruncated", consoleLogTruncated);
+        manifest.put("errors", errors);
+        return manifest;
+    }
+
+    private static void addEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    // PNGs are compressed already; deflating them again only costs time
+    private static void addStoredEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static String firstLine(RuntimeException e) {
+        String message = String.valueOf(e.getMessage());
+        int end = message.indexOf('\n');
+        return e.getClass().getSimpleName() + ": " + (end < 0 ? message : message.substring(0, end));
+    }
+
+    // region Writer
+
+    private static synchronized ThreadPoolExecutor getWriter() {
+        if (writer == null) {
+            int queueSize = Integer.parseInt(ConfigReader.getConfigProp("forensics.queue.size", "8"));
+            writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "failure-bundle-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return writer;
+    }
+
+    /**
+     * Waits for the queued bundles to be written, up to {@code forensics.timeout.seconds}; call once after all
+     * scenarios have run
+     *
+     * @return true when every queued bundle was written in time
+     */
+    public static synchronized boolean awaitCompletion() {
+        if (writer == null) {
+            return true;
+        }
+        long timeoutSeconds = Long.parseLong(ConfigReader.getConfigProp("forensics.timeout.seconds", "60"));
+        writer.shutdown();
+        boolean finished;
+        try {
+            finished = writer.awaitTermination(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finished = false;
+        }
+        if (!finished) {
+            logger.error("Failure bundles still being written after {} s, abandoning them", timeoutSeconds);
+            writer.shutdownNow();
+        }
+        if (DROPPED.get() > 0) {
+            logger.warn("{} failure bundle(s) were dropped; raise forensics.queue.size or forensics.max.total.mb",
+                    DROPPED.get());
+        }
+        // A later run in the same JVM gets a fresh writer
+        writer = null;
+        DROPPED.set(0);
+        BYTES_WRITTEN.set(0);
+        return finished;
+    }
+
+    // endregion
+}
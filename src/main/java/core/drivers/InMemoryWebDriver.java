@@ -0,0 +1,483 @@
+package core.drivers;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.FormElement;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.Logs;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Browserless {@link WebDriver} backed by jsoup's DOM, selected with {@code browser=inmemory}.
+ * <p>
+ * It loads {@code http(s)} and {@code file} URLs, finds elements with every built-in {@link By} strategy,
+ * and emulates form state and the default click behaviour of checkboxes, radios, options, links and
+ * submit buttons, which is enough to exercise locators and page flows in milliseconds.
+ * <p>
+ * It does not run JavaScript, evaluate stylesheets, compute layout, take screenshots or handle
+ * frames, extra windows and alerts. Those operations throw {@link UnsupportedCommandException}
+ * with a message starting "In-memory driver cannot emulate", rather than silently doing nothing.
+ */
+public class InMemoryWebDriver implements WebDriver, JavascriptExecutor {
+    public static final String BROWSER_NAME = "inmemory";
+    private static final String WINDOW_HANDLE = "inmemory-window";
+
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private final List<Document> history = new ArrayList<>();
+    private int historyIndex = -1;
+    private Document document = Jsoup.parse("", "about:blank");
+    private boolean quit;
+
+    static UnsupportedCommandException unsupported(String operation) {
+        return new UnsupportedCommandException("In-memory driver cannot emulate " + operation);
+    }
+
+    /**
+     * Loads markup directly, without a request, as if it had been served from {@code baseUrl}
+     */
+    public void loadHtml(String html, String baseUrl) {
+        show(Jsoup.parse(html, baseUrl));
+    }
+
+    Document getDocument() {
+        return document;
+    }
+
+    // region Navigation
+
+    @Override
+    public void get(String url) {
+        checkOpen();
+        show(fetch(url));
+    }
+
+    private Document fetch(String url) {
+        try {
+            if (url.startsWith("about:")) {
+                return Jsoup.parse("", url);
+            }
+            if (url.startsWith("file:")) {
+                return Jsoup.parse(new File(URI.create(url)), null, url);
+            }
+            return execute(Jsoup.connect(url).method(Connection.Method.GET));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new WebDriverException("In-memory driver failed to load " + url, e);
+        }
+    }
+
+    void submit(FormElement form, Element submitter) {
+        checkOpen();
+        Connection connection = form.submit();
+        if (submitter != null && submitter.hasAttr("name")) {
+            connection.data(submitter.attr("name"), submitter.val());
+        }
+        try {
+            show(execute(connection));
+        } catch (IOException e) {
+            throw new WebDriverException("In-memory driver failed to submit form to " + form.absUrl("action"), e);
+        }
+    }
+
+    private Document execute(Connection connection) throws IOException {
+        Map<String, String> requestCookies = new LinkedHashMap<>();
+        cookies.values().forEach(cookie -> requestCookies.put(cookie.getName(), cookie.getValue()));
+        Connection.Response response = connection.cookies(requestCookies)
+                .ignoreHttpErrors(true)
+                .followRedirects(true)
+                .execute();
+        String host = response.url().getHost();
+        response.cookies().forEach((name, value) -> cookies.put(name, new Cookie(name, value, host, "/", null)));
+        return response.parse();
+    }
+
+    private void show(Document next) {
+        // A new page drops the forward history, as in a browser
+        while (history.size() > historyIndex + 1) {
+            history.remove(history.size() - 1);
+        }
+        history.add(next);
+        historyIndex = history.size() - 1;
+        document = next;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkOpen();
+        return document.location();
+    }
+
+    @Override
+    public String getTitle() {
+        checkOpen();
+        return document.title();
+    }
+
+    @Override
+    public String getPageSource() {
+        checkOpen();
+        return document.outerHtml();
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new InMemoryNavigation();
+    }
+
+    private class InMemoryNavigation implements Navigation {
+        @Override
+        public void back() {
+            if (historyIndex > 0) {
+                document = history.get(--historyIndex);
+            }
+        }
+
+        @Override
+        public void forward() {
+            if (historyIndex < history.size() - 1) {
+                document = history.get(++historyIndex);
+            }
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            if (historyIndex >= 0) {
+                Document reloaded = fetch(document.location());
+                history.set(historyIndex, reloaded);
+                document = reloaded;
+            }
+        }
+    }
+
+    // endregion
+
+    // region Element lookup
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkOpen();
+        return find(document, by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        checkOpen();
+        return findFirst(document, by);
+    }
+
+    WebElement findFirst(Element root, By by) {
+        List<WebElement> found = find(root, by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + by);
+        }
+        return found.get(0);
+    }
+
+    List<WebElement> find(Element root, By by) {
+        if (!(by instanceof By.Remotable)) {
+            throw unsupported("custom locator " + by);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+
+        Elements matches;
+        switch (parameters.using()) {
+            case "css selector":
+                matches = root.select(value);
+                break;
+            case "xpath":
+                matches = root.selectXpath(value);
+                break;
+            case "id":
+                matches = root.getElementsByAttributeValue("id", value);
+                break;
+            case "name":
+                matches = root.getElementsByAttributeValue("name", value);
+                break;
+            case "class name":
+                matches = root.getElementsByClass(value);
+                break;
+            case "tag name":
+                matches = root.getElementsByTag(value);
+                break;
+            case "link text":
+                matches = root.select("a").stream().filter(a -> a.text().equals(value.trim()))
+                        .collect(Elements::new, Elements::add, Elements::addAll);
+                break;
+            case "partial link text":
+                matches = root.select("a").stream().filter(a -> a.text().contains(value))
+                        .collect(Elements::new, Elements::add, Elements::addAll);
+                break;
+            default:
+                throw unsupported("locator strategy " + parameters.using());
+        }
+
+        List<WebElement> elements = new ArrayList<>(matches.size());
+        for (Element match : matches) {
+            if (match != root) {
+                elements.add(new InMemoryWebElement(this, match));
+            }
+        }
+        return elements;
+    }
+
+    // endregion
+
+    // region JavaScript
+
+    /**
+     * Only the click and scroll snippets {@code PageObject} issues are understood; any other script is reported.
+     */
+    @Override
+    public Object executeScript(String script, Object... args) {
+        checkOpen();
+        String normalized = script.replace(" ", "");
+        if (normalized.startsWith("arguments[0].click()") && args.length > 0 && args[0] instanceof WebElement) {
+            ((WebElement) args[0]).click();
+            return null;
+        }
+        if (normalized.startsWith("arguments[0].scrollIntoView(")) {
+            return null;
+        }
+        throw unsupported("JavaScript: " + script);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        throw unsupported("asynchronous JavaScript: " + script);
+    }
+
+    // endregion
+
+    // region Windows
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+        history.clear();
+        cookies.clear();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        checkOpen();
+        return Collections.singleton(WINDOW_HANDLE);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkOpen();
+        return WINDOW_HANDLE;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return new InMemoryTargetLocator();
+    }
+
+    private class InMemoryTargetLocator implements TargetLocator {
+        @Override
+        public WebDriver frame(int index) {
+            throw unsupported("frames");
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            throw unsupported("frames");
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            throw unsupported("frames");
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            if (!WINDOW_HANDLE.equals(nameOrHandle)) {
+                throw new NoSuchWindowException("In-memory driver has a single window: " + nameOrHandle);
+            }
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            throw unsupported("new windows and tabs");
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            return new InMemoryWebElement(InMemoryWebDriver.this, document.body());
+        }
+
+        @Override
+        public Alert alert() {
+            // Alerts are raised by JavaScript, which never runs here
+            throw new NoAlertPresentException("In-memory driver never shows alerts");
+        }
+    }
+
+    // endregion
+
+    // region Options
+
+    @Override
+    public Options manage() {
+        return new InMemoryOptions();
+    }
+
+    private class InMemoryOptions implements Options, Timeouts, Window {
+        @Override
+        public void addCookie(Cookie cookie) {
+            cookies.put(cookie.getName(), cookie);
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            cookies.remove(name);
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            cookies.remove(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            cookies.clear();
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            return new LinkedHashSet<>(cookies.values());
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            return cookies.get(name);
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return this;
+        }
+
+        @Override
+        public Window window() {
+            return this;
+        }
+
+        @Override
+        public Logs logs() {
+            throw unsupported("browser logs");
+        }
+
+        // Lookups never wait: the DOM only changes through this driver's own commands
+        @Override
+        @Deprecated
+        public Timeouts implicitlyWait(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        @Deprecated
+        public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        @Deprecated
+        public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Dimension getSize() {
+            throw unsupported("layout (window size)");
+        }
+
+        @Override
+        public void setSize(Dimension targetSize) {
+        }
+
+        @Override
+        public Point getPosition() {
+            throw unsupported("layout (window position)");
+        }
+
+        @Override
+        public void setPosition(Point targetPosition) {
+        }
+
+        @Override
+        public void maximize() {
+        }
+
+        @Override
+        public void minimize() {
+        }
+
+        @Override
+        public void fullscreen() {
+        }
+    }
+
+    // endregion
+
+    private void checkOpen() {
+        if (quit) {
+            throw new NoSuchWindowException("In-memory driver has been quit");
+        }
+    }
+}
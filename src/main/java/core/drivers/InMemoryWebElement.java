@@ -0,0 +1,316 @@
+package core.drivers;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.FormElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link WebElement} over a jsoup element owned by an {@link InMemoryWebDriver}.
+ * Form state (values, checked, selected) lives in the element's attributes, so page source
+ * and form submission always reflect what the scenario typed and clicked.
+ */
+public class InMemoryWebElement implements WebElement {
+    private final InMemoryWebDriver driver;
+    private final Element element;
+
+    InMemoryWebElement(InMemoryWebDriver driver, Element element) {
+        this.driver = driver;
+        this.element = element;
+    }
+
+    Element getElement() {
+        return element;
+    }
+
+    // region Interaction
+
+    /**
+     * Emulates the default action of the element: toggling checkboxes and radios, selecting options,
+     * following links and submitting forms. Elements relying on JavaScript handlers cannot be emulated.
+     */
+    @Override
+    public void click() {
+        checkNotStale();
+        String tag = element.normalName();
+        String type = element.attr("type").toLowerCase(Locale.ROOT);
+        if (element.hasAttr("onclick")) {
+            // Running only the default action would hide whatever the handler was meant to do
+            throw InMemoryWebDriver.unsupported("onclick handler on <" + tag + ">");
+        }
+
+        if ("input".equals(tag) && "checkbox".equals(type)) {
+            setChecked(!element.hasAttr("checked"));
+        } else if ("input".equals(tag) && "radio".equals(type)) {
+            FormElement form = enclosingForm();
+            if (form != null) {
+                form.select("input[type=radio][name=" + element.attr("name") + "]").removeAttr("checked");
+            }
+            setChecked(true);
+        } else if ("option".equals(tag)) {
+            Element select = element.closest("select");
+            if (select != null && !select.hasAttr("multiple")) {
+                select.select("option").removeAttr("selected");
+            }
+            element.attr("selected", "selected");
+        } else if ("a".equals(tag) && element.hasAttr("href") && !element.attr("href").startsWith("javascript:")) {
+            driver.get(element.absUrl("href"));
+        } else if (isSubmitButton(tag, type)) {
+            submit();
+        }
+    }
+
+    @Override
+    public void submit() {
+        checkNotStale();
+        FormElement form = "form".equals(element.normalName()) ? (FormElement) element : enclosingForm();
+        if (form == null) {
+            throw InMemoryWebDriver.unsupported("submit() of an element outside a <form>: " + element.cssSelector());
+        }
+        if (form.hasAttr("onsubmit")) {
+            throw InMemoryWebDriver.unsupported("onsubmit handler on <form>");
+        }
+        driver.submit(form, isSubmitButton(element.normalName(), element.attr("type").toLowerCase(Locale.ROOT))
+                ? element : null);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        checkNotStale();
+        StringBuilder value = new StringBuilder(element.val());
+        for (CharSequence keys : keysToSend) {
+            for (int i = 0; i < keys.length(); i++) {
+                char c = keys.charAt(i);
+                if (c == Keys.ENTER.charAt(0) || c == Keys.RETURN.charAt(0)) {
+                    // Enter submits the enclosing form; outside a form a browser ignores it
+                    if (enclosingForm() != null) {
+                        element.val(value.toString());
+                        submit();
+                        return;
+                    }
+                } else if (c == Keys.BACK_SPACE.charAt(0)) {
+                    if (value.length() > 0) {
+                        value.setLength(value.length() - 1);
+                    }
+                } else if (c < '\uE000' || c > '\uF8FF') {
+                    value.append(c); // other special keys live in the private use area and are ignored
+                }
+            }
+        }
+        element.val(value.toString());
+    }
+
+    @Override
+    public void clear() {
+        checkNotStale();
+        element.val("");
+    }
+
+    // endregion
+
+    // region State
+
+    @Override
+    public String getTagName() {
+        checkNotStale();
+        return element.normalName();
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        checkNotStale();
+        return element.hasAttr(name) ? element.attr(name) : null;
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        checkNotStale();
+        switch (name) {
+            case "value":
+                return element.val();
+            case "checked":
+            case "selected":
+                return String.valueOf(isSelected());
+            case "textContent":
+                return element.wholeText();
+            case "innerHTML":
+                return element.html();
+            case "outerHTML":
+                return element.outerHtml();
+            case "href":
+            case "src":
+                return element.absUrl(name);
+            default:
+                return getDomAttribute(name);
+        }
+    }
+
+    /**
+     * Selenium semantics: boolean attributes return "true" or null, value and URLs return the property.
+     */
+    @Override
+    public String getAttribute(String name) {
+        checkNotStale();
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "value":
+            case "href":
+            case "src":
+            case "textcontent":
+            case "innerhtml":
+            case "outerhtml":
+                return getDomProperty(name);
+            case "checked":
+            case "selected":
+            case "disabled":
+            case "readonly":
+            case "required":
+            case "multiple":
+            case "hidden":
+                return element.hasAttr(name) ? "true" : null;
+            default:
+                return getDomAttribute(name);
+        }
+    }
+
+    @Override
+    public boolean isSelected() {
+        checkNotStale();
+        return "option".equals(element.normalName()) ? element.hasAttr("selected") : element.hasAttr("checked");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        checkNotStale();
+        for (Element current = element; current != null; current = current.parent()) {
+            if (current.hasAttr("disabled")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Approximates visibility from markup only: hidden attributes, hidden inputs, non-rendered tags
+     * and inline {@code display:none}/{@code visibility:hidden}. Stylesheets are not evaluated.
+     */
+    @Override
+    public boolean isDisplayed() {
+        checkNotStale();
+        if ("input".equals(element.normalName()) && "hidden".equalsIgnoreCase(element.attr("type"))) {
+            return false;
+        }
+        for (Element current = element; current != null; current = current.parent()) {
+            String tag = current.normalName();
+            if ("head".equals(tag) || "script".equals(tag) || "style".equals(tag) || "template".equals(tag)
+                    || current.hasAttr("hidden")) {
+                return false;
+            }
+            String style = current.attr("style").replace(" ", "").toLowerCase(Locale.ROOT);
+            if (style.contains("display:none") || style.contains("visibility:hidden")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        checkNotStale();
+        return isDisplayed() ? element.text() : "";
+    }
+
+    // endregion
+
+    // region Lookup
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkNotStale();
+        return driver.find(element, by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        checkNotStale();
+        return driver.findFirst(element, by);
+    }
+
+    // endregion
+
+    // region Not emulated
+
+    @Override
+    public Point getLocation() {
+        throw InMemoryWebDriver.unsupported("layout (getLocation)");
+    }
+
+    @Override
+    public Dimension getSize() {
+        throw InMemoryWebDriver.unsupported("layout (getSize)");
+    }
+
+    @Override
+    public Rectangle getRect() {
+        throw InMemoryWebDriver.unsupported("layout (getRect)");
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        throw InMemoryWebDriver.unsupported("computed styles (getCssValue)");
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw InMemoryWebDriver.unsupported("screenshots");
+    }
+
+    // endregion
+
+    private void setChecked(boolean checked) {
+        if (checked) {
+            element.attr("checked", "checked");
+        } else {
+            element.removeAttr("checked");
+        }
+    }
+
+    private FormElement enclosingForm() {
+        Element form = element.closest("form");
+        return form instanceof FormElement ? (FormElement) form : null;
+    }
+
+    private static boolean isSubmitButton(String tag, String type) {
+        return ("button".equals(tag) && (type.isEmpty() || "submit".equals(type)))
+                || ("input".equals(tag) && ("submit".equals(type) || "image".equals(type)));
+    }
+
+    private void checkNotStale() {
+        if (element.ownerDocument() != driver.getDocument()) {
+            throw new StaleElementReferenceException("Element belongs to a previous page: " + element.cssSelector());
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof InMemoryWebElement && ((InMemoryWebElement) other).element == element;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(element);
+    }
+
+    @Override
+    public String toString() {
+        return "[InMemoryWebElement " + element.cssSelector() + "]";
+    }
+}
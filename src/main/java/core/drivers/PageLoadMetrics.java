@@ -0,0 +1,67 @@
+package core.drivers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+
+/**
+ * Reads Navigation and Resource Timing data for the page currently loaded in the browser,
+ * used to compare warm and cold browser cache runs.
+ */
+public class PageLoadMetrics {
+    private static final String SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];" +
+            "var res = performance.getEntriesByType('resource');" +
+            "var out = {url: location.href, navigationMs: nav ? Math.round(nav.duration) : -1," +
+            " transferredBytes: nav ? nav.transferSize : 0, decodedBytes: nav ? nav.decodedBodySize : 0," +
+            " resources: res.length, fromCache: 0};" +
+            "res.forEach(function (r) {" +
+            "  out.transferredBytes += r.transferSize; out.decodedBytes += r.decodedBodySize;" +
+            "  if (r.transferSize === 0 && r.decodedBodySize > 0) { out.fromCache++; }" +
+            "});" +
+            "return out;";
+
+    private final String url;
+    private final long navigationMillis;
+    private final long transferredBytes;
+    private final long decodedBytes;
+    private final long resources;
+    private final long resourcesFromCache;
+
+    private PageLoadMetrics(Map<String, Object> values) {
+        this.url = String.valueOf(values.get("url"));
+        this.navigationMillis = toLong(values.get("navigationMs"));
+        this.transferredBytes = toLong(values.get("transferredBytes"));
+        this.decodedBytes = toLong(values.get("decodedBytes"));
+        this.resources = toLong(values.get("resources"));
+        this.resourcesFromCache = toLong(values.get("fromCache"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static PageLoadMetrics capture(WebDriver driver) {
+        return new PageLoadMetrics((Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    public long getNavigationMillis() {
+        return navigationMillis;
+    }
+
+    public long getTransferredBytes() {
+        return transferredBytes;
+    }
+
+    public long getDecodedBytes() {
+        return decodedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: navigation %d ms, %d KB transferred of %d KB, %d/%d resources from cache",
+                url, navigationMillis, transferredBytes / 1024, decodedBytes / 1024, resourcesFromCache, resources);
+    }
+}
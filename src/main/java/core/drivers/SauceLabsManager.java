@@ -3,6 +3,7 @@ package core.drivers;
 import core.config.ConfigReader;
 import io.cucumber.java.Scenario;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 
 public class SauceLabsManager {
     public void logTestDetails(Scenario scenario) {
@@ -12,10 +13,20 @@ public class SauceLabsManager {
         }
     }
 
+    // Reads the scenario's driver without creating one, so API-only scenarios never launch a browser here
     public void updateTestStatus(Scenario scenario) {
-        if (isSauceLabsExecution()) {
-            String query = "sauce:job-result=" + (scenario.isFailed() ? "failed" : "passed");
-            ((JavascriptExecutor) WebDriverFactory.getDriver()).executeScript(query);
+        if (!isSauceLabsExecution()) {
+            return;
+        }
+        ScenarioContext context = ScenarioContext.current();
+        updateTestStatus(context == null ? null : context.getDriver(), scenario.isFailed());
+    }
+
+    // Takes the driver explicitly so the status can be reported after the driver was handed to the teardown executor
+    public void updateTestStatus(WebDriver driver, boolean failed) {
+        if (driver != null && isSauceLabsExecution()) {
+            String query = "sauce:job-result=" + (failed ? "failed" : "passed");
+            ((JavascriptExecutor) driver).executeScript(query);
         }
     }
 
@@ -0,0 +1,159 @@
+package core.drivers;
+
+import core.network.NetworkProfile;
+import core.util.DateTimeUtil;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Driver, session and test details of the scenario running on the current thread.
+ * <p>
+ * The context is one object bound to the thread for the duration of a scenario, so it works the same on platform and
+ * virtual threads and holds nothing once {@link #end()} has run. Work handed to another thread sees the scenario's
+ * driver when it is wrapped with {@link #wrap(Runnable)} or run through {@link #callWith(ScenarioContext, Callable)}.
+ */
+public class ScenarioContext {
+    private static final ThreadLocal<ScenarioContext> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final Collection<String> tags;
+    private final String executionDateTime;
+    private volatile WebDriver driver;
+    private volatile String sessionId;
+    private volatile Path cacheSlot;
+    private volatile BrowserEvents browserEvents;
+    private volatile NetworkProfile networkProfile;
+
+    private ScenarioContext(String name, Collection<String> tags) {
+        this.name = name;
+        this.tags = tags;
+        this.executionDateTime = DateTimeUtil.getCurrentDateTime("yyyyMMdd_HHmm");
+    }
+
+    /**
+     * Binds a new context to the current thread, replacing the previous scenario's
+     */
+    public static ScenarioContext begin(String name, Collection<String> tags) {
+        ScenarioContext context = new ScenarioContext(name, tags);
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * @return the current thread's context, or null outside a scenario
+     */
+    public static ScenarioContext current() {
+        return CURRENT.get();
+    }
+
+    // Drivers created outside a scenario, e.g. by benchmarks, get an anonymous context
+    static ScenarioContext currentOrCreate() {
+        ScenarioContext context = CURRENT.get();
+        return context != null ? context : begin("unnamed", List.of());
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs {@code task} on the current thread with {@code context} bound, restoring the previous binding afterwards
+     */
+    public static <T> T callWith(ScenarioContext context, Callable<T> task) throws Exception {
+        ScenarioContext previous = CURRENT.get();
+        CURRENT.set(context);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return {@code task} bound to the current thread's context, for running on another thread
+     */
+    public static Runnable wrap(Runnable task) {
+        ScenarioContext context = CURRENT.get();
+        return () -> {
+            try {
+                callWith(context, () -> {
+                    task.run();
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Collection<String> getTags() {
+        return tags;
+    }
+
+    public String getExecutionDateTime() {
+        return executionDateTime;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public BrowserEvents getBrowserEvents() {
+        return browserEvents;
+    }
+
+    /**
+     * @return the network profile applied to the scenario's browser, or null when it runs unthrottled
+     */
+    public NetworkProfile getNetworkProfile() {
+        return networkProfile;
+    }
+
+    Path getCacheSlot() {
+        return cacheSlot;
+    }
+
+    void setDriver(WebDriver driver, String sessionId) {
+        this.driver = driver;
+        this.sessionId = sessionId;
+    }
+
+    void setCacheSlot(Path cacheSlot) {
+        this.cacheSlot = cacheSlot;
+    }
+
+    void setBrowserEvents(BrowserEvents browserEvents) {
+        this.browserEvents = browserEvents;
+    }
+
+    void setNetworkProfile(NetworkProfile networkProfile) {
+        this.networkProfile = networkProfile;
+    }
+
+    // Forgets the driver so the scenario can start a new one while the old one is still quitting
+    void clearDriver() {
+        driver = null;
+        sessionId = null;
+        cacheSlot = null;
+        browserEvents = null;
+        networkProfile = null;
+    }
+}
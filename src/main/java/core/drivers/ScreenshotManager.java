@@ -1,29 +1,70 @@
 package core.drivers;
 
+import core.jfr.ScreenshotEvent;
 import io.cucumber.java.Scenario;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class ScreenshotManager {
-    public void captureAndAttachScreenshot(Scenario scenario) {
-        WebDriver driver = WebDriverFactory.getDriver();
-        if (driver == null) return;
+    private static final Path SCREENSHOT_DIR = Paths.get("target/screenshots");
+
+    /**
+     * @return the attached PNG, or null when the driver cannot take screenshots
+     */
+    public byte[] captureAndAttachScreenshot(Scenario scenario) {
+        // A scenario that never used a browser has nothing to show; don't launch one for the screenshot
+        ScenarioContext context = ScenarioContext.current();
+        WebDriver driver = context == null ? null : context.getDriver();
+        if (driver == null) return null;
+        if (!(driver instanceof TakesScreenshot)) {
+            scenario.log("No screenshot: " + driver.getClass().getSimpleName() + " cannot take screenshots");
+            return null;
+        }
 
         String fileName = scenario.getName() + System.currentTimeMillis() / 1000;
         try {
-            TakesScreenshot screenshotDriver = (TakesScreenshot) driver;
-            File screenshot = screenshotDriver.getScreenshotAs(OutputType.FILE);
-            String path = "target/screenshots/" + fileName + ".png";
-            FileUtils.copyFile(screenshot, new File(path));
-            scenario.attach(Files.readAllBytes(screenshot.toPath()), "image/png", fileName);
+            byte[] screenshot = capture(driver);
+            save(screenshot, fileName);
+            scenario.attach(screenshot, "image/png", fileName);
+            return screenshot;
         } catch (IOException e) {
             throw new RuntimeException("Screenshot failed: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Captures the screenshot in memory, avoiding the driver's temporary file
+     */
+    public byte[] capture(WebDriver driver) {
+        ScreenshotEvent event = new ScreenshotEvent();
+        event.begin();
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        event.action = "capture";
+        event.bytes = png.length;
+        event.commit();
+        return png;
+    }
+
+    /**
+     * Writes a PNG screenshot to the screenshots directory
+     *
+     * @return the path of the written file
+     */
+    public Path save(byte[] png, String fileName) throws IOException {
+        ScreenshotEvent event = new ScreenshotEvent();
+        event.begin();
+        Files.createDirectories(SCREENSHOT_DIR);
+        Path path = Files.write(SCREENSHOT_DIR.resolve(fileName + ".png"), png);
+        event.action = "write";
+        event.bytes = png.length;
+        event.path = path.toString();
+        event.commit();
+        return path;
+    }
+}
@@ -0,0 +1,432 @@
+package core.drivers;
+
+import core.config.ConfigReader;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.bidi.Command;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.browsingcontext.BrowsingContext;
+import org.openqa.selenium.bidi.browsingcontext.CreateContextParameters;
+import org.openqa.selenium.bidi.module.Browser;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs several scenarios in one local browser process, each in its own isolated browsing context
+ * ({@code browser.contexts.per.process} above 1).
+ * <p>
+ * A context has its own cookie jar and storage: a WebDriver BiDi user context when the driver was started with BiDi,
+ * otherwise a CDP browser context on Chromium. The scenario gets a driver that behaves like its own session and
+ * closes the context on {@code quit()}. Commands from different contexts are serialized on the shared session, and
+ * the window is switched before each one, so contexts trade some command throughput for memory. A scenario only sees,
+ * and can only switch to, the windows of its own context.
+ * <p>
+ * The session's implicit wait stays 0. Each context keeps its own, and its element lookups poll for it between
+ * commands, so one missing element never holds up the other contexts for the whole wait.
+ * <p>
+ * Other session-wide state is shared: page load and script timeouts, frame focus across interleaved commands, and
+ * windows opened through
+ * {@code switchTo().newWindow()} (which land in the default context). Scenarios relying on those should keep one
+ * process per scenario. The warm browser cache and network stubs are per process and are not applied in this mode.
+ */
+public class SharedBrowserPool {
+    private static final Logger logger = LoggerFactory.getLogger(SharedBrowserPool.class);
+    private static final List<Host> HOSTS = new ArrayList<>();
+    private static final long IMPLICIT_WAIT_POLL_MILLIS = 100;
+    private static boolean shutdownHookAdded;
+
+    // Prevent instantiation
+    private SharedBrowserPool() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return getContextsPerProcess() > 1;
+    }
+
+    public static int getContextsPerProcess() {
+        return Integer.parseInt(ConfigReader.getConfigProp("browser.contexts.per.process", "1"));
+    }
+
+    /**
+     * Opens an isolated context in a browser process with a free slot, launching a new process when all are full.
+     *
+     * @param launcher starts a browser process; called at most once per process
+     */
+    public static WebDriver lease(String browserName, Supplier<WebDriver> launcher) {
+        Host host;
+        synchronized (HOSTS) {
+            host = HOSTS.stream()
+                    .filter(candidate -> candidate.browserName.equals(browserName) && candidate.leases < getContextsPerProcess())
+                    .findFirst()
+                    .orElse(null);
+            if (host == null) {
+                host = new Host(browserName);
+                HOSTS.add(host);
+                addShutdownHook();
+            }
+            host.leases++;
+        }
+        try {
+            return host.openContext(launcher);
+        } catch (RuntimeException e) {
+            synchronized (HOSTS) {
+                host.leases--;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Quits every shared browser process; open contexts are closed with it
+     */
+    public static void shutdown() {
+        List<Host> hosts;
+        synchronized (HOSTS) {
+            hosts = new ArrayList<>(HOSTS);
+            HOSTS.clear();
+        }
+        for (Host host : hosts) {
+            host.quit();
+        }
+    }
+
+    public static int getProcessCount() {
+        synchronized (HOSTS) {
+            return HOSTS.size();
+        }
+    }
+
+    private static void addShutdownHook() {
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(SharedBrowserPool::shutdown, "shared-browser-shutdown"));
+            shutdownHookAdded = true;
+        }
+    }
+
+    private static void release(Host host) {
+        synchronized (HOSTS) {
+            host.leases--;
+        }
+    }
+
+    // region Browser process
+
+    private static class Host {
+        private final String browserName;
+        private int leases;
+        private WebDriver driver;
+        private String activeHandle;
+
+        private Host(String browserName) {
+            this.browserName = browserName;
+        }
+
+        private synchronized WebDriver openContext(Supplier<WebDriver> launcher) {
+            if (driver == null) {
+                driver = launcher.get();
+                // Lookups would otherwise wait inside the host lock; contexts poll for their own implicit wait
+                driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+                activeHandle = driver.getWindowHandle();
+                logger.info("Started shared {} process for up to {} contexts", browserName, getContextsPerProcess());
+            }
+            Context context = createContext();
+            return (WebDriver) wrap(driver, context);
+        }
+
+        private Context createContext() {
+            if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+                String userContext = new Browser(driver).createUserContext();
+                BrowsingContext tab = new BrowsingContext(driver,
+                        new CreateContextParameters(WindowType.TAB).userContext(userContext));
+                return new Context(this, tab.getId(), () -> userContextWindows(userContext),
+                        () -> new Browser(driver).removeUserContext(userContext));
+            }
+            if (driver instanceof HasCdp) {
+                HasCdp cdp = (HasCdp) driver;
+                String browserContextId = (String) cdp.executeCdpCommand("Target.createBrowserContext",
+                        Collections.singletonMap("disposeOnDetach", false)).get("browserContextId");
+                Map<String, Object> target = cdp.executeCdpCommand("Target.createTarget",
+                        Map.of("url", "about:blank", "browserContextId", browserContextId));
+                return new Context(this, (String) target.get("targetId"), () -> browserContextWindows(browserContextId),
+                        () -> cdp.executeCdpCommand("Target.disposeBrowserContext",
+                                Collections.singletonMap("browserContextId", browserContextId)));
+            }
+            throw new WebDriverFactory.DriverConfigurationException(
+                    browserName + " supports neither BiDi user contexts nor CDP browser contexts", null);
+        }
+
+        // Top-level browsing contexts are the session's window handles; callers hold the host lock
+        @SuppressWarnings("unchecked")
+        private Set<String> userContextWindows(String userContext) {
+            Map<String, Object> tree = ((HasBiDi) driver).getBiDi().send(
+                    new Command<Map<String, Object>>("browsingContext.getTree", Map.of("maxDepth", 0), Map.class));
+            Set<String> handles = new LinkedHashSet<>();
+            for (Map<String, Object> info : (List<Map<String, Object>>) tree.get("contexts")) {
+                if (userContext.equals(info.get("userContext"))) {
+                    handles.add((String) info.get("context"));
+                }
+            }
+            return handles;
+        }
+
+        // Chromium window handles are the page targets' ids; callers hold the host lock
+        @SuppressWarnings("unchecked")
+        private Set<String> browserContextWindows(String browserContextId) {
+            Map<String, Object> targets = ((HasCdp) driver).executeCdpCommand("Target.getTargets", Map.of());
+            Set<String> handles = new LinkedHashSet<>();
+            for (Map<String, Object> info : (List<Map<String, Object>>) targets.get("targetInfos")) {
+                if ("page".equals(info.get("type")) && browserContextId.equals(info.get("browserContextId"))) {
+                    handles.add((String) info.get("targetId"));
+                }
+            }
+            return handles;
+        }
+
+        // Callers hold the host lock
+        private void activate(Context context) {
+            if (!context.handle.equals(activeHandle)) {
+                driver.switchTo().window(context.handle);
+                activeHandle = context.handle;
+            }
+        }
+
+        private synchronized void close(Context context) {
+            if (context.closed || driver == null) {
+                return;
+            }
+            context.closed = true;
+            try {
+                context.dispose.run();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to close {} context {}: {}", browserName, context.handle, e.getMessage());
+            } finally {
+                if (context.handle.equals(activeHandle)) {
+                    activeHandle = null;
+                }
+                release(this);
+            }
+        }
+
+        private synchronized void quit() {
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to quit shared {} process: {}", browserName, e.getMessage());
+                }
+                driver = null;
+            }
+        }
+    }
+
+    private static class Context {
+        private final Host host;
+        private final Supplier<Set<String>> windows;
+        private final Runnable dispose;
+        private String handle;
+        private boolean closed;
+        private Duration implicitWait = Duration.ZERO;
+
+        private Context(Host host, String handle, Supplier<Set<String>> windows, Runnable dispose) {
+            this.host = host;
+            this.handle = handle;
+            this.windows = windows;
+            this.dispose = dispose;
+        }
+    }
+
+    // endregion
+
+    // region Context-bound proxies
+
+    /**
+     * Wraps the shared driver, or anything obtained from it, so every call first switches to the context's window
+     */
+    private static Object wrap(Object target, Context context) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            collectInterfaces(type, interfaces);
+        }
+        return Proxy.newProxyInstance(SharedBrowserPool.class.getClassLoader(), interfaces.toArray(new Class<?>[0]),
+                new ContextHandler(target, context));
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> implemented : type.getInterfaces()) {
+            if (interfaces.add(implemented)) {
+                collectInterfaces(implemented, interfaces);
+            }
+        }
+    }
+
+    private static class ContextHandler implements InvocationHandler {
+        private final Object target;
+        private final Context context;
+
+        private ContextHandler(Object target, Context context) {
+            this.target = target;
+            this.context = context;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                            && Proxy.getInvocationHandler(args[0]) instanceof ContextHandler
+                            && ((ContextHandler) Proxy.getInvocationHandler(args[0])).target.equals(target);
+                case "hashCode":
+                    return target.hashCode();
+                case "toString":
+                    return target + " [context " + context.handle + "]";
+                default:
+                    break;
+            }
+            Host host = context.host;
+            if (target == host.driver && ("quit".equals(method.getName()) || "close".equals(method.getName()))
+                    && method.getParameterCount() == 0) {
+                host.close(context);
+                return null;
+            }
+            if (target instanceof WebDriver.Timeouts) {
+                if ("implicitlyWait".equals(method.getName())) {
+                    context.implicitWait = args.length == 1 ? (Duration) args[0]
+                            : Duration.of((Long) args[0], ((TimeUnit) args[1]).toChronoUnit());
+                    return proxy;
+                }
+                if ("getImplicitWaitTimeout".equals(method.getName())) {
+                    return context.implicitWait;
+                }
+            }
+            if (("findElement".equals(method.getName()) || "findElements".equals(method.getName()))
+                    && !context.implicitWait.isZero()) {
+                return findWithImplicitWait(method, args);
+            }
+            return invokeOnContext(method, args);
+        }
+
+        // Polls without holding the host lock between attempts, the way the browser applies an implicit wait
+        private Object findWithImplicitWait(Method method, Object[] args) throws Throwable {
+            long deadline = System.nanoTime() + context.implicitWait.toNanos();
+            while (true) {
+                try {
+                    Object result = invokeOnContext(method, args);
+                    if (!(result instanceof List) || !((List<?>) result).isEmpty() || System.nanoTime() >= deadline) {
+                        return result;
+                    }
+                } catch (NoSuchElementException e) {
+                    if (System.nanoTime() >= deadline) {
+                        throw e;
+                    }
+                }
+                try {
+                    Thread.sleep(IMPLICIT_WAIT_POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new WebDriverException("Interrupted while waiting for " + Arrays.toString(args), e);
+                }
+            }
+        }
+
+        private Object invokeOnContext(Method method, Object[] args) throws Throwable {
+            Host host = context.host;
+            synchronized (host) {
+                if (context.closed) {
+                    throw new IllegalStateException("Browser context " + context.handle + " was already closed");
+                }
+                // Other scenarios' windows are in the same session; never list or switch to them
+                if (target == host.driver && "getWindowHandles".equals(method.getName())) {
+                    return context.windows.get();
+                }
+                if ("window".equals(method.getName()) && args != null && args.length == 1 && args[0] instanceof String
+                        && !context.windows.get().contains(args[0])) {
+                    throw new NoSuchWindowException("Window " + args[0] + " is not in browser context " + context.handle);
+                }
+                host.activate(context);
+                Object result;
+                try {
+                    result = method.invoke(target, unwrapAll(args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                // The scenario moved to another of its windows
+                if ("window".equals(method.getName()) && args != null && args.length == 1 && args[0] instanceof String) {
+                    context.handle = (String) args[0];
+                    host.activeHandle = context.handle;
+                }
+                return wrapResult(result, method.getReturnType());
+            }
+        }
+
+        private Object wrapResult(Object result, Class<?> returnType) {
+            if (result == null) {
+                return null;
+            }
+            if (result == context.host.driver || result instanceof WebElement) {
+                return wrap(result, context);
+            }
+            if (result instanceof List) {
+                List<Object> wrapped = new ArrayList<>();
+                for (Object item : (List<?>) result) {
+                    wrapped.add(item instanceof WebElement ? wrap(item, context) : item);
+                }
+                return wrapped;
+            }
+            // Options, Navigation, TargetLocator, Timeouts, Window, Alert and the like
+            if (returnType.isInterface() && returnType.getName().startsWith("org.openqa.selenium.")) {
+                return wrap(result, context);
+            }
+            return result;
+        }
+
+        private static Object[] unwrapAll(Object[] args) {
+            if (args == null) {
+                return null;
+            }
+            // Keeps the array type, e.g. CharSequence[] for sendKeys
+            Object[] unwrapped = Arrays.copyOf(args, args.length);
+            for (int i = 0; i < args.length; i++) {
+                unwrapped[i] = args[i] instanceof Object[] ? unwrapAll((Object[]) args[i]) : unwrap(args[i]);
+            }
+            return unwrapped;
+        }
+
+        private static Object unwrap(Object arg) {
+            if (arg != null && Proxy.isProxyClass(arg.getClass())
+                    && Proxy.getInvocationHandler(arg) instanceof ContextHandler) {
+                return ((ContextHandler) Proxy.getInvocationHandler(arg)).target;
+            }
+            if (arg instanceof List) {
+                List<Object> unwrapped = new ArrayList<>();
+                for (Object item : (List<?>) arg) {
+                    unwrapped.add(unwrap(item));
+                }
+                return unwrapped;
+            }
+            return arg;
+        }
+    }
+
+    // endregion
+}
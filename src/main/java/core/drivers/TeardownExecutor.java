@@ -0,0 +1,126 @@
+package core.drivers;
+
+import core.config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs scenario teardown work (job status updates, browser quits) in the background when {@code teardown.async=true},
+ * so the scenario thread can start the next scenario straight away.
+ * <p>
+ * The pool has {@code teardown.threads} threads and a queue of {@code teardown.queue.size} tasks. When the queue is
+ * full, the scenario thread runs the task itself, which keeps the number of browsers still open bounded.
+ * {@link #awaitCompletion()} waits up to {@code teardown.timeout.seconds} for the pending tasks and logs those that
+ * did not finish; it runs from the after-all hook and again on JVM shutdown.
+ */
+public class TeardownExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(TeardownExecutor.class);
+    private static final Map<Long, String> PENDING = new ConcurrentHashMap<>();
+    private static final AtomicLong TASK_IDS = new AtomicLong();
+    private static ThreadPoolExecutor executor;
+    private static boolean shutdownHookAdded;
+
+    // Prevent instantiation
+    private TeardownExecutor() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getConfigProp("teardown.async", "false"));
+    }
+
+    /**
+     * Queues a teardown task; runs it on the calling thread when the queue is full or the executor has shut down
+     */
+    public static void submit(String description, Runnable task) {
+        long id = TASK_IDS.incrementAndGet();
+        PENDING.put(id, description);
+        // Teardown log lines keep the scenario's tags
+        Map<String, String> logContext = MDC.getCopyOfContextMap();
+        Runnable tracked = () -> {
+            long started = System.nanoTime();
+            // Restored afterwards: a full queue runs the task on the scenario thread, whose context must survive
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (logContext != null) {
+                MDC.setContextMap(logContext);
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Teardown task '{}' failed: {}", description, e.getMessage(), e);
+            } finally {
+                PENDING.remove(id);
+                logger.debug("Teardown task '{}' took {} ms", description,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+        getExecutor().execute(tracked);
+    }
+
+    /**
+     * Waits for every queued teardown task, giving up after {@code teardown.timeout.seconds}.
+     *
+     * @return true when all tasks finished in time
+     */
+    public static synchronized boolean awaitCompletion() {
+        if (executor == null) {
+            return true;
+        }
+        long timeoutSeconds = Long.parseLong(ConfigReader.getConfigProp("teardown.timeout.seconds", "120"));
+        executor.shutdown();
+        boolean finished;
+        try {
+            finished = executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finished = false;
+        }
+        if (!finished) {
+            logger.error("{} teardown task(s) did not finish within {} s: {}", PENDING.size(), timeoutSeconds, PENDING.values());
+            executor.shutdownNow();
+        }
+        // A later run in the same JVM gets a fresh pool
+        executor = null;
+        PENDING.clear();
+        return finished;
+    }
+
+    public static int getPendingCount() {
+        return PENDING.size();
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int threads = Integer.parseInt(ConfigReader.getConfigProp("teardown.threads", "4"));
+            int queueSize = Integer.parseInt(ConfigReader.getConfigProp("teardown.queue.size", "32"));
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "teardown-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, pool) -> runnable.run());
+            if (!shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(new Thread(TeardownExecutor::awaitCompletion, "teardown-shutdown"));
+                shutdownHookAdded = true;
+            }
+        }
+        return executor;
+    }
+}
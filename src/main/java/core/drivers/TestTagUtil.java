@@ -7,5 +7,13 @@ public class TestTagUtil {
         return scenario.getSourceTagNames().stream().filter(tag -> tag.startsWith("@tc_")).findFirst().orElse("");
     }
 
+    /**
+     * Returns the role from an {@code @auth_<role>} tag, or an empty string when there is none
+     */
+    public static String extractAuthRole(Scenario scenario) {
+        return scenario.getSourceTagNames().stream().filter(tag -> tag.startsWith("@auth_"))
+                .map(tag -> tag.substring("@auth_".length())).findFirst().orElse("");
+    }
+
     // Add other tag-related utility methods here
 }
\ No newline at end of file
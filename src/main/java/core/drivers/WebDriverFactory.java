@@ -1,30 +1,48 @@
 package core.drivers;
 
 import core.config.ConfigReader;
+import core.jfr.DriverSessionEvent;
+import core.network.NetworkEmulation;
+import core.network.NetworkProfile;
+import core.network.NetworkStubManager;
+import core.network.NetworkStubProxy;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.CapabilityType;
 import org.openqa.selenium.remote.LocalFileDetector;
 import org.openqa.selenium.remote.RemoteWebDriver;
-import core.util.DateTimeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 
 public class WebDriverFactory {
-    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
-    private static final ThreadLocal<String> SESSION_ID = new ThreadLocal<>();
-    private static final ThreadLocal<TestContext> TEST_CONTEXT = new ThreadLocal<>();
+    private static final Map<String, Supplier<WebDriver>> CUSTOM_BROWSERS = new ConcurrentHashMap<>();
     private static final Logger logger = LoggerFactory.getLogger(WebDriverFactory.class);
 
 
@@ -33,19 +51,6 @@ public class WebDriverFactory {
         throw new IllegalStateException("Utility class");
     }
 
-    // Context class to hold test-related data
-    private static class TestContext {
-        private final String name;
-        private final Collection<String> tags;
-        private final String executionDateTime;
-
-        public TestContext(String name, Collection<String> tags) {
-            this.name = name;
-            this.tags = tags;
-            this.executionDateTime = DateTimeUtil.getCurrentDateTime("yyyyMMdd_HHmm");
-        }
-    }
-
     // Browser configuration class
     private static class BrowserConfig {
         private final String browserName;
@@ -54,6 +59,7 @@ public class WebDriverFactory {
         private final boolean isBrowserResize;
         private final Dimension browserDimension;
         private final String chromeVersion;
+        private final NetworkProfile networkProfile;
         private final Map<String, Object> additionalCapabilities;
 
         private BrowserConfig(Builder builder) {
@@ -63,6 +69,7 @@ public class WebDriverFactory {
             this.isBrowserResize = builder.isBrowserResize;
             this.browserDimension = builder.browserDimension;
             this.chromeVersion = builder.chromeVersion;
+            this.networkProfile = builder.networkProfile;
             this.additionalCapabilities = builder.additionalCapabilities;
         }
 
@@ -73,6 +80,7 @@ public class WebDriverFactory {
             private boolean isBrowserResize;
             private Dimension browserDimension;
             private String chromeVersion;
+            private NetworkProfile networkProfile;
             private final Map<String, Object> additionalCapabilities = new HashMap<>();
 
             public Builder(String browserName) {
@@ -96,6 +104,11 @@ public class WebDriverFactory {
                 return this;
             }
 
+            public Builder withNetworkProfile(NetworkProfile profile) {
+                this.networkProfile = profile;
+                return this;
+            }
+
             public Builder withCapability(String key, Object value) {
                 this.additionalCapabilities.put(key, value);
                 return this;
@@ -120,7 +133,7 @@ public class WebDriverFactory {
         private SauceLabsConfig() {
             this.username = ConfigReader.getConfigProp("sauce.username");
             this.accessKey = ConfigReader.getConfigProp("sauce.access.key");
-            this.buildName = ConfigReader.getConfigProp("buildName").toUpperCase() + "_" + TEST_CONTEXT.get().executionDateTime;
+            this.buildName = ConfigReader.getConfigProp("buildName").toUpperCase() + "_" + ScenarioContext.currentOrCreate().getExecutionDateTime();
             this.extendedDebugging = Boolean.parseBoolean(ConfigReader.getConfigProp("extendedDebugging"));
             this.teamName = ConfigReader.getConfigProp("sauce.team.name");
             this.tunnelName = ConfigReader.getConfigProp("sauce.tunnel.name");
@@ -130,14 +143,14 @@ public class WebDriverFactory {
         public Map<String, Object> toCapabilities() {
             Map<String, Object> sauceOptions = new HashMap<>();
             sauceOptions.put("build", buildName);
-            sauceOptions.put("name", TEST_CONTEXT.get().name);
+            sauceOptions.put("name", ScenarioContext.currentOrCreate().getName());
             sauceOptions.put("screenResolution", "1920x1080");
             sauceOptions.put("extendedDebugging", extendedDebugging);
             sauceOptions.put("capturePerformance", extendedDebugging);
             sauceOptions.put("public", teamName);
             sauceOptions.put("tunnelName", tunnelName);
             sauceOptions.put("tunnelOwner", tunnelOwner);
-            sauceOptions.put("tags", TEST_CONTEXT.get().tags.toArray());
+            sauceOptions.put("tags", ScenarioContext.currentOrCreate().getTags().toArray());
             return sauceOptions;
         }
 
@@ -158,15 +171,30 @@ public class WebDriverFactory {
     }
 
     public static void createDriver() {
-        if (DRIVER.get() != null) {
+        ScenarioContext context = ScenarioContext.currentOrCreate();
+        if (context.getDriver() != null) {
             return;
         }
-        BrowserConfig browserConfig = loadBrowserConfig();
-        WebDriver driver = createWebDriver(browserConfig);
-        DRIVER.set(driver);
-
-        if (driver instanceof RemoteWebDriver) {
-            SESSION_ID.set(((RemoteWebDriver) driver).getSessionId().toString());
+        BrowserConfig browserConfig = loadBrowserConfig(context.getTags());
+        DriverSessionEvent event = new DriverSessionEvent();
+        event.begin();
+        WebDriver driver;
+        try {
+            driver = createWebDriver(browserConfig);
+        } catch (RuntimeException e) {
+            commitSessionEvent(event, "create", browserConfig.browserName, null, false);
+            throw e;
+        }
+        String sessionId = driver instanceof RemoteWebDriver
+                ? ((RemoteWebDriver) driver).getSessionId().toString() : null;
+        context.setDriver(driver, sessionId);
+        commitSessionEvent(event, "create", browserConfig.browserName, sessionId, true);
+        // Contexts of a shared process would see each other's windows in the session-wide events
+        if (!SharedBrowserPool.isEnabled() || isRemote()) {
+            context.setBrowserEvents(BrowserEvents.attach(driver));
+        }
+        if (browserConfig.networkProfile != null && NetworkEmulation.apply(driver, browserConfig.networkProfile)) {
+            context.setNetworkProfile(browserConfig.networkProfile);
         }
 
         if (browserConfig.isBrowserResize) {
@@ -174,7 +202,7 @@ public class WebDriverFactory {
         }
     }
 
-    private static BrowserConfig loadBrowserConfig() {
+    private static BrowserConfig loadBrowserConfig(Collection<String> tags) {
         BrowserConfig.Builder builder = new BrowserConfig.Builder(ConfigReader.getConfigProp("browser"));
 
         if (Boolean.parseBoolean(ConfigReader.getConfigProp("isMobileEmulation"))) {
@@ -193,27 +221,61 @@ public class WebDriverFactory {
             builder.withChromeVersion(chromeVersion);
         }
 
+        NetworkProfile networkProfile = NetworkProfile.forScenario(tags);
+        if (networkProfile != null) {
+            builder.withNetworkProfile(networkProfile);
+        }
+
         return builder.build();
     }
 
+    private static boolean isRemote() {
+        return ConfigReader.getConfigProp("runAt").equalsIgnoreCase("saucelabs");
+    }
+
     private static WebDriver createWebDriver(BrowserConfig config) {
-        boolean isRemote = ConfigReader.getConfigProp("runAt").equalsIgnoreCase("saucelabs");
+        boolean isRemote = isRemote();
 
         switch (config.browserName.toLowerCase()) {
             case "chrome":
-                return createChromeDriver(config, isRemote);
+                return launch(config, isRemote, () -> createChromeDriver(config, isRemote));
             case "edge":
-                return createEdgeDriver(config, isRemote);
+                return launch(config, isRemote, () -> createEdgeDriver(config, isRemote));
             case "firefox":
-                return createFirefoxDriver(config);
+                return launch(config, isRemote, () -> createFirefoxDriver(config, isRemote));
+            case InMemoryWebDriver.BROWSER_NAME:
+                return new InMemoryWebDriver();
             default:
+                Supplier<WebDriver> custom = CUSTOM_BROWSERS.get(config.browserName.toLowerCase());
+                if (custom != null) {
+                    return custom.get();
+                }
                 throw new DriverConfigurationException("Unsupported browser: " + config.browserName, null);
         }
     }
 
+    // Hands out a context in a shared local browser process when browser.contexts.per.process is above 1
+    private static WebDriver launch(BrowserConfig config, boolean isRemote, Supplier<WebDriver> launcher) {
+        if (isRemote || !SharedBrowserPool.isEnabled()) {
+            return launcher.get();
+        }
+        return SharedBrowserPool.lease(config.browserName.toLowerCase(), launcher);
+    }
+
+    private static boolean isSharedProcess(boolean isRemote) {
+        return !isRemote && SharedBrowserPool.isEnabled();
+    }
+
     private static WebDriver createChromeDriver(BrowserConfig config, boolean isRemote) {
         ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-cache", "--disable-application-cache", "--remote-allow-origins=*");
+        options.addArguments("--remote-allow-origins=*");
+        if (BrowserProfilePool.isWarmCacheEnabled() && !isRemote && !SharedBrowserPool.isEnabled()) {
+            Path slot = BrowserProfilePool.lease();
+            ScenarioContext.currentOrCreate().setCacheSlot(slot);
+            BrowserProfilePool.applyTo(options, slot);
+        } else {
+            options.addArguments("--disable-cache", "--disable-application-cache");
+        }
 
         if (config.chromeVersion != null) {
             options.setBrowserVersion(config.chromeVersion);
@@ -225,24 +287,108 @@ public class WebDriverFactory {
             options.setExperimentalOption("mobileEmulation", mobileEmulation);
         }
 
+        applyNetworkStub(options, isRemote);
+        enableBiDi(options, isRemote);
+        enableConsoleLog(options, ChromeOptions.LOGGING_PREFS);
         if (isRemote) {
             return createRemoteDriver(options);
         }
-        return new ChromeDriver(options);
+        return startLocal("chrome", config.chromeVersion, () -> new ChromeDriver(options), binaries -> {
+            if (binaries.browserPath != null) {
+                options.setBinary(binaries.browserPath);
+            }
+            return new ChromeDriver(new ChromeDriverService.Builder()
+                    .usingDriverExecutable(new File(binaries.driverPath)).build(), options);
+        });
     }
 
     private static WebDriver createEdgeDriver(BrowserConfig config, boolean isRemote) {
         EdgeOptions options = new EdgeOptions();
+        applyNetworkStub(options, isRemote);
+        enableBiDi(options, isRemote);
+        enableConsoleLog(options, EdgeOptions.LOGGING_PREFS);
         if (isRemote) {
             options.setPlatformName("Windows 10");
             options.setBrowserVersion("latest");
             return createRemoteDriver(options);
         }
-        return new EdgeDriver(options);
+        return startLocal("edge", null, () -> new EdgeDriver(options), binaries -> {
+            if (binaries.browserPath != null) {
+                options.setBinary(binaries.browserPath);
+            }
+            return new EdgeDriver(new EdgeDriverService.Builder()
+                    .usingDriverExecutable(new File(binaries.driverPath)).build(), options);
+        });
+    }
+
+    private static WebDriver createFirefoxDriver(BrowserConfig config, boolean isRemote) {
+        FirefoxOptions options = new FirefoxOptions();
+        applyNetworkStub(options, isRemote);
+        enableBiDi(options, isRemote);
+        return startLocal("firefox", null, () -> new FirefoxDriver(options), binaries -> {
+            if (binaries.browserPath != null) {
+                options.setBinary(binaries.browserPath);
+            }
+            return new FirefoxDriver(new GeckoDriverService.Builder()
+                    .usingDriverExecutable(new File(binaries.driverPath)).build(), options);
+        });
+    }
+
+    // Without the binary cache Selenium resolves the driver itself, running Selenium Manager for every session
+    private static WebDriver startLocal(String browser, String browserVersion, Supplier<WebDriver> unmanaged,
+                                        Function<DriverBinaryCache.Binaries, WebDriver> managed) {
+        if (!DriverBinaryCache.isEnabled()) {
+            return unmanaged.get();
+        }
+        DriverBinaryCache.Binaries binaries = DriverBinaryCache.resolve(browser, browserVersion);
+        try {
+            return managed.apply(binaries);
+        } catch (SessionNotCreatedException e) {
+            // The cached driver may no longer match a browser that auto-updated; retry once with fresh binaries
+            if (!DriverBinaryCache.evict(browser, browserVersion, binaries)) {
+                throw e;
+            }
+            return managed.apply(DriverBinaryCache.resolve(browser, browserVersion));
+        }
+    }
+
+    // Routes the browser through the scenario's record/replay stub when one is running
+    private static void applyNetworkStub(MutableCapabilities options, boolean isRemote) {
+        NetworkStubProxy stub = NetworkStubManager.getCurrentProxy();
+        if (stub == null) {
+            return;
+        }
+        if (isRemote) {
+            logger.warn("Network stub on {} is not reachable from remote browsers, ignoring it", stub.getAddress());
+            return;
+        }
+        if (isSharedProcess(isRemote)) {
+            logger.warn("Network stub on {} would apply to every context of a shared browser, ignoring it", stub.getAddress());
+            return;
+        }
+        Proxy proxy = new Proxy();
+        proxy.setHttpProxy(stub.getAddress());
+        proxy.setSslProxy(stub.getAddress());
+        options.setCapability(CapabilityType.PROXY, proxy);
+        // The stub terminates TLS with its own self-signed certificate
+        options.setCapability(CapabilityType.ACCEPT_INSECURE_CERTS, true);
     }
 
-    private static WebDriver createFirefoxDriver(BrowserConfig config) {
-        return new FirefoxDriver();
+    // Shared processes isolate scenarios with BiDi user contexts and page objects wait on BiDi events; both need the
+    // BiDi connection. Remote endpoints without BiDi ignore the capability.
+    private static void enableBiDi(MutableCapabilities options, boolean isRemote) {
+        if (isSharedProcess(isRemote) || BrowserEvents.isEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+    }
+
+    // Chromium keeps console messages from forensics.console.level up for the failure bundle to read
+    private static void enableConsoleLog(MutableCapabilities options, String capability) {
+        if (FailureBundle.isEnabled()) {
+            LoggingPreferences preferences = new LoggingPreferences();
+            preferences.enable(LogType.BROWSER, Level.parse(ConfigReader.getConfigProp("forensics.console.level", "ALL")));
+            options.setCapability(capability, preferences);
+        }
     }
 
     private static WebDriver createRemoteDriver(MutableCapabilities options) {
@@ -256,31 +402,125 @@ public class WebDriverFactory {
 
     // Cleanup method
     public static void quitDriver() {
-        WebDriver currentDriver = DRIVER.get();
-        try {
-            if (currentDriver != null) {
-                currentDriver.quit();
+        detachDriver().quit();
+    }
+
+    /**
+     * Detaches the scenario's driver and quits it on the {@link TeardownExecutor}, so the thread is free for the next
+     * scenario. {@code beforeQuit} runs first on the same background thread, e.g. to report the job status.
+     */
+    public static void quitDriverAsync(Consumer<WebDriver> beforeQuit) {
+        DetachedSession session = detachDriver();
+        if (session.driver == null) {
+            session.quit();
+            return;
+        }
+        TeardownExecutor.submit("quit " + session.browser + " session " + session.sessionId, () -> {
+            try {
+                beforeQuit.accept(session.driver);
+            } finally {
+                session.quit();
             }
-        } catch (Exception e) {
-           e.printStackTrace();
-        } finally {
-            DRIVER.remove();
-            SESSION_ID.remove();
-            TEST_CONTEXT.remove();
+        });
+    }
+
+    // Clears the scenario's driver state so the thread can create a new driver while this one is still quitting
+    private static DetachedSession detachDriver() {
+        String browser = ConfigReader.getConfigProp("browser");
+        ScenarioContext context = ScenarioContext.current();
+        if (context == null) {
+            return new DetachedSession(null, null, null, null, browser);
+        }
+        DetachedSession session = new DetachedSession(context.getDriver(), context.getSessionId(),
+                context.getCacheSlot(), context.getBrowserEvents(), browser);
+        context.clearDriver();
+        return session;
+    }
+
+    private static class DetachedSession {
+        private final WebDriver driver;
+        private final String sessionId;
+        private final Path cacheSlot;
+        private final BrowserEvents events;
+        private final String browser;
+
+        private DetachedSession(WebDriver driver, String sessionId, Path cacheSlot, BrowserEvents events, String browser) {
+            this.driver = driver;
+            this.sessionId = sessionId;
+            this.cacheSlot = cacheSlot;
+            this.events = events;
+            this.browser = browser;
+        }
+
+        private void quit() {
+            if (events != null) {
+                events.close();
+            }
+            DriverSessionEvent event = new DriverSessionEvent();
+            event.begin();
+            boolean succeeded = false;
+            try {
+                if (driver != null) {
+                    driver.quit();
+                    succeeded = true;
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to quit {} session {}: {}", browser, sessionId, e.getMessage(), e);
+            } finally {
+                if (driver != null) {
+                    commitSessionEvent(event, "quit", browser, sessionId, succeeded);
+                }
+                // The cache slot is only free for another browser once this one has exited
+                if (cacheSlot != null) {
+                    BrowserProfilePool.release(cacheSlot);
+                }
+            }
+        }
+    }
+
+    private static void commitSessionEvent(DriverSessionEvent event, String action, String browser, String sessionId,
+                                           boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.browser = browser;
+            event.remote = ConfigReader.getConfigProp("runAt").equalsIgnoreCase("saucelabs");
+            event.sessionId = sessionId;
+            event.succeeded = succeeded;
+            event.commit();
         }
     }
 
     // Getter methods
     public static WebDriver getDriver() {
         createDriver();
-        return DRIVER.get();
+        return ScenarioContext.current().getDriver();
     }
 
     public static String getSessionId() {
-        return SESSION_ID.get();
+        ScenarioContext context = ScenarioContext.current();
+        return context == null ? null : context.getSessionId();
+    }
+
+    /**
+     * Window and prompt events of the scenario's driver, or null when they are unavailable and callers should poll
+     */
+    public static BrowserEvents getBrowserEvents() {
+        ScenarioContext context = ScenarioContext.current();
+        return context == null ? null : context.getBrowserEvents();
+    }
+
+    /**
+     * Registers a driver supplier selectable through the {@code browser} property, e.g. an instrumented driver in benchmarks
+     */
+    public static void registerBrowser(String browserName, Supplier<WebDriver> supplier) {
+        CUSTOM_BROWSERS.put(browserName.toLowerCase(), supplier);
     }
 
+    /**
+     * Starts the {@link ScenarioContext} that the next driver of this thread belongs to
+     */
     public static void setTestContext(String name, Collection<String> tags) {
-        TEST_CONTEXT.set(new TestContext(name, tags));
+        ScenarioContext.begin(name, tags);
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package core.drivers;
 import org.openqa.selenium.WebDriver;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 public class WebDriverManager {
     public void initializeDriver(String testName, Collection<String> tags) {
@@ -21,4 +22,8 @@ public class WebDriverManager {
     public void quitDriver() {
         WebDriverFactory.quitDriver();
     }
+
+    public void quitDriverAsync(Consumer<WebDriver> beforeQuit) {
+        WebDriverFactory.quitDriverAsync(beforeQuit);
+    }
 }
\ No newline at end of file
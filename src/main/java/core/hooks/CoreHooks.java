@@ -1,34 +1,181 @@
 package core.hooks;
 
+import core.api.ApiMetrics;
+import core.api.ApiResponseCache;
+import core.auth.AuthSessionManager;
+import core.config.ConfigReader;
+import core.drivers.BrowserProfilePool;
+import core.drivers.FailureBundle;
+import core.drivers.PageLoadMetrics;
 import core.drivers.SauceLabsManager;
+import core.drivers.ScenarioContext;
 import core.drivers.ScreenshotManager;
+import core.drivers.SharedBrowserPool;
+import core.drivers.TeardownExecutor;
+import core.drivers.TestTagUtil;
 import core.drivers.WebDriverManager;
+import core.jfr.FrameworkRecording;
+import core.logging.ScenarioLog;
+import core.network.NetworkEmulation;
+import core.network.NetworkProfile;
+import core.network.NetworkStubManager;
+import core.runner.WarmRunner;
 import io.cucumber.java.Scenario;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public abstract class CoreHooks {
     protected final ScreenshotManager screenshotManager;
     protected final WebDriverManager webDriverManager;
     protected final SauceLabsManager sauceLabsManager;  // Renamed from testExecutionManager
+    protected final AuthSessionManager authSessionManager;
+    protected final NetworkStubManager networkStubManager;
 
     protected CoreHooks() {
         this.screenshotManager = new ScreenshotManager();
         this.webDriverManager = new WebDriverManager();
         this.sauceLabsManager = new SauceLabsManager();
+        this.authSessionManager = new AuthSessionManager();
+        this.networkStubManager = new NetworkStubManager();
     }
 
     protected void beforeScenario(Scenario scenario) {
+        ScenarioLog.start(scenario.getName(), TestTagUtil.extractTestCaseTag(scenario));
+        ApiMetrics.start();
+        FrameworkRecording.startIfEnabled();
+        FrameworkRecording.scenarioStarted(scenario);
+        networkStubManager.startForScenario(scenario);
         webDriverManager.initializeDriver(scenario.getName(), scenario.getSourceTagNames());
+        ScenarioLog.setSessionId(webDriverManager.getSessionId());
         sauceLabsManager.logTestDetails(scenario);
+        authSessionManager.applySession(scenario);
+    }
+
+    /**
+     * Starts an API-only scenario; scenarios tagged {@code @ui} as well are started by {@link #beforeScenario}
+     */
+    protected void beforeApiScenario(Scenario scenario) {
+        ApiMetrics.start();
+        if (!scenario.getSourceTagNames().contains("@ui")) {
+            ScenarioLog.start(scenario.getName(), TestTagUtil.extractTestCaseTag(scenario));
+        }
     }
 
     protected void afterScenario(Scenario scenario) {
         try {
             if (scenario.isFailed()) {
-                screenshotManager.captureAndAttachScreenshot(scenario);
+                attachFailureBundle(scenario, screenshotManager.captureAndAttachScreenshot(scenario));
             }
+            logPageLoadMetrics(scenario);
+            recordNetworkProfileLoad(scenario);
+        } finally {
+            try {
+                endSession(scenario);
+            } finally {
+                networkStubManager.stop();
+                FrameworkRecording.scenarioFinished(scenario);
+                attachApiLatencies(scenario);
+                attachScenarioLog(scenario);
+                ScenarioContext.end();
+            }
+        }
+    }
+
+    /**
+     * Waits for the background teardown of the last scenarios and quits shared browser processes; call once after all
+     * scenarios have run
+     */
+    protected static void afterAllScenarios() {
+        TeardownExecutor.awaitCompletion();
+        FailureBundle.awaitCompletion();
+        // A warm runner keeps its browser process for the next run
+        if (!WarmRunner.isActive()) {
+            SharedBrowserPool.shutdown();
+        }
+        ApiResponseCache.logSummary();
+        NetworkEmulation.logSummary();
+    }
+
+    // Reports the job status and quits the browser, in the background when teardown.async is on
+    private void endSession(Scenario scenario) {
+        if (TeardownExecutor.isEnabled()) {
+            boolean failed = scenario.isFailed();
+            webDriverManager.quitDriverAsync(driver -> sauceLabsManager.updateTestStatus(driver, failed));
+            return;
+        }
+        try {
             sauceLabsManager.updateTestStatus(scenario);
         } finally {
             webDriverManager.quitDriver();
         }
     }
-}
\ No newline at end of file
+
+    // Lists the latency of every request sent through ApiClient during the scenario
+    private void attachApiLatencies(Scenario scenario) {
+        String latencies = ApiMetrics.finish();
+        if (latencies != null) {
+            scenario.attach(latencies.getBytes(StandardCharsets.UTF_8), "text/plain", "API latencies");
+        }
+    }
+
+    // Failed scenarios get their buffered log in the report; passing ones only log a summary line
+    private void attachScenarioLog(Scenario scenario) {
+        String log = ScenarioLog.finish(scenario.getStatus().name(), scenario.isFailed());
+        if (log != null && !log.isEmpty()) {
+            scenario.attach(log.getBytes(StandardCharsets.UTF_8), "text/plain", "Scenario log");
+        }
+    }
+
+    // Captures the failed page for the background writer and links the bundle it will write from the report
+    private void attachFailureBundle(Scenario scenario, byte[] screenshot) {
+        ScenarioContext context = ScenarioContext.current();
+        if (!FailureBundle.isEnabled() || context == null || context.getDriver() == null) {
+            return;
+        }
+        Path bundle = FailureBundle.capture(context.getDriver(), scenario.getName(), screenshot).writeAsync();
+        if (bundle == null) {
+            scenario.log("Failure bundle dropped, see the run log");
+            return;
+        }
+        // Relative to the HTML report, so the link survives moving the target directory
+        Path reportDir = Paths.get(ConfigReader.getConfigProp("cucumber.report.path",
+                "target/cucumber-reports/cucumber.html")).toAbsolutePath().getParent();
+        String link = reportDir.relativize(bundle.toAbsolutePath()).toString().replace('\\', '/');
+        scenario.attach(link, "text/uri-list", "Failure bundle");
+    }
+
+    // Reports what the final page cost to load so warm and cold cache runs can be compared
+    private void logPageLoadMetrics(Scenario scenario) {
+        ScenarioContext context = ScenarioContext.current();
+        if (!Boolean.parseBoolean(ConfigReader.getConfigProp("browser.cache.metrics", "false"))
+                || context == null || context.getDriver() == null) {
+            return;
+        }
+        try {
+            String cacheMode = BrowserProfilePool.isWarmCacheEnabled() ? "warm" : "cold";
+            scenario.log("Page load (" + cacheMode + " cache) " + PageLoadMetrics.capture(context.getDriver()));
+        } catch (RuntimeException e) {
+            scenario.log("Page load metrics unavailable: " + e.getMessage());
+        }
+    }
+
+    // Adds the final page's load time to the percentiles of the scenario's network profile
+    private void recordNetworkProfileLoad(Scenario scenario) {
+        ScenarioContext context = ScenarioContext.current();
+        NetworkProfile profile = context == null ? null : context.getNetworkProfile();
+        if (profile == null || context.getDriver() == null) {
+            return;
+        }
+        try {
+            PageLoadMetrics metrics = PageLoadMetrics.capture(context.getDriver());
+            if (metrics.getNavigationMillis() >= 0) {
+                NetworkEmulation.recordPageLoad(profile.getName(), metrics.getNavigationMillis());
+            }
+            scenario.log("Page load (network profile " + profile + ") " + metrics);
+        } catch (RuntimeException e) {
+            scenario.log("Page load metrics unavailable: " + e.getMessage());
+        }
+    }
+}
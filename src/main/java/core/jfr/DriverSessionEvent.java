@@ -0,0 +1,30 @@
+package core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A browser session being created or quit by {@code WebDriverFactory}; the event duration is the time it took.
+ */
+@Name("core.DriverSession")
+@Label("Driver Session")
+@Category({"Test Framework", "Driver"})
+@Description("WebDriver session created or quit")
+public class DriverSessionEvent extends jdk.jfr.Event {
+    @Label("Action")
+    public String action;
+
+    @Label("Browser")
+    public String browser;
+
+    @Label("Remote")
+    public boolean remote;
+
+    @Label("Session Id")
+    public String sessionId;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,95 @@
+package core.jfr;
+
+import core.config.ConfigReader;
+import core.drivers.TestTagUtil;
+import core.util.DateTimeUtil;
+import io.cucumber.java.Scenario;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+/**
+ * Starts one Java Flight Recorder recording for the whole suite when {@code jfr.enabled=true}, and emits the
+ * scenario events framework activity is correlated with.
+ * <p>
+ * The recording uses the JDK's {@code jfr.settings} configuration ("default" or "profile") and is written to
+ * {@code jfr.dir} when the JVM exits. The framework events are cheap when no recording is running, so the
+ * instrumentation stays in place either way.
+ */
+public class FrameworkRecording {
+    private static final Logger logger = LoggerFactory.getLogger(FrameworkRecording.class);
+    private static final ThreadLocal<ScenarioEndEvent> CURRENT_SCENARIO = new ThreadLocal<>();
+    private static volatile Recording recording;
+
+    // Prevent instantiation
+    private FrameworkRecording() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getConfigProp("jfr.enabled", "false"));
+    }
+
+    /**
+     * Starts the suite recording on first call when enabled; later calls do nothing.
+     */
+    public static void startIfEnabled() {
+        if (recording != null || !isEnabled()) {
+            return;
+        }
+        synchronized (FrameworkRecording.class) {
+            if (recording != null) {
+                return;
+            }
+            String settings = ConfigReader.getConfigProp("jfr.settings", "default");
+            Path destination = Paths.get(ConfigReader.getConfigProp("jfr.dir", "target/jfr"))
+                    .resolve("suite_" + DateTimeUtil.getCurrentDateTime("yyyyMMdd-HHmmss") + ".jfr");
+            try {
+                Files.createDirectories(destination.getParent());
+                Recording started = new Recording(Configuration.getConfiguration(settings));
+                started.setName("core-suite");
+                started.setToDisk(true);
+                started.setDestination(destination);
+                started.setDumpOnExit(true);
+                started.start();
+                recording = started;
+                logger.info("Flight recording started ({} settings), written to {} on exit", settings, destination.toAbsolutePath());
+            } catch (IOException | ParseException e) {
+                logger.error("Could not start flight recording with '{}' settings", settings, e);
+            }
+        }
+    }
+
+    public static void scenarioStarted(Scenario scenario) {
+        String testCase = TestTagUtil.extractTestCaseTag(scenario);
+
+        ScenarioStartEvent start = new ScenarioStartEvent();
+        if (start.isEnabled()) {
+            start.scenario = scenario.getName();
+            start.testCase = testCase;
+            start.commit();
+        }
+
+        ScenarioEndEvent end = new ScenarioEndEvent();
+        end.begin();
+        end.scenario = scenario.getName();
+        end.testCase = testCase;
+        CURRENT_SCENARIO.set(end);
+    }
+
+    public static void scenarioFinished(Scenario scenario) {
+        ScenarioEndEvent end = CURRENT_SCENARIO.get();
+        CURRENT_SCENARIO.remove();
+        if (end != null) {
+            end.status = scenario.getStatus().name();
+            end.commit();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One attempt of an operation retried by {@code PageObject}; the event duration covers the attempt only.
+ */
+@Name("core.RetryAttempt")
+@Label("Retry Attempt")
+@Category({"Test Framework", "PageObject"})
+@Description("Single attempt of a retried PageObject operation")
+public class RetryAttemptEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    @Label("Failure")
+    public String failure;
+}
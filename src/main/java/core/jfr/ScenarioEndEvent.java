@@ -0,0 +1,24 @@
+package core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Marks the end of a scenario; the event spans the whole scenario, from its start event to its teardown.
+ */
+@Name("core.ScenarioEnd")
+@Label("Scenario End")
+@Category({"Test Framework", "Scenario"})
+@Description("Scenario finished on this thread, with its status")
+public class ScenarioEndEvent extends jdk.jfr.Event {
+    @Label("Scenario")
+    public String scenario;
+
+    @Label("Test Case")
+    public String testCase;
+
+    @Label("Status")
+    public String status;
+}
@@ -0,0 +1,21 @@
+package core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Marks the start of a scenario, committed straight away so a hanging scenario still shows up in a dump.
+ */
+@Name("core.ScenarioStart")
+@Label("Scenario Start")
+@Category({"Test Framework", "Scenario"})
+@Description("Scenario began on this thread")
+public class ScenarioStartEvent extends jdk.jfr.Event {
+    @Label("Scenario")
+    public String scenario;
+
+    @Label("Test Case")
+    public String testCase;
+}
@@ -0,0 +1,26 @@
+package core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A screenshot captured from the browser or written to disk by {@code ScreenshotManager}.
+ */
+@Name("core.Screenshot")
+@Label("Screenshot")
+@Category({"Test Framework", "Screenshot"})
+@Description("Screenshot capture or write")
+public class ScreenshotEvent extends jdk.jfr.Event {
+    @Label("Action")
+    public String action;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Path")
+    public String path;
+}
@@ -0,0 +1,29 @@
+package core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One explicit wait in {@code PageObject}; the event duration is how long the wait actually took.
+ */
+@Name("core.Wait")
+@Label("Wait")
+@Category({"Test Framework", "PageObject"})
+@Description("Explicit wait for a condition, with its timeout and outcome")
+public class WaitEvent extends jdk.jfr.Event {
+    @Label("Locator")
+    public String locator;
+
+    @Label("Condition")
+    public String condition;
+
+    @Label("Timeout")
+    @Timespan(Timespan.MILLISECONDS)
+    public long timeout;
+
+    @Label("Satisfied")
+    public boolean satisfied;
+}
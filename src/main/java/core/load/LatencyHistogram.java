@@ -0,0 +1,99 @@
+package core.load;
+
+/**
+ * Log-linear latency histogram in microseconds, in the style of HdrHistogram: values below 128 are exact, larger ones
+ * fall in buckets 1/64 of their power of two wide, so percentiles are accurate to about 1.6% from 1 us to 19 hours in
+ * 16 KB.
+ * <p>
+ * Not thread-safe; each load worker records into its own histogram and they are merged afterwards.
+ */
+public class LatencyHistogram {
+    private static final int LINEAR_LIMIT = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int MAX_SHIFT = 30;
+    private static final long MAX_VALUE = (2L * SUB_BUCKETS << MAX_SHIFT) - 1;
+
+    private final long[] counts = new long[LINEAR_LIMIT + MAX_SHIFT * SUB_BUCKETS];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private double sum;
+
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    /**
+     * @param percentile e.g. 95 or 99.9
+     * @return the highest value equivalent to the one at the percentile, never above the recorded maximum
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 6;
+        int subBucket = (int) (value >> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestEquivalent(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%dus p95=%dus p99=%dus max=%dus", totalCount, getValueAtPercentile(50),
+                getValueAtPercentile(95), getValueAtPercentile(99), max);
+    }
+}
@@ -0,0 +1,205 @@
+package core.load;
+
+import core.config.ConfigReader;
+import core.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a request template with the workers and pacing of a {@link LoadProfile} and records each request's
+ * latency.
+ * <p>
+ * Workers are virtual threads when the JVM has them (Java 21+) and {@code load.virtual.threads} is true, so thousands
+ * of users only cost memory while they wait on I/O. Otherwise they are platform threads, at most
+ * {@code load.max.platform.threads}; extra users then wait for a free thread. An open workload starts a worker only
+ * when an arrival finds none idle, so a worker's first, slower request does not land on every arrival.
+ */
+public class LoadEngine {
+    private static final Logger logger = LoggerFactory.getLogger(LoadEngine.class);
+    private static final long END_OF_ARRIVALS = Long.MIN_VALUE;
+
+    // Prevent instantiation
+    private LoadEngine() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * One request of the load; must be safe to call from many threads at once
+     */
+    @FunctionalInterface
+    public interface LoadTask {
+        /**
+         * @return false when the request failed, e.g. on an error status; an exception also counts as a failure
+         */
+        boolean call() throws Exception;
+    }
+
+    public static LoadResult run(LoadProfile profile, LoadTask task) {
+        long start = System.nanoTime();
+        long measureFrom = start + profile.getWarmUp().toNanos();
+        long end = measureFrom + profile.getDuration().toNanos();
+        boolean open = profile.getModel() == LoadProfile.WorkloadModel.OPEN;
+        long interval = profile.getRatePerSecond() > 0 ? (long) (1_000_000_000 / profile.getRatePerSecond()) : 0;
+        AtomicLong nextSlot = new AtomicLong(start);
+        BlockingQueue<Long> arrivals = new LinkedBlockingQueue<>();
+
+        logger.info("Starting load: {}", profile);
+        List<Worker> workers = new ArrayList<>();
+        ExecutorService executor = createExecutor(profile.getConcurrency());
+        try {
+            if (open) {
+                AtomicInteger idle = new AtomicInteger();
+                scheduleArrivals(arrivals, start, end, interval, () -> {
+                    if (idle.get() == 0 && workers.size() < profile.getConcurrency()) {
+                        Worker worker = new Worker(task, measureFrom);
+                        workers.add(worker);
+                        executor.execute(() -> worker.serve(arrivals, idle));
+                    }
+                });
+                for (int i = 0; i < workers.size(); i++) {
+                    arrivals.add(END_OF_ARRIVALS);
+                }
+            } else {
+                for (int i = 0; i < profile.getConcurrency(); i++) {
+                    Worker worker = new Worker(task, measureFrom);
+                    workers.add(worker);
+                    executor.execute(() -> worker.loop(end, nextSlot, interval));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        awaitWorkers(executor, profile);
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        long errors = 0;
+        String firstError = null;
+        for (Worker worker : workers) {
+            histogram.add(worker.histogram);
+            errors += worker.errors;
+            if (firstError == null) {
+                firstError = worker.firstError;
+            }
+        }
+        LoadResult result = new LoadResult(profile, histogram, errors, firstError, profile.getDuration());
+        logger.info("Load finished: {}", histogram);
+        return result;
+    }
+
+    // Arrival i is due at start + i * interval; late workers do not push later arrivals back
+    private static void scheduleArrivals(BlockingQueue<Long> arrivals, long start, long end, long interval,
+                                         Runnable workerIfNoneIdle) {
+        for (long due = start; due < end; due += interval) {
+            parkUntil(due);
+            workerIfNoneIdle.run();
+            arrivals.add(due);
+        }
+    }
+
+    private static void awaitWorkers(ExecutorService executor, LoadProfile profile) {
+        long timeoutSeconds = Long.parseLong(ConfigReader.getConfigProp("load.drain.timeout.seconds", "60"));
+        try {
+            if (!executor.awaitTermination(profile.getWarmUp().plus(profile.getDuration()).toSeconds() + timeoutSeconds,
+                    TimeUnit.SECONDS)) {
+                logger.warn("Load workers still busy {}s after the run ended, interrupting them", timeoutSeconds);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    static ExecutorService createExecutor(int workers) {
+        boolean virtual = Boolean.parseBoolean(ConfigReader.getConfigProp("load.virtual.threads", "true"));
+        int maxThreads = Integer.parseInt(ConfigReader.getConfigProp("load.max.platform.threads", "256"));
+        if (workers > maxThreads && !(virtual && VirtualThreads.isAvailable())) {
+            logger.warn("{} load workers requested but load.max.platform.threads is {}; the rest wait for a thread",
+                    workers, maxThreads);
+        }
+        return VirtualThreads.newExecutor(virtual, Math.min(workers, maxThreads), "load-worker-");
+    }
+
+    private static class Worker {
+        private final LoadTask task;
+        private final long measureFrom;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long errors;
+        private String firstError;
+
+        private Worker(LoadTask task, long measureFrom) {
+            this.task = task;
+            this.measureFrom = measureFrom;
+        }
+
+        // Closed model: next request as soon as the previous one is answered and the shared rate allows it
+        private void loop(long end, AtomicLong nextSlot, long interval) {
+            while (!Thread.currentThread().isInterrupted()) {
+                long due = interval > 0 ? nextSlot.getAndAdd(interval) : System.nanoTime();
+                if (due >= end) {
+                    return;
+                }
+                parkUntil(due);
+                send(System.nanoTime());
+            }
+        }
+
+        // Open model: latency counts from when the arrival was due, including time queued for a worker
+        private void serve(BlockingQueue<Long> arrivals, AtomicInteger idle) {
+            try {
+                while (true) {
+                    idle.incrementAndGet();
+                    long due = arrivals.take();
+                    idle.decrementAndGet();
+                    if (due == END_OF_ARRIVALS) {
+                        return;
+                    }
+                    send(due);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void send(long startedAt) {
+            boolean succeeded;
+            String error = null;
+            try {
+                succeeded = task.call();
+                if (!succeeded) {
+                    error = "request reported failure";
+                }
+            } catch (Exception e) {
+                succeeded = false;
+                error = e.toString();
+            }
+            if (startedAt < measureFrom) {
+                return;
+            }
+            histogram.record((System.nanoTime() - startedAt) / 1_000);
+            if (!succeeded) {
+                errors++;
+                if (firstError == null) {
+                    firstError = error;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package core.load;
+
+import java.time.Duration;
+
+/**
+ * Shape of a load run for {@link LoadEngine}.
+ * <ul>
+ *     <li>{@link WorkloadModel#CLOSED}: {@code concurrency} users each send a request, wait for the response and send
+ *     the next, optionally paced by a shared {@code ratePerSecond}</li>
+ *     <li>{@link WorkloadModel#OPEN}: requests arrive at {@code ratePerSecond} whether or not earlier ones have
+ *     finished, served by up to {@code concurrency} workers; latency counts from the scheduled arrival, so time spent
+ *     queued behind slow responses is not hidden</li>
+ * </ul>
+ * Requests sent during {@code warmUp} are not recorded.
+ */
+public class LoadProfile {
+    public enum WorkloadModel {
+        CLOSED,
+        OPEN
+    }
+
+    private final WorkloadModel model;
+    private final int concurrency;
+    private final double ratePerSecond;
+    private final Duration duration;
+    private final Duration warmUp;
+
+    private LoadProfile(Builder builder) {
+        this.model = builder.model;
+        this.concurrency = builder.concurrency;
+        this.ratePerSecond = builder.ratePerSecond;
+        this.duration = builder.duration;
+        this.warmUp = builder.warmUp;
+    }
+
+    public WorkloadModel getModel() {
+        return model;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return requests per second across all workers, 0 when unlimited
+     */
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmUp() {
+        return warmUp;
+    }
+
+    @Override
+    public String toString() {
+        return model + " " + concurrency + (model == WorkloadModel.OPEN ? " workers" : " users")
+                + (ratePerSecond > 0 ? " at " + ratePerSecond + "/s" : "")
+                + " for " + duration.toSeconds() + "s" + (warmUp.isZero() ? "" : " after " + warmUp.toSeconds() + "s warm-up");
+    }
+
+    public static class Builder {
+        private WorkloadModel model = WorkloadModel.CLOSED;
+        private int concurrency = 1;
+        private double ratePerSecond;
+        private Duration duration = Duration.ofSeconds(10);
+        private Duration warmUp = Duration.ZERO;
+
+        public Builder closed(int users) {
+            this.model = WorkloadModel.CLOSED;
+            this.concurrency = users;
+            return this;
+        }
+
+        public Builder open(double arrivalsPerSecond, int maxConcurrency) {
+            this.model = WorkloadModel.OPEN;
+            this.ratePerSecond = arrivalsPerSecond;
+            this.concurrency = maxConcurrency;
+            return this;
+        }
+
+        public Builder ratePerSecond(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder warmUp(Duration warmUp) {
+            this.warmUp = warmUp;
+            return this;
+        }
+
+        public LoadProfile build() {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency must be at least 1, was " + concurrency);
+            }
+            if (model == WorkloadModel.OPEN && ratePerSecond <= 0) {
+                throw new IllegalArgumentException("An open workload needs an arrival rate");
+            }
+            return new LoadProfile(this);
+        }
+    }
+}
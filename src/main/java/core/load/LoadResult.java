@@ -0,0 +1,75 @@
+package core.load;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Latency and error counts of the measured part of a load run (after warm-up)
+ */
+public class LoadResult {
+    private final LoadProfile profile;
+    private final LatencyHistogram histogram;
+    private final long errors;
+    private final String firstError;
+    private final Duration measured;
+
+    LoadResult(LoadProfile profile, LatencyHistogram histogram, long errors, String firstError, Duration measured) {
+        this.profile = profile;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.firstError = firstError;
+        this.measured = measured;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    public long getRequests() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return failed requests as a percentage of all measured requests
+     */
+    public double getErrorRate() {
+        return getRequests() == 0 ? 0 : 100.0 * errors / getRequests();
+    }
+
+    public double getThroughput() {
+        return measured.isZero() ? 0 : getRequests() * 1000.0 / measured.toMillis();
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * @return a description of the first failed request, or null
+     */
+    public String getFirstError() {
+        return firstError;
+    }
+
+    public String summary() {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                "%s%nRequests: %d (%.1f/s), errors: %d (%.2f%%)%n"
+                        + "Latency ms: min %.1f, mean %.1f, p50 %.1f, p90 %.1f, p95 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                profile, getRequests(), getThroughput(), errors, getErrorRate(),
+                histogram.getMin() / 1000.0, histogram.getMean() / 1000.0, getPercentileMillis(50),
+                getPercentileMillis(90), getPercentileMillis(95), getPercentileMillis(99), getPercentileMillis(99.9),
+                histogram.getMax() / 1000.0));
+        if (firstError != null) {
+            text.append("First error: ").append(firstError).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+}
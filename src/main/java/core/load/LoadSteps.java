@@ -0,0 +1,101 @@
+package core.load;
+
+import core.api.ApiClient;
+import core.config.ConfigReader;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import org.testng.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Steps that turn an API scenario into a load check; add {@code core.load} to the runner's glue.
+ * <pre>
+ * Given a load warm-up of 10 seconds
+ * And 200 concurrent users call GET /orders for 60 seconds
+ * Then the p95 latency is below 300 ms
+ * And the error rate is below 1%
+ * </pre>
+ * Paths are relative to {@code api.base.url} unless absolute. Open workloads ("requests arrive at 50 per second
+ * calling ...") use up to {@code load.open.max.workers} workers. The result is attached to the scenario.
+ */
+public class LoadSteps {
+    private final LoadProfile.Builder profile = new LoadProfile.Builder();
+    private Scenario scenario;
+    private LoadResult result;
+
+    @Before
+    public void captureScenario(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    @Given("a load warm-up of {int} second(s)")
+    public void aLoadWarmUpOf(int seconds) {
+        profile.warmUp(Duration.ofSeconds(seconds));
+    }
+
+    @Given("the load is limited to {int} request(s) per second")
+    public void theLoadIsLimitedTo(int ratePerSecond) {
+        profile.ratePerSecond(ratePerSecond);
+    }
+
+    @Given("{int} concurrent user(s) call(s) {word} {word} for {int} second(s)")
+    public void concurrentUsersCall(int users, String method, String path, int seconds) {
+        run(profile.closed(users).duration(Duration.ofSeconds(seconds)).build(), method, path);
+    }
+
+    @Given("requests arrive at {int} per second calling {word} {word} for {int} second(s)")
+    public void requestsArriveAt(int arrivalsPerSecond, String method, String path, int seconds) {
+        int workers = Integer.parseInt(ConfigReader.getConfigProp("load.open.max.workers", "200"));
+        run(profile.open(arrivalsPerSecond, workers).duration(Duration.ofSeconds(seconds)).build(), method, path);
+    }
+
+    @Then("the p{double} latency is below {int} ms")
+    public void thePercentileLatencyIsBelow(double percentile, int millis) {
+        double actual = requireResult().getPercentileMillis(percentile);
+        Assert.assertTrue(actual < millis, "p" + percentile + " latency was " + actual + " ms, limit " + millis + " ms");
+    }
+
+    @Then("the error rate is below {double}%")
+    public void theErrorRateIsBelow(double percent) {
+        LoadResult load = requireResult();
+        Assert.assertTrue(load.getErrorRate() < percent, String.format("Error rate was %.2f%%, limit %s%%; first error: %s",
+                load.getErrorRate(), percent, load.getFirstError()));
+    }
+
+    @Then("the throughput is at least {int} requests per second")
+    public void theThroughputIsAtLeast(int requestsPerSecond) {
+        double actual = requireResult().getThroughput();
+        Assert.assertTrue(actual >= requestsPerSecond,
+                "Throughput was " + actual + " requests/s, expected at least " + requestsPerSecond);
+    }
+
+    @Then("{long} request(s) was/were measured")
+    public void requestsWereMeasured(long requests) {
+        Assert.assertEquals(requireResult().getRequests(), requests, "Requests measured after the warm-up");
+    }
+
+    private void run(LoadProfile loadProfile, String method, String path) {
+        ApiClient.ensureConnections(loadProfile.getConcurrency());
+        result = LoadEngine.run(loadProfile, () -> {
+            int status = ApiClient.request().request(method, path).getStatusCode();
+            if (status >= 400) {
+                throw new ApiClient.ApiException(method + " " + path + " returned HTTP " + status, null);
+            }
+            return true;
+        });
+        if (scenario != null) {
+            scenario.attach(result.summary().getBytes(StandardCharsets.UTF_8), "text/plain", "Load " + method + " " + path);
+        }
+    }
+
+    private LoadResult requireResult() {
+        if (result == null) {
+            throw new IllegalStateException("No load has run in this scenario yet");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,176 @@
+package core.logging;
+
+import core.config.ConfigReader;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The single thread writing log output, to {@code log.file} when set and to stderr otherwise.
+ * <p>
+ * Logging threads only add to a lock-free queue; the writer drains it through one buffered stream and flushes
+ * whenever the queue runs empty, so lines from parallel scenarios never interleave mid-line.
+ * <p>
+ * The queue holds at most {@code log.queue.capacity} entries. When logging outpaces the writer, further entries are
+ * dropped rather than blocking the logging threads or growing the heap, and the writer reports how many it lost.
+ */
+public class AsyncLogWriter {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final ConcurrentLinkedQueue<Object> QUEUE = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong CHARS_WRITTEN = new AtomicLong();
+    private static final AtomicLong ENTRIES_QUEUED = new AtomicLong();
+    private static final AtomicLong ENTRIES_WRITTEN = new AtomicLong();
+    private static final AtomicInteger PENDING = new AtomicInteger();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final Thread WRITER = new Thread(AsyncLogWriter::writeLoop, "log-writer");
+    private static volatile boolean closed;
+    // Read on first use: configuration loading logs through this class
+    private static volatile int capacity;
+
+    static {
+        WRITER.setDaemon(true);
+        WRITER.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncLogWriter::close, "log-writer-shutdown"));
+    }
+
+    // Prevent instantiation
+    private AsyncLogWriter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static void write(LogRecord record) {
+        enqueue(record);
+    }
+
+    static void write(String text) {
+        enqueue(text);
+    }
+
+    private static void enqueue(Object entry) {
+        if (closed) {
+            // Late records during shutdown go straight out rather than being lost
+            System.err.print(entry instanceof LogRecord ? ((LogRecord) entry).format() : entry);
+            return;
+        }
+        if (PENDING.incrementAndGet() > getCapacity()) {
+            PENDING.decrementAndGet();
+            DROPPED.incrementAndGet();
+            return;
+        }
+        ENTRIES_QUEUED.incrementAndGet();
+        QUEUE.offer(entry);
+    }
+
+    private static int getCapacity() {
+        if (capacity == 0) {
+            capacity = Integer.parseInt(ConfigReader.getConfigProp("log.queue.capacity", "100000"));
+        }
+        return capacity;
+    }
+
+    /**
+     * Entries dropped since startup because the queue was full
+     */
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
+    /**
+     * Characters written since startup, to compare log volume between runs
+     */
+    public static long getCharsWritten() {
+        return CHARS_WRITTEN.get();
+    }
+
+    /**
+     * Waits until everything queued before the call has been written
+     */
+    public static void flush() {
+        long target = ENTRIES_QUEUED.get();
+        while (ENTRIES_WRITTEN.get() < target && WRITER.isAlive()) {
+            LockSupport.unpark(WRITER);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Writes everything queued so far and stops the writer thread
+     */
+    public static void close() {
+        closed = true;
+        LockSupport.unpark(WRITER);
+        try {
+            WRITER.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void writeLoop() {
+        try {
+            // Never closed: it may be stderr, and the JVM releases a log file on exit
+            Writer out = openOutput();
+            long written = 0;
+            long droppedReported = 0;
+            while (true) {
+                boolean finished = closed;
+                boolean wrote = false;
+                Object entry;
+                while ((entry = QUEUE.poll()) != null) {
+                    PENDING.decrementAndGet();
+                    String text = entry instanceof LogRecord ? ((LogRecord) entry).format() : entry.toString();
+                    out.write(text);
+                    CHARS_WRITTEN.addAndGet(text.length());
+                    wrote = true;
+                    written++;
+                }
+                long dropped = DROPPED.get() - droppedReported;
+                if (dropped > 0) {
+                    out.write(String.format("%d log entries dropped, the log queue was full (log.queue.capacity=%d)%n",
+                            dropped, getCapacity()));
+                    droppedReported += dropped;
+                    wrote = true;
+                }
+                if (wrote) {
+                    out.flush();
+                    ENTRIES_WRITTEN.addAndGet(written);
+                    written = 0;
+                }
+                if (finished) {
+                    return;
+                }
+                if (!wrote) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Log writer stopped: " + e);
+        }
+    }
+
+    private static Writer openOutput() throws IOException {
+        String file = ConfigReader.getConfigProp("log.file", "");
+        if (file.isEmpty()) {
+            // System.err rather than the raw descriptor, so test runners that capture it still see the output
+            return new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8), 1 << 16);
+        }
+        Path path = Paths.get(file);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path.toFile(), true),
+                StandardCharsets.UTF_8), 1 << 16);
+    }
+}
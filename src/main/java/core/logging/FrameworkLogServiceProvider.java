@@ -0,0 +1,51 @@
+package core.logging;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.Logger;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SLF4JServiceProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SLF4J binding for the framework's scenario-buffered, asynchronous logging; see {@link ScenarioLog}.
+ * <p>
+ * It is opt-in, so projects on logback or log4j keep their binding: select it with
+ * {@code -Dslf4j.provider=core.logging.FrameworkLogServiceProvider}, as this repository's Surefire configuration does.
+ * Without it, logging goes through the {@code slf4j-simple} default binding.
+ */
+public class FrameworkLogServiceProvider implements SLF4JServiceProvider {
+    private final Map<String, Logger> loggers = new ConcurrentHashMap<>();
+    private final ILoggerFactory loggerFactory = name -> loggers.computeIfAbsent(name, FrameworkLogger::new);
+    private IMarkerFactory markerFactory;
+    private MDCAdapter mdcAdapter;
+
+    @Override
+    public ILoggerFactory getLoggerFactory() {
+        return loggerFactory;
+    }
+
+    @Override
+    public IMarkerFactory getMarkerFactory() {
+        return markerFactory;
+    }
+
+    @Override
+    public MDCAdapter getMDCAdapter() {
+        return mdcAdapter;
+    }
+
+    @Override
+    public String getRequestedApiVersion() {
+        return "2.0.99";
+    }
+
+    @Override
+    public void initialize() {
+        markerFactory = new BasicMarkerFactory();
+        mdcAdapter = new ThreadLocalMDCAdapter();
+    }
+}
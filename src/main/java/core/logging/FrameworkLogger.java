@@ -0,0 +1,88 @@
+package core.logging;
+
+import core.config.ConfigReader;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Logger handing records to the thread's {@link ScenarioLog} buffer, or to the {@link AsyncLogWriter} outside
+ * scenarios. Never writes on the calling thread.
+ * <p>
+ * The threshold comes from the most specific {@code log.level.<logger name prefix>} property, falling back to
+ * {@code log.level} (default {@code info}).
+ */
+public class FrameworkLogger extends LegacyAbstractLogger {
+    private static final long serialVersionUID = 1L;
+
+    private transient volatile Level threshold;
+
+    FrameworkLogger(String name) {
+        this.name = name;
+    }
+
+    private boolean isEnabled(Level level) {
+        Level current = threshold;
+        if (current == null) {
+            current = resolveThreshold();
+            threshold = current;
+        }
+        return level.toInt() >= current.toInt();
+    }
+
+    private Level resolveThreshold() {
+        String prefix = name;
+        while (true) {
+            String value = ConfigReader.getConfigProp("log.level." + prefix);
+            if (value != null && !value.trim().isEmpty()) {
+                return Level.valueOf(value.trim().toUpperCase());
+            }
+            int dot = prefix.lastIndexOf('.');
+            if (dot < 0) {
+                return Level.valueOf(ConfigReader.getConfigProp("log.level", "info").toUpperCase());
+            }
+            prefix = prefix.substring(0, dot);
+        }
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return isEnabled(Level.TRACE);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return isEnabled(Level.INFO);
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return isEnabled(Level.WARN);
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return isEnabled(Level.ERROR);
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return null;
+    }
+
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern, Object[] arguments,
+                                               Throwable throwable) {
+        String message = MessageFormatter.basicArrayFormat(messagePattern, arguments);
+        LogRecord record = new LogRecord(level, name, ScenarioLog.currentContext(), message, throwable);
+        if (!ScenarioLog.hold(record)) {
+            AsyncLogWriter.write(record);
+        }
+    }
+}
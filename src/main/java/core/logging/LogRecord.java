@@ -0,0 +1,57 @@
+package core.logging;
+
+import org.slf4j.event.Level;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One log call, kept unformatted until it is written so held-back records cost as little as possible.
+ */
+class LogRecord {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final long timestampMillis;
+    private final Level level;
+    private final String threadName;
+    private final String loggerName;
+    private final String context;
+    private final String message;
+    private final Throwable throwable;
+
+    LogRecord(Level level, String loggerName, String context, String message, Throwable throwable) {
+        this.timestampMillis = System.currentTimeMillis();
+        this.level = level;
+        this.threadName = Thread.currentThread().getName();
+        this.loggerName = loggerName;
+        this.context = context;
+        this.message = message;
+        this.throwable = throwable;
+    }
+
+    Level getLevel() {
+        return level;
+    }
+
+    String format() {
+        StringBuilder line = new StringBuilder(128)
+                .append(TIMESTAMP.format(Instant.ofEpochMilli(timestampMillis)))
+                .append(" [").append(threadName).append("] ")
+                .append(level).append(' ')
+                .append(loggerName);
+        if (context != null) {
+            line.append(" [").append(context).append(']');
+        }
+        line.append(" - ").append(message).append(System.lineSeparator());
+        if (throwable != null) {
+            StringWriter trace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package core.logging;
+
+import core.config.ConfigReader;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Scenario-scoped log buffer. Between {@link #start} and {@link #finish}, records logged on the scenario's thread are
+ * tagged with the scenario name, {@code @tc_} tag and session id and held in memory, keeping the latest
+ * {@code log.scenario.buffer.records}. A failed scenario gets its full log written out and attached to the report;
+ * a passing one only writes a one-line summary.
+ * <p>
+ * Set {@code log.scenario.buffer=false} to write every record as it happens.
+ */
+public class ScenarioLog {
+    public static final String MDC_SCENARIO = "scenario";
+    public static final String MDC_TEST_CASE = "tc";
+    public static final String MDC_SESSION = "session";
+
+    private static final ThreadLocal<Buffer> BUFFER = new ThreadLocal<>();
+
+    // Prevent instantiation
+    private ScenarioLog() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void start(String scenarioName, String testCaseTag) {
+        MDC.put(MDC_SCENARIO, scenarioName);
+        MDC.put(MDC_TEST_CASE, testCaseTag);
+        if (Boolean.parseBoolean(ConfigReader.getConfigProp("log.scenario.buffer", "true"))) {
+            int capacity = Integer.parseInt(ConfigReader.getConfigProp("log.scenario.buffer.records", "2000"));
+            BUFFER.set(new Buffer(scenarioName, capacity));
+        }
+    }
+
+    public static void setSessionId(String sessionId) {
+        if (sessionId != null) {
+            MDC.put(MDC_SESSION, sessionId);
+        }
+    }
+
+    /**
+     * Ends the scenario's log: a failed scenario's records are written out in full, a passing one is summarized
+     *
+     * @return the scenario's log text when it failed and records were held back, otherwise null
+     */
+    public static String finish(String status, boolean failed) {
+        Buffer buffer = BUFFER.get();
+        BUFFER.remove();
+        MDC.remove(MDC_SCENARIO);
+        MDC.remove(MDC_TEST_CASE);
+        MDC.remove(MDC_SESSION);
+        if (buffer == null) {
+            return null;
+        }
+        if (!failed) {
+            AsyncLogWriter.write(buffer.summary(status));
+            return null;
+        }
+        String log = buffer.format();
+        AsyncLogWriter.write(log);
+        return log;
+    }
+
+    /**
+     * Holds the record when the thread is in a buffered scenario
+     *
+     * @return false when the record should be written straight away
+     */
+    static boolean hold(LogRecord record) {
+        Buffer buffer = BUFFER.get();
+        if (buffer == null) {
+            return false;
+        }
+        buffer.add(record);
+        return true;
+    }
+
+    /**
+     * The tags of the thread's current scenario, or null outside a scenario
+     */
+    static String currentContext() {
+        String scenario = MDC.get(MDC_SCENARIO);
+        if (scenario == null) {
+            return null;
+        }
+        String testCase = MDC.get(MDC_TEST_CASE);
+        String session = MDC.get(MDC_SESSION);
+        return scenario
+                + (testCase == null || testCase.isEmpty() ? "" : " | " + testCase)
+                + (session == null ? "" : " | " + session);
+    }
+
+    private static class Buffer {
+        private final String scenarioName;
+        private final int capacity;
+        private final Deque<LogRecord> records = new ArrayDeque<>();
+        private int dropped;
+        private int warnings;
+        private int errors;
+
+        private Buffer(String scenarioName, int capacity) {
+            this.scenarioName = scenarioName;
+            this.capacity = Math.max(1, capacity);
+        }
+
+        private void add(LogRecord record) {
+            if (record.getLevel() == Level.WARN) {
+                warnings++;
+            } else if (record.getLevel() == Level.ERROR) {
+                errors++;
+            }
+            if (records.size() == capacity) {
+                records.removeFirst();
+                dropped++;
+            }
+            records.addLast(record);
+        }
+
+        private String summary(String status) {
+            return String.format("Scenario '%s' %s: %d log records held back (%d warn, %d error)%n",
+                    scenarioName, status, records.size() + dropped, warnings, errors);
+        }
+
+        private String format() {
+            StringBuilder log = new StringBuilder();
+            if (dropped > 0) {
+                log.append("... ").append(dropped).append(" earlier records dropped").append(System.lineSeparator());
+            }
+            for (LogRecord record : records) {
+                log.append(record.format());
+            }
+            return log.toString();
+        }
+    }
+}
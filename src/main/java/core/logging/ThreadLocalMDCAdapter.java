@@ -0,0 +1,71 @@
+package core.logging;
+
+import org.slf4j.helpers.ThreadLocalMapOfStacks;
+import org.slf4j.spi.MDCAdapter;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MDC kept per thread and, unlike {@link org.slf4j.helpers.BasicMDCAdapter}, not inherited by threads started from it.
+ * Pool threads created during a scenario would otherwise tag all their later records with that scenario.
+ */
+class ThreadLocalMDCAdapter implements MDCAdapter {
+    private final ThreadLocal<Map<String, String>> context = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocalMapOfStacks stacks = new ThreadLocalMapOfStacks();
+
+    @Override
+    public void put(String key, String value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        context.get().put(key, value);
+    }
+
+    @Override
+    public String get(String key) {
+        return context.get().get(key);
+    }
+
+    @Override
+    public void remove(String key) {
+        context.get().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        context.remove();
+    }
+
+    @Override
+    public Map<String, String> getCopyOfContextMap() {
+        Map<String, String> map = context.get();
+        return map.isEmpty() ? null : new HashMap<>(map);
+    }
+
+    @Override
+    public void setContextMap(Map<String, String> contextMap) {
+        context.set(contextMap == null ? new HashMap<>() : new HashMap<>(contextMap));
+    }
+
+    @Override
+    public void pushByKey(String key, String value) {
+        stacks.pushByKey(key, value);
+    }
+
+    @Override
+    public String popByKey(String key) {
+        return stacks.popByKey(key);
+    }
+
+    @Override
+    public Deque<String> getCopyOfDequeByKey(String key) {
+        return stacks.getCopyOfDequeByKey(key);
+    }
+
+    @Override
+    public void clearDequeByKey(String key) {
+        stacks.clearDequeByKey(key);
+    }
+}
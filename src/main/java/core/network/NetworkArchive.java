@@ -0,0 +1,184 @@
+package core.network;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * On-disk archive of recorded HTTP exchanges: an {@code index.json} listing every exchange
+ * plus content-addressed body files, so identical responses are stored once.
+ */
+public class NetworkArchive {
+    private static final String INDEX_FILE = "index.json";
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    // Parallel scenarios may share one archive (feature scope), so saves are serialized per directory
+    private static final Map<Path, Object> SAVE_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final Map<String, List<Entry>> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> replayCursors = new ConcurrentHashMap<>();
+    private final List<Entry> recorded = new ArrayList<>();
+
+    /**
+     * A single recorded request/response pair.
+     */
+    public static class Entry {
+        public String key;
+        public String method;
+        public String url;
+        public int status;
+        public Map<String, List<String>> headers = new LinkedHashMap<>();
+        public String bodyFile;
+    }
+
+    private NetworkArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the archive in the given directory, loading its index when it exists.
+     */
+    public static NetworkArchive open(Path directory) {
+        NetworkArchive archive = new NetworkArchive(directory);
+        for (Entry entry : readIndex(directory)) {
+            archive.entries.computeIfAbsent(entry.key, k -> new ArrayList<>()).add(entry);
+        }
+        return archive;
+    }
+
+    /**
+     * Builds the lookup key for a request. Bodies are part of the key so different POSTs
+     * to the same URL replay different responses.
+     */
+    public static String keyFor(String method, String url, byte[] requestBody) {
+        String key = method.toUpperCase() + " " + url;
+        return requestBody.length == 0 ? key : key + " #" + sha256(requestBody).substring(0, 16);
+    }
+
+    public synchronized void record(String key, String method, String url, int status,
+                                    Map<String, List<String>> headers, byte[] body) {
+        Entry entry = new Entry();
+        entry.key = key;
+        entry.method = method;
+        entry.url = url;
+        entry.status = status;
+        entry.headers.putAll(headers);
+        entry.bodyFile = writeBody(body);
+        recorded.add(entry);
+        entries.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+    }
+
+    /**
+     * Returns the next recorded response for the key. Repeated requests are answered in
+     * recording order, and the last response is reused once they run out.
+     *
+     * @return the entry, or null if the request was never recorded
+     */
+    public Entry next(String key) {
+        List<Entry> candidates = entries.get(key);
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        int index = replayCursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return candidates.get(Math.min(index, candidates.size() - 1));
+    }
+
+    public byte[] readBody(Entry entry) {
+        try {
+            return Files.readAllBytes(directory.resolve(entry.bodyFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archived body " + entry.bodyFile, e);
+        }
+    }
+
+    public int size() {
+        return entries.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Writes the exchanges recorded by this instance to the index on disk. Keys recorded again replace their earlier
+     * exchanges, so re-recording never replays stale responses; other keys, e.g. from scenarios sharing a feature
+     * archive, are kept.
+     */
+    public void save() {
+        List<Entry> toSave;
+        synchronized (this) {
+            if (recorded.isEmpty()) {
+                return;
+            }
+            toSave = new ArrayList<>(recorded);
+        }
+        Set<String> rerecorded = new HashSet<>();
+        toSave.forEach(entry -> rerecorded.add(entry.key));
+        synchronized (SAVE_LOCKS.computeIfAbsent(directory.toAbsolutePath().normalize(), k -> new Object())) {
+            List<Entry> index = readIndex(directory);
+            index.removeIf(entry -> rerecorded.contains(entry.key));
+            index.addAll(toSave);
+            try {
+                Files.createDirectories(directory);
+                objectMapper.writeValue(directory.resolve(INDEX_FILE).toFile(), index);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write network archive " + directory, e);
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private String writeBody(byte[] body) {
+        String fileName = sha256(body) + ".bin";
+        Path target = directory.resolve(fileName);
+        try {
+            if (!Files.exists(target)) {
+                Files.createDirectories(directory);
+                Files.write(target, body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write archived body " + target, e);
+        }
+        return fileName;
+    }
+
+    private static List<Entry> readIndex(Path directory) {
+        Path index = directory.resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(index.toFile(), new TypeReference<List<Entry>>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read network archive " + index, e);
+        }
+    }
+
+    static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
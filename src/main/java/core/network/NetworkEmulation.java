@@ -0,0 +1,128 @@
+package core.network;
+
+import core.config.ConfigReader;
+import core.load.LatencyHistogram;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Applies a {@link NetworkProfile} to a Chromium session through DevTools and collects page load times per profile.
+ * <p>
+ * Other browsers have no way to throttle the network, so a profile requested for them is reported according to
+ * {@code network.profile.unsupported}: {@code skip} (default) skips the scenario, {@code fail} fails it and
+ * {@code warn} runs it unthrottled with a warning.
+ */
+public class NetworkEmulation {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkEmulation.class);
+    private static final Map<String, LatencyHistogram> PAGE_LOADS = new TreeMap<>();
+
+    // Prevent instantiation
+    private NetworkEmulation() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static class NetworkEmulationException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public NetworkEmulationException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    public static boolean isSupported(WebDriver driver) {
+        return driver instanceof HasCdp;
+    }
+
+    /**
+     * Throttles the network and CPU of the driver's current page target
+     *
+     * @return true when the profile was applied, false when the browser cannot emulate it and
+     * {@code network.profile.unsupported=warn}
+     */
+    public static boolean apply(WebDriver driver, NetworkProfile profile) {
+        if (!isSupported(driver)) {
+            return reportUnsupported(driver, profile);
+        }
+        HasCdp cdp = (HasCdp) driver;
+        Map<String, Object> conditions = new HashMap<>();
+        conditions.put("offline", profile.isOffline());
+        conditions.put("latency", profile.getLatencyMillis());
+        // DevTools takes throughput in bytes per second
+        conditions.put("downloadThroughput", toBytesPerSecond(profile.getDownloadKbps()));
+        conditions.put("uploadThroughput", toBytesPerSecond(profile.getUploadKbps()));
+        // Only sent when used, since Chrome before 119 rejects the parameter
+        if (profile.getPacketLossPercent() > 0) {
+            conditions.put("packetLoss", profile.getPacketLossPercent());
+        }
+        try {
+            cdp.executeCdpCommand("Network.enable", Map.of());
+            cdp.executeCdpCommand("Network.emulateNetworkConditions", conditions);
+            if (profile.getCpuThrottlingRate() > 1) {
+                cdp.executeCdpCommand("Emulation.setCPUThrottlingRate", Map.of("rate", profile.getCpuThrottlingRate()));
+            }
+        } catch (WebDriverException e) {
+            throw new NetworkEmulationException("Could not apply network profile " + profile, e);
+        }
+        logger.info("Applied network profile {}", profile);
+        return true;
+    }
+
+    private static boolean reportUnsupported(WebDriver driver, NetworkProfile profile) {
+        String message = "Network profile " + profile.getName() + " needs a Chromium browser with DevTools, "
+                + driver.getClass().getSimpleName() + " has none";
+        switch (ConfigReader.getConfigProp("network.profile.unsupported", "skip").toLowerCase(Locale.ROOT)) {
+            case "warn":
+                logger.warn("{}; running unthrottled", message);
+                return false;
+            case "fail":
+                throw new NetworkEmulationException(message, null);
+            default:
+                throw new SkipException(message);
+        }
+    }
+
+    private static double toBytesPerSecond(int kbps) {
+        return kbps < 0 ? -1 : kbps * 1000 / 8.0;
+    }
+
+    // region Page load statistics
+
+    public static void recordPageLoad(String profileName, long millis) {
+        synchronized (PAGE_LOADS) {
+            PAGE_LOADS.computeIfAbsent(profileName, name -> new LatencyHistogram()).record(millis * 1000);
+        }
+    }
+
+    /**
+     * @return page load percentiles of every profile that recorded a load, one line each, or an empty string
+     */
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        synchronized (PAGE_LOADS) {
+            PAGE_LOADS.forEach((name, histogram) -> summary.append(String.format(Locale.ROOT,
+                    "Page loads on %s: %d, p50 %d ms, p90 %d ms, p95 %d ms, max %d ms%n", name,
+                    histogram.getTotalCount(), histogram.getValueAtPercentile(50) / 1000,
+                    histogram.getValueAtPercentile(90) / 1000, histogram.getValueAtPercentile(95) / 1000,
+                    histogram.getMax() / 1000)));
+        }
+        return summary.toString().trim();
+    }
+
+    public static void logSummary() {
+        String summary = getSummary();
+        if (!summary.isEmpty()) {
+            logger.info("Page loads per network profile:{}{}", System.lineSeparator(), summary);
+        }
+    }
+
+    // endregion
+}
@@ -0,0 +1,245 @@
+package core.network;
+
+import core.config.ConfigReader;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named network conditions and CPU throttling applied to a scenario's browser by {@link NetworkEmulation}.
+ * <p>
+ * A scenario tagged {@code @network_<name>} uses that profile, otherwise {@code network.profile} applies to every
+ * scenario; {@code @network_none} opts a scenario out. The built-in profiles follow the WebPageTest connectivity
+ * presets; custom ones are defined as {@code network.profiles.<name>=latency=250,download=2000,upload=500,loss=2,cpu=4}
+ * with latency in ms, throughput in kbit/s and loss in percent. {@code @cpu_<rate>} or {@code network.cpu.throttling}
+ * slow the CPU down by that factor on top of any profile.
+ */
+public class NetworkProfile {
+    public static final String NONE = "none";
+    private static final String TAG_PREFIX = "@network_";
+    private static final String CPU_TAG_PREFIX = "@cpu_";
+    private static final Map<String, NetworkProfile> BUILT_IN = new LinkedHashMap<>();
+
+    static {
+        register(new Builder("offline").offline().build());
+        register(new Builder("2g").latency(800).download(280).upload(256).build());
+        register(new Builder("3g-slow").latency(400).download(400).upload(400).build());
+        register(new Builder("3g").latency(300).download(1600).upload(768).build());
+        register(new Builder("4g").latency(170).download(9000).upload(9000).build());
+        register(new Builder("lte").latency(70).download(12000).upload(12000).build());
+    }
+
+    private final String name;
+    private final boolean offline;
+    private final int latencyMillis;
+    private final int downloadKbps;
+    private final int uploadKbps;
+    private final double packetLossPercent;
+    private final double cpuThrottlingRate;
+
+    private NetworkProfile(Builder builder) {
+        this.name = builder.name;
+        this.offline = builder.offline;
+        this.latencyMillis = builder.latencyMillis;
+        this.downloadKbps = builder.downloadKbps;
+        this.uploadKbps = builder.uploadKbps;
+        this.packetLossPercent = builder.packetLossPercent;
+        this.cpuThrottlingRate = builder.cpuThrottlingRate;
+    }
+
+    public static class Builder {
+        private final String name;
+        private boolean offline;
+        private int latencyMillis;
+        private int downloadKbps = -1;
+        private int uploadKbps = -1;
+        private double packetLossPercent;
+        private double cpuThrottlingRate = 1;
+
+        public Builder(String name) {
+            this.name = name;
+        }
+
+        private Builder(NetworkProfile profile) {
+            this.name = profile.name;
+            this.offline = profile.offline;
+            this.latencyMillis = profile.latencyMillis;
+            this.downloadKbps = profile.downloadKbps;
+            this.uploadKbps = profile.uploadKbps;
+            this.packetLossPercent = profile.packetLossPercent;
+            this.cpuThrottlingRate = profile.cpuThrottlingRate;
+        }
+
+        public Builder offline() {
+            this.offline = true;
+            return this;
+        }
+
+        /**
+         * Round-trip latency added to every request
+         */
+        public Builder latency(int millis) {
+            this.latencyMillis = millis;
+            return this;
+        }
+
+        /**
+         * Download throughput in kbit/s, -1 for unlimited
+         */
+        public Builder download(int kbps) {
+            this.downloadKbps = kbps;
+            return this;
+        }
+
+        /**
+         * Upload throughput in kbit/s, -1 for unlimited
+         */
+        public Builder upload(int kbps) {
+            this.uploadKbps = kbps;
+            return this;
+        }
+
+        public Builder packetLoss(double percent) {
+            this.packetLossPercent = percent;
+            return this;
+        }
+
+        /**
+         * CPU slowdown factor, 1 for none
+         */
+        public Builder cpuThrottling(double rate) {
+            this.cpuThrottlingRate = rate;
+            return this;
+        }
+
+        public NetworkProfile build() {
+            if (latencyMillis < 0 || packetLossPercent < 0 || packetLossPercent > 100 || cpuThrottlingRate < 1) {
+                throw new IllegalArgumentException("Invalid network profile " + name + ": latency must be >= 0,"
+                        + " packet loss 0-100 and CPU throttling >= 1");
+            }
+            return new NetworkProfile(this);
+        }
+    }
+
+    private static void register(NetworkProfile profile) {
+        BUILT_IN.put(profile.name, profile);
+    }
+
+    /**
+     * @return the profile for a scenario with these tags, or null when it runs unthrottled
+     */
+    public static NetworkProfile forScenario(Collection<String> tags) {
+        String name = tags.stream().filter(tag -> tag.startsWith(TAG_PREFIX))
+                .map(tag -> tag.substring(TAG_PREFIX.length())).findFirst()
+                .orElse(ConfigReader.getConfigProp("network.profile", ""));
+        String cpu = tags.stream().filter(tag -> tag.startsWith(CPU_TAG_PREFIX))
+                .map(tag -> tag.substring(CPU_TAG_PREFIX.length())).findFirst()
+                .orElse(ConfigReader.getConfigProp("network.cpu.throttling", "1"));
+        double cpuRate = Double.parseDouble(cpu);
+
+        NetworkProfile profile = name.isEmpty() || NONE.equalsIgnoreCase(name) ? null : named(name);
+        if (cpuRate <= 1) {
+            return profile;
+        }
+        Builder builder = profile == null ? new Builder("cpu-x" + cpu) : new Builder(profile);
+        return builder.cpuThrottling(cpuRate).build();
+    }
+
+    /**
+     * @return the custom profile {@code network.profiles.<name>}, or the built-in one of that name
+     */
+    public static NetworkProfile named(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        String spec = ConfigReader.getConfigProp("network.profiles." + key, "");
+        if (!spec.isEmpty()) {
+            return parse(key, spec);
+        }
+        NetworkProfile profile = BUILT_IN.get(key);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown network profile '" + name + "'; use one of " + BUILT_IN.keySet()
+                    + " or define network.profiles." + key);
+        }
+        return profile;
+    }
+
+    static NetworkProfile parse(String name, String spec) {
+        Builder builder = new Builder(name);
+        for (String setting : spec.split(",")) {
+            String[] pair = setting.split("=", 2);
+            String key = pair[0].trim();
+            String value = pair.length > 1 ? pair[1].trim() : "";
+            try {
+                switch (key) {
+                    case "offline":
+                        if (value.isEmpty() || Boolean.parseBoolean(value)) {
+                            builder.offline();
+                        }
+                        break;
+                    case "latency":
+                        builder.latency(Integer.parseInt(value));
+                        break;
+                    case "download":
+                        builder.download(Integer.parseInt(value));
+                        break;
+                    case "upload":
+                        builder.upload(Integer.parseInt(value));
+                        break;
+                    case "loss":
+                        builder.packetLoss(Double.parseDouble(value));
+                        break;
+                    case "cpu":
+                        builder.cpuThrottling(Double.parseDouble(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown setting '" + key + "' in network profile " + name);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + key + " '" + value + "' in network profile " + name, e);
+            }
+        }
+        return builder.build();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public int getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public int getDownloadKbps() {
+        return downloadKbps;
+    }
+
+    public int getUploadKbps() {
+        return uploadKbps;
+    }
+
+    public double getPacketLossPercent() {
+        return packetLossPercent;
+    }
+
+    public double getCpuThrottlingRate() {
+        return cpuThrottlingRate;
+    }
+
+    @Override
+    public String toString() {
+        if (offline) {
+            return name + " (offline)";
+        }
+        return String.format(Locale.ROOT, "%s (%d ms, %s down, %s up, %.1f%% loss, CPU x%.1f)", name, latencyMillis,
+                kbps(downloadKbps), kbps(uploadKbps), packetLossPercent, cpuThrottlingRate);
+    }
+
+    private static String kbps(int value) {
+        return value < 0 ? "unlimited" : value + " kbit/s";
+    }
+}
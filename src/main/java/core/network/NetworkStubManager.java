@@ -0,0 +1,153 @@
+package core.network;
+
+import core.config.ConfigReader;
+import core.drivers.TestTagUtil;
+import io.cucumber.java.Scenario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Starts one {@link NetworkStubProxy} per scenario when {@code network.stub.mode} is
+ * {@code record} or {@code replay}, and exposes it to {@code WebDriverFactory} for the current thread.
+ */
+public class NetworkStubManager {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkStubManager.class);
+    private static final ThreadLocal<NetworkStubProxy> PROXY = new ThreadLocal<>();
+    private static volatile SSLContext sslContext;
+
+    /**
+     * Returns the stub serving the current thread's scenario, or null when stubbing is off.
+     */
+    public static NetworkStubProxy getCurrentProxy() {
+        return PROXY.get();
+    }
+
+    public static boolean isEnabled() {
+        return !"off".equals(getMode());
+    }
+
+    public void startForScenario(Scenario scenario) {
+        if (!isEnabled()) {
+            return;
+        }
+        stop();
+
+        Path archiveDir = Paths.get(ConfigReader.getConfigProp("network.stub.dir", "src/test/resources/network-archives"))
+                .resolve(archiveName(scenario));
+        NetworkStubProxy.Mode mode = NetworkStubProxy.Mode.valueOf(getMode().toUpperCase(Locale.ROOT));
+        if (mode == NetworkStubProxy.Mode.REPLAY && !Files.exists(archiveDir)) {
+            logger.warn("No network archive at {}, every request will miss", archiveDir);
+        }
+
+        try {
+            NetworkStubProxy proxy = new NetworkStubProxy(mode, NetworkArchive.open(archiveDir), getSslContext(),
+                    Duration.ofMillis(Long.parseLong(ConfigReader.getConfigProp("network.stub.latency.ms", "0"))),
+                    NetworkStubProxy.MissPolicy.valueOf(
+                            ConfigReader.getConfigProp("network.stub.replay.miss", "fail").toUpperCase(Locale.ROOT)));
+            PROXY.set(proxy);
+            logger.info("Network stub {} on {} using {}", mode, proxy.getAddress(), archiveDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start network stub", e);
+        }
+    }
+
+    /**
+     * Stops the current thread's stub, saving the archive in record mode.
+     */
+    public void stop() {
+        NetworkStubProxy proxy = PROXY.get();
+        if (proxy != null) {
+            try {
+                proxy.close();
+            } finally {
+                PROXY.remove();
+            }
+        }
+    }
+
+    private static String getMode() {
+        return ConfigReader.getConfigProp("network.stub.mode", "off").toLowerCase(Locale.ROOT);
+    }
+
+    // Feature scope shares one archive across the feature's scenarios; scenario scope keeps them apart
+    private static String archiveName(Scenario scenario) {
+        String uri = scenario.getUri().toString();
+        String feature = uri.substring(uri.lastIndexOf('/') + 1).replaceFirst("\\.feature$", "");
+        if ("feature".equalsIgnoreCase(ConfigReader.getConfigProp("network.stub.scope", "scenario"))) {
+            return sanitize(feature);
+        }
+        String testCase = TestTagUtil.extractTestCaseTag(scenario);
+        return sanitize(feature) + "/" + sanitize(testCase.isEmpty() ? scenario.getName() : testCase.substring(1));
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+
+    private static SSLContext getSslContext() {
+        if (sslContext == null) {
+            synchronized (NetworkStubManager.class) {
+                if (sslContext == null) {
+                    sslContext = createSslContext();
+                }
+            }
+        }
+        return sslContext;
+    }
+
+    private static SSLContext createSslContext() {
+        String password = ConfigReader.getConfigProp("network.stub.keystore.password", "changeit");
+        Path keystore = Paths.get(ConfigReader.getConfigProp("network.stub.keystore", "target/network-stub/stub.p12"));
+        try {
+            if (!Files.exists(keystore)) {
+                generateKeystore(keystore, password);
+            }
+            KeyStore store = KeyStore.getInstance("PKCS12");
+            try (InputStream in = Files.newInputStream(keystore)) {
+                store.load(in, password.toCharArray());
+            }
+            KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagers.init(store, password.toCharArray());
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagers.getKeyManagers(), null, null);
+            return context;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot load network stub keystore " + keystore, e);
+        }
+    }
+
+    // Self-signed certificate generated with the JDK's keytool; browsers accept it via acceptInsecureCerts
+    private static void generateKeystore(Path keystore, String password) throws IOException {
+        Files.createDirectories(keystore.toAbsolutePath().getParent());
+        String keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool").toString();
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "network-stub",
+                "-keyalg", "RSA", "-keysize", "2048", "-validity", "3650",
+                "-dname", "CN=test-armor network stub", "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+                "-storetype", "PKCS12", "-keystore", keystore.toString(),
+                "-storepass", password, "-keypass", password)
+                .redirectErrorStream(true)
+                .start();
+        try {
+            String output = new String(process.getInputStream().readAllBytes());
+            if (process.waitFor() != 0) {
+                throw new IOException("keytool failed: " + output);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating keystore", e);
+        }
+    }
+}
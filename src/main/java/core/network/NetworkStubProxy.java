@@ -0,0 +1,341 @@
+package core.network;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP/HTTPS proxy that either records every exchange into a {@link NetworkArchive}
+ * while forwarding it upstream, or replays archived responses without touching the network.
+ * <p>
+ * HTTPS is intercepted by terminating TLS with the stub's own certificate, so browsers must
+ * be started with {@code acceptInsecureCerts}. Connections are served over HTTP/1.1 only.
+ */
+public class NetworkStubProxy implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkStubProxy.class);
+    private static final Set<String> HOP_BY_HOP_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-connection", "proxy-authorization", "proxy-authenticate",
+            "te", "trailer", "transfer-encoding", "upgrade", "content-length", "host", "expect"));
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+
+    public enum Mode {
+        RECORD, REPLAY
+    }
+
+    public enum MissPolicy {
+        FAIL, PASSTHROUGH
+    }
+
+    private final Mode mode;
+    private final NetworkArchive archive;
+    private final SSLContext sslContext;
+    private final Duration latency;
+    private final MissPolicy missPolicy;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final HttpClient upstream;
+
+    public NetworkStubProxy(Mode mode, NetworkArchive archive, SSLContext sslContext,
+                            Duration latency, MissPolicy missPolicy) throws IOException {
+        this.mode = mode;
+        this.archive = archive;
+        this.sslContext = sslContext;
+        this.latency = latency;
+        this.missPolicy = missPolicy;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "network-stub-" + serverSocket.getLocalPort());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.upstream = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        connections.execute(this::acceptLoop);
+    }
+
+    /**
+     * Returns the {@code host:port} browsers should use as their HTTP and SSL proxy.
+     */
+    public String getAddress() {
+        return serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public NetworkArchive getArchive() {
+        return archive;
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.debug("Error closing network stub socket: {}", e.getMessage());
+        }
+        connections.shutdownNow();
+        if (mode == Mode.RECORD) {
+            archive.save();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handleConnection(socket));
+            } catch (SocketException e) {
+                return; // closed
+            } catch (IOException e) {
+                logger.warn("Network stub failed to accept connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        try (Socket client = socket) {
+            InputStream in = new BufferedInputStream(client.getInputStream());
+            OutputStream out = new BufferedOutputStream(client.getOutputStream());
+            String origin = null;
+
+            while (true) {
+                RequestHead request = readRequestHead(in);
+                if (request == null) {
+                    return;
+                }
+
+                if ("CONNECT".equals(request.method)) {
+                    out.write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+                    out.flush();
+                    SSLSocket tls = (SSLSocket) sslContext.getSocketFactory()
+                            .createSocket(client, in, true);
+                    tls.setUseClientMode(false);
+                    in = new BufferedInputStream(tls.getInputStream());
+                    out = new BufferedOutputStream(tls.getOutputStream());
+                    origin = "https://" + stripDefaultPort(request.target, 443);
+                    continue;
+                }
+
+                String url = request.target.startsWith("/") ? origin + request.target : request.target;
+                byte[] body = readBody(in, request.headers);
+                StubResponse response = mode == Mode.RECORD
+                        ? forward(request, url, body, true)
+                        : replay(request, url, body);
+
+                boolean keepAlive = !"close".equalsIgnoreCase(firstHeader(request.headers, "connection"));
+                writeResponse(out, request.method, response, keepAlive);
+                if (!keepAlive) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Network stub connection ended: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private StubResponse replay(RequestHead request, String url, byte[] body)
+            throws IOException, InterruptedException {
+        String key = NetworkArchive.keyFor(request.method, url, body);
+        NetworkArchive.Entry entry = archive.next(key);
+        if (entry == null) {
+            if (missPolicy == MissPolicy.PASSTHROUGH) {
+                logger.info("Network stub miss, passing through: {}", key);
+                return forward(request, url, body, false);
+            }
+            logger.warn("Network stub miss, no recording for: {}", key);
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            headers.put("X-Network-Stub", Collections.singletonList("miss"));
+            return new StubResponse(404, headers, ("No recording for " + key).getBytes(StandardCharsets.UTF_8));
+        }
+        if (!latency.isZero()) {
+            Thread.sleep(latency.toMillis());
+        }
+        return new StubResponse(entry.status, entry.headers, archive.readBody(entry));
+    }
+
+    private StubResponse forward(RequestHead request, String url, byte[] body, boolean record)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .method(request.method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        request.headers.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+
+        HttpResponse<byte[]> upstreamResponse = upstream.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        upstreamResponse.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":") && !HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, values);
+            }
+        });
+
+        if (record) {
+            archive.record(NetworkArchive.keyFor(request.method, url, body), request.method, url,
+                    upstreamResponse.statusCode(), headers, upstreamResponse.body());
+        }
+        return new StubResponse(upstreamResponse.statusCode(), headers, upstreamResponse.body());
+    }
+
+    private static void writeResponse(OutputStream out, String method, StubResponse response, boolean keepAlive)
+            throws IOException {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(response.status).append(" Stub\r\n");
+        response.headers.forEach((name, values) -> values.forEach(value ->
+                head.append(name).append(": ").append(value).append("\r\n")));
+        head.append("Content-Length: ").append(response.body.length).append("\r\n");
+        head.append("Connection: ").append(keepAlive ? "keep-alive" : "close").append("\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (!"HEAD".equals(method)) {
+            out.write(response.body);
+        }
+        out.flush();
+    }
+
+    // region Request parsing
+
+    private static final class RequestHead {
+        private final String method;
+        private final String target;
+        private final Map<String, List<String>> headers;
+
+        private RequestHead(String method, String target, Map<String, List<String>> headers) {
+            this.method = method;
+            this.target = target;
+            this.headers = headers;
+        }
+    }
+
+    private static final class StubResponse {
+        private final int status;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        private StubResponse(int status, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    private static RequestHead readRequestHead(InputStream in) throws IOException {
+        String requestLine = readLine(in);
+        if (requestLine == null || requestLine.isEmpty()) {
+            return null;
+        }
+        String[] parts = requestLine.split(" ");
+        if (parts.length < 3) {
+            throw new IOException("Malformed request line: " + requestLine);
+        }
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        int headerBytes = 0;
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            headerBytes += line.length();
+            if (headerBytes > MAX_HEADER_BYTES) {
+                throw new IOException("Request headers too large");
+            }
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.computeIfAbsent(line.substring(0, colon).trim(), k -> new ArrayList<>())
+                        .add(line.substring(colon + 1).trim());
+            }
+        }
+        return new RequestHead(parts[0].toUpperCase(Locale.ROOT), parts[1], headers);
+    }
+
+    private static byte[] readBody(InputStream in, Map<String, List<String>> headers) throws IOException {
+        if ("chunked".equalsIgnoreCase(firstHeader(headers, "transfer-encoding"))) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            int size;
+            while ((size = Integer.parseInt(readLine(in).split(";")[0].trim(), 16)) > 0) {
+                body.write(readFully(in, size));
+                readLine(in);
+            }
+            while (!readLine(in).isEmpty()) {
+                // skip trailers
+            }
+            return body.toByteArray();
+        }
+        String contentLength = firstHeader(headers, "content-length");
+        return contentLength == null ? new byte[0] : readFully(in, Integer.parseInt(contentLength));
+    }
+
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] data = in.readNBytes(length);
+        if (data.length < length) {
+            throw new IOException("Unexpected end of request body");
+        }
+        return data;
+    }
+
+    // Reads an ISO-8859-1 line terminated by CRLF or LF; null at end of stream
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                int end = line.length();
+                return end > 0 && line.charAt(end - 1) == '\r' ? line.substring(0, end - 1) : line.toString();
+            }
+            line.append((char) c);
+        }
+        return line.length() == 0 ? null : line.toString();
+    }
+
+    private static String firstHeader(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    private static String stripDefaultPort(String authority, int defaultPort) {
+        String suffix = ":" + defaultPort;
+        return authority.endsWith(suffix) ? authority.substring(0, authority.length() - suffix.length()) : authority;
+    }
+
+    // endregion
+}
@@ -0,0 +1,216 @@
+package core.reports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a static HTML summary from the NDJSON event log written by {@link LiveReportPlugin}.
+ * <p>
+ * Each {@link #update()} reads only the complete lines appended since the previous call, so refreshing the page
+ * during a long run costs as much as the new events. The page is replaced atomically and reloads itself until the
+ * run has finished, so it can be opened at any moment, including after the JVM died mid-run.
+ * <p>
+ * Usage: {@code LiveHtmlReport <events.ndjson> [index.html]}
+ */
+public class LiveHtmlReport {
+    private static final Logger logger = LoggerFactory.getLogger(LiveHtmlReport.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Path events;
+    private final Path html;
+    private final Map<String, ScenarioRow> scenarios = new LinkedHashMap<>();
+    private long offset;
+    private String runStarted = "";
+    private boolean runFinished;
+
+    public LiveHtmlReport(Path events, Path html) {
+        this.events = events;
+        this.html = html;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: LiveHtmlReport <events.ndjson> [index.html]");
+            System.exit(2);
+        }
+        Path events = Paths.get(args[0]);
+        Path html = args.length > 1 ? Paths.get(args[1]) : events.resolveSibling("index.html");
+        new LiveHtmlReport(events, html).update();
+        System.out.println("Report written to " + html.toAbsolutePath());
+    }
+
+    /**
+     * Reads new events and rewrites the HTML page; called from a single thread
+     */
+    public synchronized void update() throws IOException {
+        if (Files.exists(events)) {
+            readNewEvents();
+        }
+        Path temp = html.resolveSibling(html.getFileName() + ".tmp");
+        Files.writeString(temp, render());
+        Files.move(temp, html, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void readNewEvents() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(events.toFile(), "r")) {
+            file.seek(offset);
+            byte[] buffer = new byte[1 << 16];
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = offset;
+            int read;
+            while ((read = file.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    position++;
+                    if (buffer[i] != '\n') {
+                        line.write(buffer[i]);
+                        continue;
+                    }
+                    apply(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    // Only whole lines are consumed; a line still being written is read again next time
+                    offset = position;
+                }
+            }
+        }
+    }
+
+    private void apply(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(line);
+        } catch (IOException e) {
+            logger.debug("Skipping malformed event: {}", line);
+            return;
+        }
+        String id = event.path("id").asText();
+        switch (event.path("type").asText()) {
+            case "run_started":
+                runStarted = event.path("time").asText();
+                break;
+            case "scenario_started":
+                ScenarioRow row = new ScenarioRow();
+                row.name = event.path("name").asText();
+                row.location = event.path("uri").asText() + ":" + event.path("line").asText();
+                row.thread = event.path("thread").asText();
+                scenarios.put(id, row);
+                break;
+            case "step_finished":
+                ScenarioRow running = scenarios.get(id);
+                if (running != null) {
+                    running.steps++;
+                    if ("FAILED".equals(event.path("status").asText()) && running.failedStep == null) {
+                        running.failedStep = event.path("step").asText();
+                        running.error = event.path("error").asText(null);
+                    }
+                }
+                break;
+            case "scenario_finished":
+                ScenarioRow finished = scenarios.get(id);
+                if (finished != null) {
+                    finished.status = event.path("status").asText();
+                    finished.durationMs = event.path("duration_ms").asLong();
+                }
+                break;
+            case "run_finished":
+                runFinished = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    // region Rendering
+
+    private String render() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        List<ScenarioRow> failures = new ArrayList<>();
+        for (ScenarioRow row : scenarios.values()) {
+            counts.merge(row.status, 1, Integer::sum);
+            if ("FAILED".equals(row.status)) {
+                failures.add(row);
+            }
+        }
+
+        StringBuilder page = new StringBuilder();
+        page.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Test run</title>");
+        if (!runFinished) {
+            page.append("<meta http-equiv=\"refresh\" content=\"10\">");
+        }
+        page.append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:left}")
+                .append(".PASSED{color:#2e7d32}.FAILED{color:#c62828}.RUNNING{color:#1565c0}</style></head><body>");
+        page.append("<h1>Test run ").append(runFinished ? "finished" : "in progress").append("</h1>");
+        page.append("<p>Started ").append(escape(runStarted)).append(" &middot; ").append(scenarios.size()).append(" scenarios");
+        counts.forEach((status, count) -> page.append(" &middot; <span class=\"").append(escape(status)).append("\">")
+                .append(count).append(' ').append(escape(status.toLowerCase())).append("</span>"));
+        page.append("</p>");
+
+        if (!failures.isEmpty()) {
+            page.append("<h2>Failures</h2><table><tr><th>Scenario</th><th>Step</th><th>Error</th></tr>");
+            for (ScenarioRow row : failures) {
+                page.append("<tr><td>").append(escape(row.name)).append("<br><small>").append(escape(row.location))
+                        .append("</small></td><td>").append(escape(row.failedStep)).append("</td><td><pre>")
+                        .append(escape(firstLine(row.error))).append("</pre></td></tr>");
+            }
+            page.append("</table>");
+        }
+
+        page.append("<h2>Scenarios</h2><table><tr><th>Status</th><th>Scenario</th><th>Location</th><th>Steps</th>")
+                .append("<th>Duration (ms)</th><th>Thread</th></tr>");
+        for (ScenarioRow row : scenarios.values()) {
+            page.append("<tr><td class=\"").append(escape(row.status)).append("\">").append(escape(row.status))
+                    .append("</td><td>").append(escape(row.name)).append("</td><td>").append(escape(row.location))
+                    .append("</td><td>").append(row.steps).append("</td><td>")
+                    .append(row.durationMs >= 0 ? String.valueOf(row.durationMs) : "")
+                    .append("</td><td>").append(escape(row.thread)).append("</td></tr>");
+        }
+        page.append("</table></body></html>");
+        return page.toString();
+    }
+
+    private static String firstLine(String text) {
+        if (text == null) {
+            return "";
+        }
+        int end = text.indexOf('\n');
+        return end < 0 ? text : text.substring(0, end);
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    // endregion
+
+    private static class ScenarioRow {
+        private String name;
+        private String location;
+        private String thread;
+        private String status = "RUNNING";
+        private long durationMs = -1;
+        private int steps;
+        private String failedStep;
+        private String error;
+    }
+}
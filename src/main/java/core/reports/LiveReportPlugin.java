@@ -0,0 +1,165 @@
+package core.reports;
+
+import core.config.ConfigReader;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cucumber plugin streaming scenario and step results to {@code events.ndjson} while the run is going on, and
+ * keeping an HTML summary next to it up to date.
+ * <p>
+ * Add {@code "core.reports.LiveReportPlugin"} (or {@code "core.reports.LiveReportPlugin:<dir>"}) to the runner's
+ * plugins. Events are queued without blocking the scenario threads and appended by one writer thread, which
+ * syncs the file every {@code live.report.fsync.ms} and then refreshes {@code index.html}. If the JVM dies,
+ * the log is intact up to the last sync and {@code LiveHtmlReport} can rebuild the page from it.
+ */
+public class LiveReportPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(LiveReportPlugin.class);
+
+    private final Path outputDir;
+    private NdjsonEventWriter writer;
+    private Thread shutdownHook;
+
+    public LiveReportPlugin() {
+        this(ConfigReader.getConfigProp("live.report.dir", "target/live-report"));
+    }
+
+    public LiveReportPlugin(String outputDir) {
+        this.outputDir = Paths.get(outputDir);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, this::onRunStarted);
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onScenarioStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onRunFinished);
+    }
+
+    private void onRunStarted(TestRunStarted event) {
+        Path events = outputDir.resolve("events.ndjson");
+        LiveHtmlReport report = new LiveHtmlReport(events, outputDir.resolve("index.html"));
+        long syncMs = Long.parseLong(ConfigReader.getConfigProp("live.report.fsync.ms", "1000"));
+        try {
+            // A previous run's log would otherwise be appended to
+            Files.deleteIfExists(events);
+            writer = new NdjsonEventWriter(events, syncMs, () -> {
+                try {
+                    report.update();
+                } catch (IOException e) {
+                    logger.warn("Could not refresh live report: {}", e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.error("Live report disabled, cannot write to {}: {}", outputDir, e.getMessage());
+            return;
+        }
+        // Flushes what is queued when the run is aborted before TestRunFinished
+        shutdownHook = new Thread(writer::close, "live-report-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        Map<String, Object> started = event("run_started");
+        started.put("time", event.getInstant().toString());
+        writer.offer(started);
+        logger.info("Live report: {}", outputDir.resolve("index.html").toAbsolutePath());
+    }
+
+    private void onScenarioStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        Map<String, Object> started = event("scenario_started");
+        started.put("id", testCase.getId().toString());
+        started.put("name", testCase.getName());
+        started.put("uri", String.valueOf(testCase.getUri()));
+        started.put("line", testCase.getLocation().getLine());
+        started.put("tags", testCase.getTags());
+        started.put("thread", Thread.currentThread().getName());
+        started.put("time", event.getInstant().toString());
+        offer(started);
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        Map<String, Object> finished = event("step_finished");
+        finished.put("id", event.getTestCase().getId().toString());
+        finished.put("step", describe(event.getTestStep()));
+        putResult(finished, event.getResult());
+        offer(finished);
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        Map<String, Object> finished = event("scenario_finished");
+        finished.put("id", event.getTestCase().getId().toString());
+        putResult(finished, event.getResult());
+        finished.put("time", event.getInstant().toString());
+        offer(finished);
+    }
+
+    private void onRunFinished(TestRunFinished event) {
+        if (writer == null) {
+            return;
+        }
+        Map<String, Object> finished = event("run_finished");
+        finished.put("time", event.getInstant().toString());
+        writer.offer(finished);
+        writer.close();
+        // A warm JVM runs again, and each hook would keep its closed writer alive
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down, the hook is running or about to
+        }
+    }
+
+    private void offer(Map<String, Object> event) {
+        if (writer != null) {
+            writer.offer(event);
+        }
+    }
+
+    private static Map<String, Object> event(String type) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        return event;
+    }
+
+    private static void putResult(Map<String, Object> event, Result result) {
+        event.put("status", result.getStatus().name());
+        event.put("duration_ms", result.getDuration().toMillis());
+        if (result.getError() != null) {
+            StringWriter trace = new StringWriter();
+            result.getError().printStackTrace(new PrintWriter(trace));
+            event.put("error", trace.toString());
+        }
+    }
+
+    private static String describe(TestStep step) {
+        if (step instanceof PickleStepTestStep) {
+            PickleStepTestStep pickleStep = (PickleStepTestStep) step;
+            return pickleStep.getStep().getKeyword() + pickleStep.getStep().getText();
+        }
+        if (step instanceof HookTestStep) {
+            return "Hook " + ((HookTestStep) step).getHookType() + " " + step.getCodeLocation();
+        }
+        return step.getCodeLocation();
+    }
+}
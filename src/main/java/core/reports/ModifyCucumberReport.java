@@ -0,0 +1,354 @@
+package core.reports;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import core.config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Post-processes the Cucumber JSON report in one streaming pass, so memory use does not grow with the report size.
+ * <ul>
+ *     <li>Each feature gets an {@code environment} object from {@code cucumber-report.properties}.</li>
+ *     <li>Each step and hook result gets {@code duration_ms}, and each scenario a {@code timing} summary with its
+ *     step and hook totals and slowest step.</li>
+ *     <li>Scenarios that logged a Sauce Labs session link get it as {@code session_url}.</li>
+ *     <li>Embeddings are decoded straight to files under {@code embeddings/} next to the output, named by content hash,
+ *     and replaced by a {@code path} relative to the output file.</li>
+ * </ul>
+ * Usage: {@code ModifyCucumberReport [input.json] [output.json]}, defaulting to {@code cucumber.json.report.path} and
+ * {@code cucumber.json.processed.path}.
+ */
+public class ModifyCucumberReport {
+    private static final Logger logger = LoggerFactory.getLogger(ModifyCucumberReport.class);
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final Pattern SESSION_LINK = Pattern.compile("https://app\\.saucelabs\\.com/tests/[\\w-]+");
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}]+)}");
+
+    private final Map<String, String> environment;
+    private final Path embeddingsDir;
+    private final Path outputDir;
+    private int embeddings;
+    private long embeddedBytes;
+
+    public ModifyCucumberReport(Map<String, String> environment, Path outputFile) {
+        this.environment = environment;
+        this.outputDir = outputFile.toAbsolutePath().getParent();
+        this.embeddingsDir = outputDir.resolve("embeddings");
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path input = Paths.get(args.length > 0 ? args[0]
+                : ConfigReader.getConfigProp("cucumber.json.report.path", "target/cucumber-reports/CucumberTestReport.json"));
+        Path output = Paths.get(args.length > 1 ? args[1]
+                : ConfigReader.getConfigProp("cucumber.json.processed.path", "target/cucumber-reports/CucumberTestReport-processed.json"));
+        if (!Files.exists(input)) {
+            logger.warn("No Cucumber JSON report at {}, nothing to process", input.toAbsolutePath());
+            return;
+        }
+        long start = System.nanoTime();
+        ModifyCucumberReport processor = new ModifyCucumberReport(loadEnvironment(), output);
+        processor.process(input, output);
+        logger.info("Processed {} ({} MB) into {} in {} ms, externalized {} embeddings ({} MB)", input,
+                Files.size(input) / (1024 * 1024), output, (System.nanoTime() - start) / 1_000_000,
+                processor.embeddings, processor.embeddedBytes / (1024 * 1024));
+    }
+
+    /**
+     * Reads {@code report.environment.file} from the classpath. Placeholders Maven could not filter,
+     * such as {@code ${BUILD_NUMBER}}, are taken from environment variables, or the entry is left out.
+     */
+    public static Map<String, String> loadEnvironment() throws IOException {
+        Map<String, String> environment = new TreeMap<>();
+        String resource = ConfigReader.getConfigProp("report.environment.file", "cucumber-report.properties");
+        try (InputStream stream = ModifyCucumberReport.class.getClassLoader().getResourceAsStream(resource)) {
+            if (stream == null) {
+                return environment;
+            }
+            Properties properties = new Properties();
+            properties.load(stream);
+            for (String key : properties.stringPropertyNames()) {
+                String value = resolvePlaceholders(properties.getProperty(key));
+                if (value != null) {
+                    environment.put(key, value);
+                }
+            }
+        }
+        return environment;
+    }
+
+    private static String resolvePlaceholders(String value) {
+        Matcher matcher = PLACEHOLDER.matcher(value);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String replacement = System.getenv(matcher.group(1));
+            if (replacement == null) {
+                return null;
+            }
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(replacement));
+        }
+        return matcher.appendTail(resolved).toString();
+    }
+
+    public void process(Path input, Path output) throws IOException {
+        Files.createDirectories(outputDir);
+        try (JsonParser parser = jsonFactory.createParser(input.toFile());
+             JsonGenerator generator = jsonFactory.createGenerator(
+                     new BufferedOutputStream(Files.newOutputStream(output), 1 << 16))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Not a Cucumber JSON report (expected an array of features): " + input);
+            }
+            generator.writeStartArray();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                copyFeature(parser, generator);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    // region Report structure
+
+    private void copyFeature(JsonParser parser, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            generator.writeFieldName(field);
+            if ("elements".equals(field)) {
+                copyArray(parser, generator, () -> copyElement(parser, generator));
+            } else {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        if (!environment.isEmpty()) {
+            generator.writeObjectFieldStart("environment");
+            for (Map.Entry<String, String> entry : environment.entrySet()) {
+                generator.writeStringField(entry.getKey(), entry.getValue());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private void copyElement(JsonParser parser, JsonGenerator generator) throws IOException {
+        ElementTiming timing = new ElementTiming();
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            generator.writeFieldName(field);
+            if ("steps".equals(field)) {
+                copyArray(parser, generator, () -> copyStep(parser, generator, timing, false));
+            } else if ("before".equals(field) || "after".equals(field)) {
+                copyArray(parser, generator, () -> copyStep(parser, generator, timing, true));
+            } else {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        generator.writeObjectFieldStart("timing");
+        generator.writeNumberField("steps_ms", toMillis(timing.stepsNanos));
+        generator.writeNumberField("hooks_ms", toMillis(timing.hooksNanos));
+        if (timing.slowestStep != null) {
+            generator.writeStringField("slowest_step", timing.slowestStep);
+            generator.writeNumberField("slowest_step_ms", toMillis(timing.slowestStepNanos));
+        }
+        generator.writeEndObject();
+        if (timing.sessionUrl != null) {
+            generator.writeStringField("session_url", timing.sessionUrl);
+        }
+        generator.writeEndObject();
+    }
+
+    // Steps and hooks share the same shape; steps may carry their own before/after step hooks
+    private void copyStep(JsonParser parser, JsonGenerator generator, ElementTiming timing, boolean hook) throws IOException {
+        String name = null;
+        long duration = 0;
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            generator.writeFieldName(field);
+            switch (field) {
+                case "result":
+                    duration = copyResult(parser, generator);
+                    break;
+                case "embeddings":
+                    copyArray(parser, generator, () -> copyEmbedding(parser, generator));
+                    break;
+                case "output":
+                    copyArray(parser, generator, () -> {
+                        String line = parser.getText();
+                        Matcher link = SESSION_LINK.matcher(line);
+                        if (timing.sessionUrl == null && link.find()) {
+                            timing.sessionUrl = link.group();
+                        }
+                        generator.writeString(line);
+                    });
+                    break;
+                case "before":
+                case "after":
+                    copyArray(parser, generator, () -> copyStep(parser, generator, timing, true));
+                    break;
+                case "name":
+                    name = parser.getText();
+                    generator.copyCurrentStructure(parser);
+                    break;
+                default:
+                    generator.copyCurrentStructure(parser);
+            }
+        }
+        generator.writeEndObject();
+        timing.add(name, duration, hook);
+    }
+
+    // Returns the duration in nanoseconds, or 0 when the step did not run
+    private long copyResult(JsonParser parser, JsonGenerator generator) throws IOException {
+        long duration = 0;
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("duration".equals(field)) {
+                duration = parser.getLongValue();
+            }
+            generator.writeFieldName(field);
+            generator.copyCurrentStructure(parser);
+        }
+        generator.writeNumberField("duration_ms", toMillis(duration));
+        generator.writeEndObject();
+        return duration;
+    }
+
+    private void copyEmbedding(JsonParser parser, JsonGenerator generator) throws IOException {
+        Path data = null;
+        String mimeType = null;
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("data".equals(field)) {
+                data = externalize(parser);
+                continue;
+            }
+            if ("mime_type".equals(field)) {
+                mimeType = parser.getText();
+            }
+            generator.writeFieldName(field);
+            generator.copyCurrentStructure(parser);
+        }
+        if (data != null) {
+            Path named = data.resolveSibling(data.getFileName() + extensionOf(mimeType));
+            Files.move(data, named, StandardCopyOption.REPLACE_EXISTING);
+            generator.writeStringField("path", outputDir.relativize(named).toString().replace('\\', '/'));
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Decodes the base64 value straight to a file named by its SHA-256, so identical screenshots are stored once
+     */
+    private Path externalize(JsonParser parser) throws IOException {
+        Files.createDirectories(embeddingsDir);
+        Path temp = Files.createTempFile(embeddingsDir, "embedding", ".tmp");
+        MessageDigest digest = sha256();
+        try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16), digest)) {
+            embeddedBytes += parser.readBinaryValue(out);
+        }
+        embeddings++;
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return Files.move(temp, embeddingsDir.resolve(hash.toString()), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private interface ItemCopier {
+        void copy() throws IOException;
+    }
+
+    // Copies an array whose parser is positioned on START_ARRAY, handing each item to the copier
+    private static void copyArray(JsonParser parser, JsonGenerator generator, ItemCopier item) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            generator.copyCurrentStructure(parser);
+            return;
+        }
+        generator.writeStartArray();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            item.copy();
+        }
+        generator.writeEndArray();
+    }
+
+    // endregion
+
+    private static final class ElementTiming {
+        private long stepsNanos;
+        private long hooksNanos;
+        private String slowestStep;
+        private long slowestStepNanos;
+        private String sessionUrl;
+
+        void add(String name, long nanos, boolean hook) {
+            if (hook) {
+                hooksNanos += nanos;
+                return;
+            }
+            stepsNanos += nanos;
+            if (slowestStep == null || nanos > slowestStepNanos) {
+                slowestStep = name;
+                slowestStepNanos = nanos;
+            }
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static String extensionOf(String mimeType) {
+        if (mimeType == null) {
+            return ".bin";
+        }
+        switch (mimeType) {
+            case "image/png":
+                return ".png";
+            case "image/jpeg":
+                return ".jpg";
+            case "text/plain":
+                return ".txt";
+            case "text/html":
+                return ".html";
+            case "application/json":
+                return ".json";
+            default:
+                return ".bin";
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
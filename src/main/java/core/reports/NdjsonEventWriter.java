@@ -0,0 +1,125 @@
+package core.reports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appends events to a newline-delimited JSON file from any number of threads.
+ * <p>
+ * Producers only add to a lock-free queue. A single writer thread drains it, flushes after every batch so
+ * readers see complete lines, and forces the file to disk at most every {@code syncIntervalMs}.
+ * After each sync it runs the {@code onSync} callback, e.g. to refresh a report built from the file.
+ */
+public class NdjsonEventWriter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonEventWriter.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final Path file;
+    private final long syncIntervalNanos;
+    private final Runnable onSync;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public NdjsonEventWriter(Path file, long syncIntervalMs, Runnable onSync) throws IOException {
+        this.file = file;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMs);
+        this.onSync = onSync;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.writer = new Thread(this::writeLoop, "ndjson-writer-" + file.getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues an event to be serialized as one JSON line; never blocks
+     */
+    public void offer(Object event) {
+        if (!closed) {
+            queue.offer(event);
+        }
+    }
+
+    private void writeLoop() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16)) {
+            long lastSync = System.nanoTime();
+            boolean unsynced = false;
+            while (true) {
+                boolean finished = closed;
+                int written = drain(out);
+                if (written > 0) {
+                    out.flush();
+                    unsynced = true;
+                }
+                if (unsynced && (finished || System.nanoTime() - lastSync >= syncIntervalNanos)) {
+                    channel.force(false);
+                    lastSync = System.nanoTime();
+                    unsynced = false;
+                    runOnSync();
+                }
+                if (finished) {
+                    return;
+                }
+                if (written == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Event log {} stopped: {}", file, e.getMessage(), e);
+        }
+    }
+
+    private int drain(OutputStream out) throws IOException {
+        int written = 0;
+        Object event;
+        while ((event = queue.poll()) != null) {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+            written++;
+        }
+        return written;
+    }
+
+    private void runOnSync() {
+        if (onSync == null) {
+            return;
+        }
+        try {
+            onSync.run();
+        } catch (RuntimeException e) {
+            logger.warn("Event log sync callback failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes everything queued so far, forces it to disk and stops the writer thread
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
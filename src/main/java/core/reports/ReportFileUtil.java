@@ -1,23 +1,25 @@
 package core.reports;
 
 import core.config.ConfigReader;
+import core.util.DateTimeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public class ReportFileUtil {
+    private static final Logger logger = LoggerFactory.getLogger(ReportFileUtil.class);
 
     private static final String TEST_REPORT_DIR = ConfigReader.getConfigProp("test.report.dir");
     private static final String CUCUMBER_REPORT_PATH = ConfigReader.getConfigProp("cucumber.report.path");
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String TIMESTAMP_PATTERN = "yyyyMMdd-HHmmss";
 
     public static void copyReport() {
         // Get the current timestamp for the file name
-        String formattedDateTime = LocalDateTime.now().format(DATE_FORMATTER);
+        String formattedDateTime = DateTimeUtil.getCurrentDateTime(TIMESTAMP_PATTERN);
 
         // Define source and destination paths
         Path source = Paths.get(CUCUMBER_REPORT_PATH);
@@ -36,8 +38,7 @@ public class ReportFileUtil {
             // Print a clickable link to the copied file
             System.out.println("HTML Report copied successfully: file:///" + destination.toAbsolutePath().toString().replace("\\", "/"));
         } catch (IOException e) {
-            // Log the error
-            e.printStackTrace();
+            logger.error("Failed to copy the HTML report to {}: {}", destination, e.getMessage(), e);
         }
     }
 }
@@ -0,0 +1,132 @@
+package core.reports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the Cucumber JSON reports of sharded runs into one report, and gathers each shard's other artifacts.
+ * <p>
+ * The shards directory holds one subdirectory per shard, as written by the {@code shards} Maven profile or
+ * downloaded from separate CI machines. Features that ran on several shards are merged into one feature with
+ * their scenarios back in feature-file order. Everything else in a shard directory (screenshots, step timings)
+ * is copied to {@code <output>/<shard directory>/}.
+ * <p>
+ * Usage: {@code ShardReportMerger <shardsDir> <outputDir> [reportFileName]}
+ */
+public class ShardReportMerger {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String DEFAULT_REPORT_NAME = "CucumberTestReport.json";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardReportMerger <shardsDir> <outputDir> [reportFileName]");
+            System.exit(2);
+        }
+        Path shardsDir = Paths.get(args[0]);
+        Path outputDir = Paths.get(args[1]);
+        String reportName = args.length > 2 ? args[2] : DEFAULT_REPORT_NAME;
+
+        List<Path> shardDirs = findShardDirs(shardsDir, reportName);
+        if (shardDirs.isEmpty()) {
+            System.err.println("No " + reportName + " found in the subdirectories of " + shardsDir.toAbsolutePath());
+            System.exit(2);
+        }
+
+        Map<String, ObjectNode> features = new LinkedHashMap<>();
+        Files.createDirectories(outputDir);
+        for (Path shardDir : shardDirs) {
+            int scenarios = 0;
+            for (JsonNode feature : objectMapper.readTree(shardDir.resolve(reportName).toFile())) {
+                scenarios += mergeFeature(features, (ObjectNode) feature);
+            }
+            copyArtifacts(shardDir, outputDir.resolve(shardDir.getFileName().toString()), reportName);
+            System.out.printf("%-20s %4d scenarios%n", shardDir.getFileName(), scenarios);
+        }
+
+        ArrayNode merged = objectMapper.createArrayNode();
+        features.values().forEach(feature -> merged.add(sortScenarios(feature)));
+        File report = outputDir.resolve(reportName).toFile();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report, merged);
+        System.out.printf("Merged %d shard(s), %d feature(s) into %s%n", shardDirs.size(), merged.size(), report.getAbsolutePath());
+    }
+
+    private static List<Path> findShardDirs(Path shardsDir, String reportName) throws IOException {
+        if (!Files.isDirectory(shardsDir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> children = Files.list(shardsDir)) {
+            return children.filter(child -> Files.isRegularFile(child.resolve(reportName)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Returns the number of scenarios taken from the feature
+    private static int mergeFeature(Map<String, ObjectNode> features, ObjectNode feature) {
+        String key = feature.path("uri").asText(feature.path("id").asText());
+        ArrayNode elements = feature.withArray("elements");
+        ObjectNode existing = features.putIfAbsent(key, feature);
+        if (existing != null) {
+            existing.withArray("elements").addAll(elements);
+        }
+        int scenarios = 0;
+        for (JsonNode element : elements) {
+            if (!"background".equals(element.path("type").asText())) {
+                scenarios++;
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Restores feature-file order. Each scenario keeps the background elements that precede it in the report.
+     */
+    private static ObjectNode sortScenarios(ObjectNode feature) {
+        List<List<JsonNode>> units = new ArrayList<>();
+        List<JsonNode> current = new ArrayList<>();
+        for (JsonNode element : feature.withArray("elements")) {
+            current.add(element);
+            if (!"background".equals(element.path("type").asText())) {
+                units.add(current);
+                current = new ArrayList<>();
+            }
+        }
+        units.sort(Comparator.comparingInt(unit -> unit.get(unit.size() - 1).path("line").asInt()));
+
+        ArrayNode sorted = feature.putArray("elements");
+        units.forEach(sorted::addAll);
+        current.forEach(sorted::add);
+        return feature;
+    }
+
+    private static void copyArtifacts(Path shardDir, Path target, String reportName) throws IOException {
+        try (Stream<Path> children = Files.list(shardDir)) {
+            for (Path child : (Iterable<Path>) children::iterator) {
+                if (child.getFileName().toString().equals(reportName)) {
+                    continue;
+                }
+                if (Files.isDirectory(child)) {
+                    FileUtils.copyDirectory(child.toFile(), target.resolve(child.getFileName().toString()).toFile());
+                } else {
+                    FileUtils.copyFileToDirectory(child.toFile(), target.toFile());
+                }
+            }
+        }
+    }
+}
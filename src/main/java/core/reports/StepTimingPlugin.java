@@ -0,0 +1,216 @@
+package core.reports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import core.config.ConfigReader;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Cucumber plugin timing every step and hook, aggregated per step definition pattern and per hook method.
+ * <p>
+ * Add {@code "core.reports.StepTimingPlugin"} (or {@code "core.reports.StepTimingPlugin:<dir>"}) to the runner's
+ * plugins. When the run finishes it writes {@code step-timings.json} with count, total, p50, p95 and max per step,
+ * and {@code slowest-steps.txt} with the top {@code step.timing.top} entries by total time.
+ * <p>
+ * Each thread records into its own buffer, so the hot path takes no locks and parallel runs are not distorted.
+ * Buffers are merged once, on {@link TestRunFinished}.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(StepTimingPlugin.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path outputDir;
+    private final ConcurrentLinkedQueue<ThreadRecorder> recorders = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadRecorder> recorder = ThreadLocal.withInitial(() -> {
+        ThreadRecorder created = new ThreadRecorder(Thread.currentThread().getName());
+        recorders.add(created);
+        return created;
+    });
+
+    public StepTimingPlugin() {
+        this(ConfigReader.getConfigProp("step.timing.dir", "target/step-timings"));
+    }
+
+    public StepTimingPlugin(String outputDir) {
+        this.outputDir = Paths.get(outputDir);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeReports());
+    }
+
+    // region Recording
+
+    private void onStepStarted(TestStepStarted event) {
+        recorder.get().startedNanos = System.nanoTime();
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        ThreadRecorder current = recorder.get();
+        long elapsed = System.nanoTime() - current.startedNanos;
+        Status status = event.getResult().getStatus();
+        // Skipped and undefined steps never ran, so they would only drag the percentiles down
+        if (status != Status.SKIPPED && status != Status.UNDEFINED) {
+            current.record(keyOf(event.getTestStep()), elapsed, status == Status.FAILED);
+        }
+    }
+
+    static String keyOf(TestStep step) {
+        if (step instanceof PickleStepTestStep) {
+            return "Step " + ((PickleStepTestStep) step).getPattern();
+        }
+        if (step instanceof HookTestStep) {
+            return "Hook " + ((HookTestStep) step).getHookType() + " " + step.getCodeLocation();
+        }
+        return step.getCodeLocation();
+    }
+
+    /**
+     * Samples recorded by one thread. Only its owner writes to it until the run has finished.
+     */
+    private static class ThreadRecorder {
+        private final String threadName;
+        private final Map<String, Samples> samples = new HashMap<>();
+        private long startedNanos;
+
+        ThreadRecorder(String threadName) {
+            this.threadName = threadName;
+        }
+
+        void record(String key, long nanos, boolean failed) {
+            samples.computeIfAbsent(key, k -> new Samples()).add(nanos, failed);
+        }
+    }
+
+    private static class Samples {
+        private long[] values = new long[16];
+        private int size;
+        private int failures;
+
+        void add(long nanos, boolean failed) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (failed) {
+                failures++;
+            }
+        }
+    }
+
+    // endregion
+
+    // region Reporting
+
+    private void writeReports() {
+        List<StepTiming> timings = aggregate();
+        int top = Integer.parseInt(ConfigReader.getConfigProp("step.timing.top", "20"));
+        try {
+            Files.createDirectories(outputDir);
+            objectMapper.writeValue(outputDir.resolve("step-timings.json").toFile(), timings);
+            Files.writeString(outputDir.resolve("slowest-steps.txt"), formatSlowest(timings, top));
+            logger.info("Step timings written to {}", outputDir.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write step timings to {}", outputDir, e);
+        }
+    }
+
+    private List<StepTiming> aggregate() {
+        Map<String, long[]> merged = new HashMap<>();
+        Map<String, Integer> failures = new HashMap<>();
+        Map<String, Set<String>> threads = new HashMap<>();
+        for (ThreadRecorder threadRecorder : recorders) {
+            threadRecorder.samples.forEach((key, samples) -> {
+                long[] values = Arrays.copyOf(samples.values, samples.size);
+                merged.merge(key, values, StepTimingPlugin::concat);
+                failures.merge(key, samples.failures, Integer::sum);
+                threads.computeIfAbsent(key, k -> new HashSet<>()).add(threadRecorder.threadName);
+            });
+        }
+
+        List<StepTiming> timings = new ArrayList<>(merged.size());
+        merged.forEach((key, values) -> {
+            Arrays.sort(values);
+            StepTiming timing = new StepTiming();
+            timing.step = key;
+            timing.count = values.length;
+            timing.failures = failures.get(key);
+            timing.threads = threads.get(key).size();
+            timing.totalMs = toMillis(Arrays.stream(values).sum());
+            timing.p50Ms = toMillis(percentile(values, 50));
+            timing.p95Ms = toMillis(percentile(values, 95));
+            timing.maxMs = toMillis(values[values.length - 1]);
+            timings.add(timing);
+        });
+        timings.sort(Comparator.comparingDouble((StepTiming timing) -> timing.totalMs).reversed());
+        return timings;
+    }
+
+    private static String formatSlowest(List<StepTiming> timings, int top) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Top %d slowest steps by total time%n%n", Math.min(top, timings.size())));
+        report.append(String.format("%10s %6s %9s %9s %9s  %s%n", "total ms", "count", "p50 ms", "p95 ms", "max ms", "step"));
+        timings.stream().limit(top).forEach(timing -> report.append(String.format("%10.1f %6d %9.1f %9.1f %9.1f  %s%n",
+                timing.totalMs, timing.count, timing.p50Ms, timing.p95Ms, timing.maxMs, timing.step)));
+        return report.toString();
+    }
+
+    // Nearest-rank percentile over sorted values
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] combined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, combined, first.length, second.length);
+        return combined;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * One row of {@code step-timings.json}
+     */
+    public static class StepTiming {
+        public String step;
+        public int count;
+        public int failures;
+        public int threads;
+        public double totalMs;
+        public double p50Ms;
+        public double p95Ms;
+        public double maxMs;
+    }
+
+    // endregion
+}
@@ -0,0 +1,60 @@
+package core.reports;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cucumber plugin logging how long the run took to reach its first Gherkin step: everything spent before any test
+ * code ran, such as JVM start, configuration, glue discovery and browser launch.
+ * <p>
+ * The clock starts at JVM start, or at {@link #markRunStart()} in a long-lived runner such as
+ * {@link core.runner.WarmRunner}, so a cold {@code mvn test} and a warm rerun can be compared. Maven's own start-up
+ * before the test JVM is not included.
+ */
+public class TimeToFirstStepPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(TimeToFirstStepPlugin.class);
+    private static volatile Instant runStart = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+    private static volatile boolean sinceJvmStart = true;
+    private static volatile Duration lastTimeToFirstStep;
+
+    private final AtomicBoolean firstStepSeen = new AtomicBoolean();
+
+    /**
+     * Starts the clock for the next run at the current time instead of JVM start
+     */
+    public static void markRunStart() {
+        runStart = Instant.now();
+        sinceJvmStart = false;
+        lastTimeToFirstStep = null;
+    }
+
+    /**
+     * @return time to the first step of the latest run, or null when it has not reached a step
+     */
+    public static Duration getLastTimeToFirstStep() {
+        return lastTimeToFirstStep;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+    }
+
+    private void onStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep && firstStepSeen.compareAndSet(false, true)) {
+            Duration elapsed = Duration.between(runStart, event.getInstant());
+            lastTimeToFirstStep = elapsed;
+            logger.info("First step started {} ms after {}", elapsed.toMillis(),
+                    sinceJvmStart ? "JVM start" : "the run request");
+        }
+    }
+}
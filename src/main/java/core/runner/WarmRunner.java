@@ -0,0 +1,251 @@
+package core.runner;
+
+import core.config.ConfigReader;
+import core.drivers.ScenarioContext;
+import core.drivers.SharedBrowserPool;
+import core.drivers.WebDriverFactory;
+import core.reports.TimeToFirstStepPlugin;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long-lived runner that keeps the JVM, loaded classes, configuration and a browser process warm between runs, so
+ * rerunning one scenario locally starts at its first step instead of at JVM start.
+ * <p>
+ * Start it with {@code mvn test-compile exec:exec@warm-runner}, then send runs with {@link WarmRunnerClient}:
+ * <pre>
+ * java -cp target/classes core.runner.WarmRunnerClient src/test/resources/features/Login.feature:12
+ * java -cp target/classes core.runner.WarmRunnerClient --tags "@smoke and not @wip"
+ * </pre>
+ * Runs use the {@code @CucumberOptions} of {@code runner.class}; feature paths and {@code --tags} replace the ones in
+ * the annotation. Runs are executed one at a time on {@code runner.port}, on the loopback interface only.
+ * Properties files in {@code runner.watch.dirs} are reloaded when they change. With {@code runner.keep.browser} the
+ * browser process stays open between runs and each scenario gets a fresh isolated context in it (see
+ * {@link SharedBrowserPool}). Feature files are read on every run; changed Java code needs a restart.
+ */
+public class WarmRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmRunner.class);
+    private static final List<String> COMMANDS = List.of("run", "reload", "stop");
+    private static volatile boolean active;
+
+    private final Class<?> runnerClass;
+    private final Path[] watchDirs;
+
+    public WarmRunner(Class<?> runnerClass, Path... watchDirs) {
+        this.runnerClass = runnerClass;
+        this.watchDirs = watchDirs;
+    }
+
+    /**
+     * @return true inside a warm runner, where shared browser processes outlive a run
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String runnerClass = args.length > 0 ? args[0]
+                : ConfigReader.getConfigProp("runner.class", "example.runners.TestNGRunner");
+        Path[] watchDirs = Arrays.stream(ConfigReader.getConfigProp("runner.watch.dirs", "src/test/resources").split(","))
+                .map(String::trim)
+                .map(Paths::get)
+                .filter(Files::isDirectory)
+                .toArray(Path[]::new);
+        new WarmRunner(Class.forName(runnerClass), watchDirs).serve();
+    }
+
+    /**
+     * Serves run requests until a client sends {@code stop}
+     */
+    public void serve() throws IOException {
+        active = true;
+        ConfigReader.reload(watchDirs);
+        startConfigWatcher();
+        if (Boolean.parseBoolean(ConfigReader.getConfigProp("runner.keep.browser", "true"))) {
+            warmBrowser();
+        }
+        int port = Integer.parseInt(ConfigReader.getConfigProp("runner.port", "7070"));
+        try (ServerSocket server = new ServerSocket(port, 8, InetAddress.getLoopbackAddress())) {
+            logger.info("Warm runner for {} ready on port {}, {} ms after JVM start", runnerClass.getSimpleName(), port,
+                    ManagementFactory.getRuntimeMXBean().getUptime());
+            boolean running = true;
+            while (running) {
+                try (Socket client = server.accept()) {
+                    running = handle(client);
+                } catch (IOException e) {
+                    logger.warn("Run request failed: {}", e.getMessage());
+                }
+            }
+        } finally {
+            active = false;
+            SharedBrowserPool.shutdown();
+        }
+    }
+
+    // One request per connection: a line of tab-separated arguments, answered with result lines and "exit <code>"
+    private boolean handle(Socket client) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(client.getOutputStream(), true, StandardCharsets.UTF_8);
+        String line = in.readLine();
+        List<String> args = line == null || line.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(line.split("\t")));
+        String command = !args.isEmpty() && COMMANDS.contains(args.get(0)) ? args.remove(0) : "run";
+        switch (command) {
+            case "stop":
+                out.println("Stopping warm runner");
+                out.println("exit 0");
+                return false;
+            case "reload":
+                ConfigReader.reload(watchDirs);
+                out.println("Configuration reloaded");
+                out.println("exit 0");
+                return true;
+            default:
+                RunSummary summary = run(args);
+                summary.lines().forEach(out::println);
+                out.println("exit " + (summary.failed > 0 ? 1 : 0));
+                return true;
+        }
+    }
+
+    private RunSummary run(List<String> args) {
+        List<String> features = new ArrayList<>();
+        Map<String, String> properties = new HashMap<>();
+        for (int i = 0; i < args.size(); i++) {
+            if ("--tags".equals(args.get(i)) && i + 1 < args.size()) {
+                properties.put("cucumber.filter.tags", args.get(++i));
+            } else {
+                features.add(args.get(i));
+            }
+        }
+        if (!features.isEmpty()) {
+            properties.put("cucumber.features", String.join(",", features));
+        }
+        if (!hasPlugin(TimeToFirstStepPlugin.class)) {
+            properties.put("cucumber.plugin", TimeToFirstStepPlugin.class.getName());
+        }
+
+        TimeToFirstStepPlugin.markRunStart();
+        long started = System.nanoTime();
+        RunSummary summary = new RunSummary();
+        TestNGCucumberRunner runner = new TestNGCucumberRunner(runnerClass, properties::get);
+        try {
+            for (Object[] scenario : runner.provideScenarios()) {
+                PickleWrapper pickle = (PickleWrapper) scenario[0];
+                try {
+                    runner.runScenario(pickle.getPickle());
+                    summary.passed++;
+                } catch (SkipException e) {
+                    summary.skipped++;
+                } catch (Throwable e) {
+                    summary.failed++;
+                    String message = String.valueOf(e.getMessage());
+                    summary.failures.add(pickle.getPickle().getName() + ": " + message.split("\\R", 2)[0]);
+                }
+            }
+        } finally {
+            runner.finish();
+        }
+        summary.duration = Duration.ofNanos(System.nanoTime() - started);
+        summary.timeToFirstStep = TimeToFirstStepPlugin.getLastTimeToFirstStep();
+        logger.info("Warm run finished: {}", summary.lines().get(0));
+        return summary;
+    }
+
+    private boolean hasPlugin(Class<?> plugin) {
+        CucumberOptions options = runnerClass.getAnnotation(CucumberOptions.class);
+        return options != null && Arrays.stream(options.plugin()).anyMatch(name -> name.startsWith(plugin.getName()));
+    }
+
+    // Starts the shared browser process now so the first run does not pay for the launch
+    private void warmBrowser() {
+        if (!SharedBrowserPool.isEnabled()) {
+            System.setProperty("browser.contexts.per.process", "2");
+        }
+        ScenarioContext.begin("warm-runner", List.of());
+        try {
+            WebDriverFactory.getDriver();
+            logger.info("Browser process started and kept open between runs");
+        } catch (RuntimeException e) {
+            logger.warn("Could not start a browser to keep warm, runs will launch their own: {}", e.getMessage());
+        } finally {
+            WebDriverFactory.quitDriver();
+            ScenarioContext.end();
+        }
+    }
+
+    private void startConfigWatcher() throws IOException {
+        if (watchDirs.length == 0) {
+            return;
+        }
+        WatchService watcher = FileSystems.getDefault().newWatchService();
+        for (Path dir : watchDirs) {
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watcher.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= event.context().toString().endsWith(".properties");
+                    }
+                    key.reset();
+                    if (changed) {
+                        ConfigReader.reload(watchDirs);
+                        logger.info("Configuration reloaded from {}", Arrays.toString(watchDirs));
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "warm-runner-config-watch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static class RunSummary {
+        private int passed;
+        private int failed;
+        private int skipped;
+        private Duration duration;
+        private Duration timeToFirstStep;
+        private final List<String> failures = new ArrayList<>();
+
+        private List<String> lines() {
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("%d passed, %d failed, %d skipped in %d ms; first step after %s", passed, failed,
+                    skipped, duration.toMillis(), timeToFirstStep == null ? "-" : timeToFirstStep.toMillis() + " ms"));
+            failures.forEach(failure -> lines.add("FAILED " + failure));
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package core.runner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends a run to a {@link WarmRunner} and exits with its status. Uses only the JDK, so it starts quickly from
+ * {@code target/classes}. Usage:
+ * {@code WarmRunnerClient [run] [feature[:line]...] [--tags expression] | reload | stop}; the port comes from
+ * {@code -Drunner.port} (default 7070).
+ */
+public class WarmRunnerClient {
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(System.getProperty("runner.port", "7070"));
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out.println(String.join("\t", args));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("exit ")) {
+                    System.exit(Integer.parseInt(line.substring(5)));
+                }
+                System.out.println(line);
+            }
+            System.err.println("Warm runner closed the connection without a result");
+            System.exit(2);
+        } catch (ConnectException e) {
+            System.err.println("No warm runner on port " + port + "; start one with: mvn test-compile exec:exec@warm-runner");
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package core.scheduling;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import core.config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+/**
+ * Per-scenario durations from previous runs, kept in {@code scenario.history.file}.
+ * <p>
+ * Scenarios are keyed by feature path (relative to the working directory), line and scenario name. The line tells
+ * apart the examples of a Scenario Outline and scenarios sharing a name; a scenario moved within its file starts a
+ * new history. Each entry keeps the last duration and an exponentially weighted average, which is what scheduling
+ * uses.
+ */
+public class DurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    // Weight of the newest run in the average; recent runs matter more as the application changes
+    private static final double SMOOTHING = 0.5;
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+
+    private DurationHistory(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Loads the configured history, or an empty one when the file does not exist or cannot be read
+     */
+    public static DurationHistory load() {
+        Path file = getFile();
+        Map<String, Entry> entries = new TreeMap<>();
+        if (Files.exists(file)) {
+            try {
+                entries.putAll(objectMapper.readValue(file.toFile(), new TypeReference<Map<String, Entry>>() {
+                }));
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable scenario history {}: {}", file, e.getMessage());
+            }
+        }
+        return new DurationHistory(file, entries);
+    }
+
+    /**
+     * Records a run's durations into the stored history. The file is locked while it is read and rewritten,
+     * so shards running in parallel JVMs do not overwrite each other's results.
+     */
+    public static void update(Map<String, Long> durations) {
+        Path file = getFile();
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try {
+            Files.createDirectories(lockFile.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Released when the channel closes
+                channel.lock();
+                DurationHistory history = load();
+                durations.forEach(history::record);
+                history.save();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to update scenario history {}", file, e);
+        }
+    }
+
+    private static Path getFile() {
+        return Paths.get(ConfigReader.getConfigProp("scenario.history.file", ".cache/scenario-durations.json"));
+    }
+
+    /**
+     * @param line the pickle's line: the scenario's, or the examples row's for a Scenario Outline
+     */
+    public static String keyOf(URI featureUri, int line, String scenarioName) {
+        String feature = featureUri.toString();
+        if ("file".equals(featureUri.getScheme())) {
+            Path path = Paths.get(featureUri);
+            Path workingDir = Paths.get("").toAbsolutePath();
+            feature = (path.startsWith(workingDir) ? workingDir.relativize(path) : path).toString().replace('\\', '/');
+        }
+        return feature + ":" + line + "::" + scenarioName;
+    }
+
+    public OptionalDouble getEstimateMillis(String key) {
+        Entry entry = entries.get(key);
+        return entry != null ? OptionalDouble.of(entry.averageMs) : OptionalDouble.empty();
+    }
+
+    /**
+     * Mean of all known estimates, used for scenarios without history
+     */
+    public OptionalDouble getMeanEstimateMillis() {
+        return entries.values().stream().mapToDouble(entry -> entry.averageMs).average();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void record(String key, long durationMs) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        entry.averageMs = entry.runs == 0 ? durationMs : SMOOTHING * durationMs + (1 - SMOOTHING) * entry.averageMs;
+        entry.lastMs = durationMs;
+        entry.runs++;
+    }
+
+    public void save() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            objectMapper.writeValue(file.toFile(), entries);
+        } catch (IOException e) {
+            logger.error("Failed to save scenario history to {}", file, e);
+        }
+    }
+
+    /**
+     * Stored timing of one scenario
+     */
+    public static class Entry {
+        public double averageMs;
+        public long lastMs;
+        public int runs;
+    }
+}
@@ -0,0 +1,65 @@
+package core.scheduling;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cucumber plugin feeding {@link DurationHistory} with the duration of every passed scenario, and reporting the
+ * actual makespan of the run against the one {@link ScenarioScheduler} predicted.
+ * <p>
+ * Failed and skipped scenarios are not recorded, since they usually stop early and would skew the estimates.
+ */
+public class ScenarioDurationPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioDurationPlugin.class);
+
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private final AtomicLong firstStartMs = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastFinishMs = new AtomicLong(Long.MIN_VALUE);
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        firstStartMs.accumulateAndGet(event.getInstant().toEpochMilli(), Math::min);
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        lastFinishMs.accumulateAndGet(event.getInstant().toEpochMilli(), Math::max);
+        if (event.getResult().getStatus() == Status.PASSED) {
+            TestCase testCase = event.getTestCase();
+            durations.put(DurationHistory.keyOf(testCase.getUri(), testCase.getLocation().getLine(), testCase.getName()),
+                    event.getResult().getDuration().toMillis());
+        }
+    }
+
+    private void onTestRunFinished() {
+        if (firstStartMs.get() != Long.MAX_VALUE) {
+            long actual = lastFinishMs.get() - firstStartMs.get();
+            long predicted = ScenarioScheduler.getPredictedMakespanMillis();
+            if (predicted >= 0) {
+                logger.info("Scenario makespan: actual {} ms, predicted {} ms", actual, predicted);
+            } else {
+                logger.info("Scenario makespan: actual {} ms (no prediction, scenarios ran in feature-file order)", actual);
+            }
+        }
+
+        if (!durations.isEmpty()) {
+            DurationHistory.update(durations);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package core.scheduling;
+
+import core.config.ConfigReader;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Orders the Cucumber TestNG data provider longest-first (LPT scheduling) using {@link DurationHistory}.
+ * <p>
+ * The parallel data provider hands rows to its threads in order, so starting the longest scenarios first stops
+ * one long feature at the end of the list from running alone while the other threads sit idle.
+ * Enabled with {@code scenario.schedule=duration}; {@code file} keeps feature-file order.
+ * When the run is sharded, only this shard's scenarios are scheduled (see {@link ScenarioSharding}).
+ */
+public class ScenarioScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioScheduler.class);
+    private static volatile long predictedMakespanMs = -1;
+
+    // Prevent instantiation
+    private ScenarioScheduler() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isEnabled() {
+        return "duration".equalsIgnoreCase(ConfigReader.getConfigProp("scenario.schedule", "duration"));
+    }
+
+    /**
+     * Returns this shard's data provider rows sorted by estimated duration, longest first
+     *
+     * @param allScenarios rows of {@code {PickleWrapper, FeatureWrapper}} from {@code AbstractTestNGCucumberTests}
+     */
+    public static Object[][] schedule(Object[][] allScenarios) {
+        Object[][] scenarios = ScenarioSharding.select(allScenarios);
+        if (!isEnabled() || scenarios.length < 2) {
+            return scenarios;
+        }
+        DurationHistory history = DurationHistory.load();
+        if (history.isEmpty()) {
+            logger.info("No scenario history yet, keeping feature-file order");
+            return scenarios;
+        }
+
+        String[] keys = new String[scenarios.length];
+        Integer[] order = new Integer[scenarios.length];
+        int unknown = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            Pickle pickle = ((PickleWrapper) scenarios[i][0]).getPickle();
+            keys[i] = DurationHistory.keyOf(pickle.getUri(), pickle.getLine(), pickle.getName());
+            if (history.getEstimateMillis(keys[i]).isEmpty()) {
+                unknown++;
+            }
+            order[i] = i;
+        }
+        double[] estimates = estimate(history, keys);
+        // Stable sort keeps feature-file order between scenarios with equal estimates
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> estimates[i]).reversed());
+
+        Object[][] scheduled = new Object[scenarios.length][];
+        double[] scheduledEstimates = new double[scenarios.length];
+        for (int i = 0; i < order.length; i++) {
+            scheduled[i] = scenarios[order[i]];
+            scheduledEstimates[i] = estimates[order[i]];
+        }
+
+        int threads = getThreadCount();
+        predictedMakespanMs = Math.round(makespan(scheduledEstimates, threads));
+        logger.info("Scheduled {} scenarios longest-first on {} threads ({} without history): predicted makespan {} ms, "
+                        + "feature-file order {} ms", scenarios.length, threads, unknown, predictedMakespanMs,
+                Math.round(makespan(estimates, threads)));
+        return scheduled;
+    }
+
+    /**
+     * Predicted makespan of the last {@link #schedule} call, or -1 when scenarios were not reordered
+     */
+    public static long getPredictedMakespanMillis() {
+        return predictedMakespanMs;
+    }
+
+    // Simulates list scheduling: each scenario starts on whichever thread frees up first
+    static double makespan(double[] durations, int threads) {
+        PriorityQueue<Double> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            finishTimes.add(0.0);
+        }
+        double makespan = 0;
+        for (double duration : durations) {
+            double finish = finishTimes.poll() + duration;
+            finishTimes.add(finish);
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+
+    /**
+     * Estimated duration of each scenario, using the fallback estimate for scenarios without history
+     */
+    static double[] estimate(DurationHistory history, String[] keys) {
+        double fallbackMs = getFallbackMillis(history);
+        return Arrays.stream(keys).mapToDouble(key -> history.getEstimateMillis(key).orElse(fallbackMs)).toArray();
+    }
+
+    private static double getFallbackMillis(DurationHistory history) {
+        double configured = Double.parseDouble(ConfigReader.getConfigProp("scenario.schedule.default.ms", "0"));
+        return configured > 0 ? configured : history.getMeanEstimateMillis().orElse(0);
+    }
+
+    private static int getThreadCount() {
+        return Integer.parseInt(ConfigReader.getConfigProp("scenario.schedule.threads", "4"));
+    }
+}
@@ -0,0 +1,136 @@
+package core.scheduling;
+
+import core.config.ConfigReader;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Splits the scenarios of a run into {@code shard.count} deterministic slices and keeps only slice
+ * {@code shard.index} (1-based, like Surefire's {@code surefire.forkNumber}).
+ * <p>
+ * Index and count come from the configuration (system properties override it) or the {@code SHARD_INDEX} and
+ * {@code SHARD_COUNT} environment variables, so the same build works for Surefire forks and separate CI machines.
+ * <ul>
+ *     <li>{@code shard.strategy=hash} assigns each scenario by a stable hash of its feature path and name.</li>
+ *     <li>{@code shard.strategy=duration} fills bins longest-first from {@link DurationHistory}. Every shard must see
+ *     the same history file, otherwise scenarios can be run twice or not at all.</li>
+ * </ul>
+ */
+public class ScenarioSharding {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioSharding.class);
+
+    // Prevent instantiation
+    private ScenarioSharding() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static int getShardCount() {
+        return Integer.parseInt(getSetting("shard.count", "SHARD_COUNT", "1"));
+    }
+
+    public static int getShardIndex() {
+        return Integer.parseInt(getSetting("shard.index", "SHARD_INDEX", "1"));
+    }
+
+    public static boolean isSharded() {
+        return getShardCount() > 1;
+    }
+
+    /**
+     * Returns the data provider rows belonging to this shard, in their original order
+     *
+     * @param scenarios rows of {@code {PickleWrapper, FeatureWrapper}} from {@code AbstractTestNGCucumberTests}
+     */
+    public static Object[][] select(Object[][] scenarios) {
+        int count = getShardCount();
+        int index = getShardIndex();
+        if (count <= 1) {
+            return scenarios;
+        }
+        if (index < 1 || index > count) {
+            throw new IllegalArgumentException(String.format("shard.index must be between 1 and %d, was %d", count, index));
+        }
+
+        String strategy = ConfigReader.getConfigProp("shard.strategy", "hash").toLowerCase();
+        String[] keys = new String[scenarios.length];
+        for (int i = 0; i < scenarios.length; i++) {
+            Pickle pickle = ((PickleWrapper) scenarios[i][0]).getPickle();
+            keys[i] = DurationHistory.keyOf(pickle.getUri(), pickle.getLine(), pickle.getName());
+        }
+
+        int[] shards;
+        DurationHistory history = null;
+        if ("duration".equals(strategy)) {
+            history = DurationHistory.load();
+        }
+        if (history != null && !history.isEmpty()) {
+            shards = assignByDuration(keys, ScenarioScheduler.estimate(history, keys), count);
+        } else {
+            if ("duration".equals(strategy)) {
+                logger.warn("No scenario history for duration-balanced sharding, falling back to hash");
+            }
+            strategy = "hash";
+            shards = assignByHash(keys, count);
+        }
+
+        List<Object[]> selected = new ArrayList<>();
+        for (int i = 0; i < scenarios.length; i++) {
+            if (shards[i] == index - 1) {
+                selected.add(scenarios[i]);
+            }
+        }
+        logger.info("Shard {}/{} ({}): running {} of {} scenarios", index, count, strategy, selected.size(), scenarios.length);
+        return selected.toArray(new Object[0][]);
+    }
+
+    static int[] assignByHash(String[] keys, int count) {
+        int[] shards = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            CRC32 crc = new CRC32();
+            crc.update(keys[i].getBytes(StandardCharsets.UTF_8));
+            shards[i] = (int) (crc.getValue() % count);
+        }
+        return shards;
+    }
+
+    // Longest-first into the least loaded bin; ties are broken by key and bin number so every shard agrees
+    static int[] assignByDuration(String[] keys, double[] estimates, int count) {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> estimates[i]).reversed()
+                .thenComparing(i -> keys[i]));
+
+        double[] load = new double[count];
+        int[] shards = new int[keys.length];
+        for (int i : order) {
+            int lightest = 0;
+            for (int bin = 1; bin < count; bin++) {
+                if (load[bin] < load[lightest]) {
+                    lightest = bin;
+                }
+            }
+            shards[i] = lightest;
+            load[lightest] += estimates[i];
+        }
+        return shards;
+    }
+
+    private static String getSetting(String key, String environmentVariable, String defaultValue) {
+        String value = ConfigReader.getConfigProp(key);
+        if (value == null || value.trim().isEmpty()) {
+            value = System.getenv(environmentVariable);
+        }
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+}
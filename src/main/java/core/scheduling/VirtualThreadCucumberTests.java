@@ -0,0 +1,101 @@
+package core.scheduling;
+
+import core.config.ConfigReader;
+import core.util.VirtualThreads;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the scenarios of a Cucumber runner class each on its own virtual thread, as a replacement for
+ * {@code AbstractTestNGCucumberTests} with a parallel data provider.
+ * <p>
+ * Meant for scenarios that mostly wait: API calls and browsers on a remote grid. Up to
+ * {@code scenario.virtual.max.concurrent} scenarios run at once, longest first as ordered by
+ * {@link ScenarioScheduler}. Each scenario's driver lives in its {@link core.drivers.ScenarioContext}, so scenarios
+ * never share a browser even though they share carrier threads. On JVMs before Java 21 the scenarios run on a pool of
+ * that many platform threads instead. The scenarios are reported to TestNG as one test that fails when any scenario
+ * fails; skipped scenarios are only counted. The Cucumber reports list all of them individually.
+ */
+public abstract class VirtualThreadCucumberTests {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadCucumberTests.class);
+    private TestNGCucumberRunner runner;
+
+    public static class ScenarioFailuresException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public ScenarioFailuresException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        runner = new TestNGCucumberRunner(getClass(), context.getCurrentXmlTest()::getParameter);
+    }
+
+    @Test(groups = "cucumber", description = "Runs Cucumber scenarios on virtual threads")
+    public void runScenarios() throws InterruptedException {
+        Object[][] scenarios = ScenarioScheduler.schedule(runner.provideScenarios());
+        int maxConcurrent = Integer.parseInt(ConfigReader.getConfigProp("scenario.virtual.max.concurrent", "50"));
+        logger.info("Running {} scenarios, at most {} at once, on {} threads", scenarios.length, maxConcurrent,
+                VirtualThreads.isAvailable() ? "virtual" : "platform");
+
+        List<Throwable> failures = new ArrayList<>();
+        AtomicInteger skipped = new AtomicInteger();
+        Semaphore slots = new Semaphore(maxConcurrent);
+        ExecutorService executor = VirtualThreads.newExecutor(true, maxConcurrent, "scenario-");
+        try {
+            for (Object[] scenario : scenarios) {
+                PickleWrapper pickle = (PickleWrapper) scenario[0];
+                // Acquired here so that at most maxConcurrent threads exist, not just run
+                slots.acquire();
+                executor.execute(() -> {
+                    try {
+                        runner.runScenario(pickle.getPickle());
+                    } catch (SkipException e) {
+                        skipped.incrementAndGet();
+                    } catch (Throwable e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        logger.info("{} scenarios run: {} failed, {} skipped", scenarios.length, failures.size(), skipped.get());
+
+        if (!failures.isEmpty()) {
+            ScenarioFailuresException exception = new ScenarioFailuresException(
+                    failures.size() + " of " + scenarios.length + " scenarios failed; first: " + failures.get(0),
+                    failures.get(0));
+            failures.stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (runner != null) {
+            runner.finish();
+        }
+    }
+}
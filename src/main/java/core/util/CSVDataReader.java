@@ -1,6 +1,9 @@
 package core.util;
 
 import com.opencsv.CSVReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
@@ -8,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class CSVDataReader {
+    private static final Logger logger = LoggerFactory.getLogger(CSVDataReader.class);
 
     /**
      * Reads data from a CSV file and returns it as a list of String arrays.
@@ -28,8 +32,7 @@ public class CSVDataReader {
                 data.add(line);
             }
         } catch (Exception e) {
-            // Handle the exception (e.g., log it) if needed
-            e.printStackTrace();
+            logger.error("Failed to read CSV file {}: {}", csvFilePath, e.getMessage(), e);
         }
 
         return data;
@@ -1,18 +1,66 @@
 package core.util;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Date;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DateTimeUtil {
 
+    // DateTimeFormatter is immutable and thread-safe, so one instance per pattern is shared by all threads
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Returns the clock every timestamp in the framework is derived from.
+     */
+    public static Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Replaces the framework clock, e.g. with {@link Clock#fixed} for reproducible report names.
+     *
+     * @param newClock the clock to use, or null to restore the system clock
+     */
+    public static void setClock(Clock newClock) {
+        clock = newClock != null ? newClock : Clock.systemDefaultZone();
+    }
+
+    /**
+     * Returns a cached formatter for the given pattern, creating it on first use.
+     *
+     * @param pattern a {@link DateTimeFormatter} pattern
+     * @return the shared formatter for the pattern
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static DateTimeFormatter getFormatter(String pattern) {
+        return FORMATTERS.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+
+    public static LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    public static LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    public static String format(TemporalAccessor temporal, String pattern) {
+        return getFormatter(pattern).format(temporal);
+    }
+
     public static String getCurrentDateTime(String pattern) {
-        LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-        return now.format(formatter);
+        return format(now(), pattern);
     }
 
     public static String getCurrentDate(String datePattern) {
@@ -20,19 +68,43 @@ public class DateTimeUtil {
     }
 
     public static String getCurrentDate(String datePattern, int daysToAddOrSubtract) {
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern(datePattern);
-        LocalDate modifiedDate = LocalDate.now().plusDays(daysToAddOrSubtract);
-        return modifiedDate.format(dtf);
+        return format(today().plusDays(daysToAddOrSubtract), datePattern);
     }
 
+    /**
+     * Re-formats a date or date-time string from one pattern to another.
+     * Date-only input is treated as the start of that day when the output pattern needs a time.
+     *
+     * @param inputDate    the value to convert
+     * @param inputFormat  the {@link DateTimeFormatter} pattern of {@code inputDate}
+     * @param outputFormat the {@link DateTimeFormatter} pattern to produce
+     * @return the converted value
+     * @throws IllegalArgumentException if the input does not match {@code inputFormat}
+     *                                  or cannot be rendered with {@code outputFormat}
+     */
     public static String convertDateFormat(String inputDate, String inputFormat, String outputFormat) {
+        TemporalAccessor parsed;
+        try {
+            parsed = getFormatter(inputFormat).parse(inputDate);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                    String.format("Date '%s' does not match format '%s'", inputDate, inputFormat), e);
+        }
+
+        // Queries return null instead of throwing, which keeps this path cheap for date-only input
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        ZoneId zone = parsed.query(TemporalQueries.zone());
+        if (date != null) {
+            LocalDateTime dateTime = date.atTime(time != null ? time : LocalTime.MIDNIGHT);
+            parsed = zone != null ? ZonedDateTime.of(dateTime, zone) : dateTime;
+        }
+
         try {
-            SimpleDateFormat inputFormatter = new SimpleDateFormat(inputFormat);
-            SimpleDateFormat outputFormatter = new SimpleDateFormat(outputFormat);
-            Date date = inputFormatter.parse(inputDate);
-            return outputFormatter.format(date);
-        } catch (ParseException e) {
-            return "Invalid Date Format";
+            return format(parsed, outputFormat);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(
+                    String.format("Date '%s' cannot be formatted as '%s'", inputDate, outputFormat), e);
         }
     }
 }
@@ -13,6 +13,13 @@ public class JsonUtil {
     private static final Logger logger = LoggerFactory.getLogger(JsonUtil.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * Shared mapper, also used to deserialize API responses
+     */
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
     // Utility method to load a resource as an InputStream
     private static InputStream loadResource(String path) throws IOException {
         InputStream inputStream = JsonUtil.class.getClassLoader().getResourceAsStream(path);
@@ -0,0 +1,52 @@
+package core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Virtual threads where the JVM has them (Java 21+), platform threads otherwise. The Java 21 API is looked up at
+ * runtime, so the framework still builds for and runs on older JVMs.
+ */
+public class VirtualThreads {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    // Prevent instantiation
+    private VirtualThreads() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param virtual         start a virtual thread per task when available
+     * @param platformThreads size of the fixed platform thread pool used otherwise
+     * @param namePrefix      name prefix of the platform threads
+     */
+    public static ExecutorService newExecutor(boolean virtual, int platformThreads, String namePrefix) {
+        if (virtual) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                logger.debug("Virtual threads unavailable on Java {}, using {} platform threads",
+                        System.getProperty("java.specification.version"), platformThreads);
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
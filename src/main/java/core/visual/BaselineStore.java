@@ -0,0 +1,193 @@
+package core.visual;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import core.config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of baseline screenshots in {@code visual.baseline.dir}.
+ * <p>
+ * Each PNG is stored once under {@code objects/<2 chars>/<sha-256>.png}, however many checks use it, and
+ * {@code index.json} maps check names to hashes. Updating a baseline only changes the index, so the store diffs
+ * cleanly in version control; {@link #prune()} removes images no longer referenced. Decoded baselines are kept in
+ * memory as packed ARGB, up to {@code visual.baseline.cache.entries}, since checks of the same page repeat within a
+ * run.
+ */
+public class BaselineStore {
+    private static final Logger logger = LoggerFactory.getLogger(BaselineStore.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String INDEX_FILE = "index.json";
+    private static final Map<String, BufferedImage> DECODED = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Prevent instantiation
+    private BaselineStore() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static Path getDir() {
+        return Paths.get(ConfigReader.getConfigProp("visual.baseline.dir", "visual-baselines"));
+    }
+
+    public static String hash(byte[] png) {
+        try {
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(png)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @return hash of the baseline stored for {@code name}, or null when there is none
+     */
+    public static String getBaselineHash(String name) {
+        return readIndex().get(name);
+    }
+
+    /**
+     * Stores {@code png} and makes it the baseline of {@code name}
+     *
+     * @return the image's hash
+     */
+    public static synchronized String setBaseline(String name, byte[] png) {
+        String hash = hash(png);
+        Path object = objectPath(hash);
+        try {
+            if (!Files.exists(object)) {
+                Files.createDirectories(object.getParent());
+                Path temp = Files.createTempFile(object.getParent(), hash, ".tmp");
+                Files.write(temp, png);
+                Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Map<String, String> index = readIndex();
+            index.put(name, hash);
+            writeIndex(index);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the baseline of " + name + " in " + getDir(), e);
+        }
+        return hash;
+    }
+
+    /**
+     * @return the decoded baseline image with this hash
+     */
+    public static BufferedImage getImage(String hash) {
+        synchronized (DECODED) {
+            BufferedImage cached = DECODED.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        BufferedImage image;
+        try {
+            image = toArgb(decode(Files.readAllBytes(objectPath(hash))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read baseline " + hash + " from " + getDir(), e);
+        }
+        int maxEntries = Integer.parseInt(ConfigReader.getConfigProp("visual.baseline.cache.entries", "16"));
+        synchronized (DECODED) {
+            DECODED.put(hash, image);
+            DECODED.keySet().removeIf(key -> DECODED.size() > maxEntries && !key.equals(hash));
+        }
+        return image;
+    }
+
+    /**
+     * Deletes stored images that no baseline refers to any more
+     *
+     * @return the number of deleted images
+     */
+    public static synchronized int prune() {
+        Set<String> referenced = new HashSet<>(readIndex().values());
+        Path objects = getDir().resolve("objects");
+        if (!Files.isDirectory(objects)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(objects)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String hash = file.getFileName().toString().replace(".png", "");
+                if (!referenced.contains(hash)) {
+                    Files.delete(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prune " + objects, e);
+        }
+        logger.info("Pruned {} unreferenced baselines from {}", deleted, objects);
+        return deleted;
+    }
+
+    // Kept as packed ARGB so every comparison reads the baseline's pixels without converting them
+    private static BufferedImage toArgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            return image;
+        }
+        BufferedImage argb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        argb.getRaster().setDataElements(0, 0, image.getWidth(), image.getHeight(), VisualComparator.pixels(image));
+        return argb;
+    }
+
+    static BufferedImage decode(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Not a readable image");
+        }
+        return image;
+    }
+
+    private static Path objectPath(String hash) {
+        return getDir().resolve("objects").resolve(hash.substring(0, 2)).resolve(hash + ".png");
+    }
+
+    // region Index
+
+    private static Map<String, String> readIndex() {
+        Path index = getDir().resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            return new TreeMap<>();
+        }
+        try {
+            return objectMapper.readValue(index.toFile(), new TypeReference<TreeMap<String, String>>() {
+            });
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable baseline index {}: {}", index, e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    private static void writeIndex(Map<String, String> entries) throws IOException {
+        Path index = getDir().resolve(INDEX_FILE);
+        Files.createDirectories(index.getParent());
+        Path temp = Files.createTempFile(index.getParent(), INDEX_FILE, ".tmp");
+        objectMapper.writeValue(temp.toFile(), entries);
+        Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // endregion
+}
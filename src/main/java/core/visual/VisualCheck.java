@@ -0,0 +1,97 @@
+package core.visual;
+
+import core.config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Compares a screenshot with the baseline stored under its name in the {@link BaselineStore}.
+ * <p>
+ * Baselines are per browser: a check named {@code login} in Chrome uses {@code login@chrome}. A missing baseline is
+ * created from the capture, and with {@code visual.update.baselines=true} every capture replaces its baseline. A
+ * capture with the same bytes as its baseline passes without being decoded. On a mismatch the capture and the diff
+ * image are written to {@code visual.diff.dir}.
+ */
+public class VisualCheck {
+    private static final Logger logger = LoggerFactory.getLogger(VisualCheck.class);
+
+    // Prevent instantiation
+    private VisualCheck() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static class VisualMismatchException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public VisualMismatchException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Compares and throws {@link VisualMismatchException} when the capture does not match its baseline
+     */
+    public static VisualResult verify(String name, byte[] png, VisualOptions options) {
+        VisualResult result = check(name, png, options);
+        if (!result.isMatch()) {
+            throw new VisualMismatchException("Visual check '" + name + "' failed: " + result + "; see "
+                    + getDiffDir().resolve(fileName(name, "diff")), null);
+        }
+        return result;
+    }
+
+    public static VisualResult check(String name, byte[] png, VisualOptions options) {
+        long started = System.nanoTime();
+        String key = name + "@" + ConfigReader.getConfigProp("browser", "unknown").toLowerCase();
+        String baselineHash = BaselineStore.getBaselineHash(key);
+        if (baselineHash == null || Boolean.parseBoolean(ConfigReader.getConfigProp("visual.update.baselines", "false"))) {
+            BaselineStore.setBaseline(key, png);
+            logger.info("Stored the baseline of visual check {}", key);
+            return new VisualResult(VisualResult.Outcome.NEW_BASELINE, 0, 0, 0, -1, null, System.nanoTime() - started);
+        }
+        if (baselineHash.equals(BaselineStore.hash(png))) {
+            return new VisualResult(VisualResult.Outcome.IDENTICAL, 0, 0, 0, 0, null, System.nanoTime() - started);
+        }
+
+        VisualResult result;
+        try {
+            result = VisualComparator.compare(BaselineStore.getImage(baselineHash), BaselineStore.decode(png), options);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode the capture of visual check " + key, e);
+        }
+        if (result.isMatch()) {
+            logger.info("Visual check {} passed: {}", key, result);
+        } else {
+            logger.warn("Visual check {} failed: {}", key, result);
+            writeArtifacts(name, png, result);
+        }
+        return result;
+    }
+
+    public static Path getDiffDir() {
+        return Paths.get(ConfigReader.getConfigProp("visual.diff.dir", "target/visual-diffs"));
+    }
+
+    private static void writeArtifacts(String name, byte[] png, VisualResult result) {
+        try {
+            Files.createDirectories(getDiffDir());
+            Files.write(getDiffDir().resolve(fileName(name, "actual")), png);
+            if (result.getDiffImage() != null) {
+                ImageIO.write(result.getDiffImage(), "png", getDiffDir().resolve(fileName(name, "diff")).toFile());
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write the diff of visual check {}: {}", name, e.getMessage());
+        }
+    }
+
+    private static String fileName(String name, String suffix) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + suffix + ".png";
+    }
+}
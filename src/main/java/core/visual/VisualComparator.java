@@ -0,0 +1,315 @@
+package core.visual;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Pixel comparison of a capture against its baseline.
+ * <p>
+ * The image is split into {@code tileSize} squares compared in parallel on the common fork-join pool. Equal pixels
+ * are skipped with one integer comparison; for the rest the colour distance is measured in YIQ space, which follows
+ * perceived difference more closely than RGB, and pixels whose difference is only an anti-aliased edge are detected
+ * as in pixelmatch (a pixel between a darker and a brighter neighbour that both sit in flat areas in both images).
+ * <p>
+ * When no diff image is wanted, a 64-bit difference hash of both images is compared first and clearly different
+ * pages fail without a pixel comparison; tiles also stop as soon as the tolerance is exceeded. The hash is skipped
+ * when ignore regions are set, since those areas would still move it.
+ */
+public class VisualComparator {
+    private static final double MAX_YIQ_DELTA = 35215;
+    private static final int DIFF_COLOR = 0xFFFF0000;
+    private static final int ANTI_ALIASED_COLOR = 0xFFFFFF00;
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+
+    // Prevent instantiation
+    private VisualComparator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static VisualResult compare(BufferedImage baseline, BufferedImage actual, VisualOptions options) {
+        long started = System.nanoTime();
+        int width = actual.getWidth();
+        int height = actual.getHeight();
+        if (baseline.getWidth() != width || baseline.getHeight() != height) {
+            return new VisualResult(VisualResult.Outcome.SIZE_MISMATCH, 0, 0, 0, -1, null, System.nanoTime() - started);
+        }
+        int[] expected = pixels(baseline);
+        int[] pixels = pixels(actual);
+
+        int hashDistance = -1;
+        if (!options.isDiffImage() && options.getIgnoreRegions().isEmpty()) {
+            hashDistance = Long.bitCount(perceptualHash(expected, width, height) ^ perceptualHash(pixels, width, height));
+            if (hashDistance > options.getMaxHashDistance()) {
+                return new VisualResult(VisualResult.Outcome.HASH_MISMATCH, 0, 0, 0, hashDistance, null,
+                        System.nanoTime() - started);
+            }
+        }
+
+        BufferedImage diffImage = options.isDiffImage() ? new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB) : null;
+        Comparison comparison = new Comparison(expected, pixels, width, height, options,
+                diffImage == null ? null : ((DataBufferInt) diffImage.getRaster().getDataBuffer()).getData());
+        int tileSize = options.getTileSize();
+        int tilesX = (width + tileSize - 1) / tileSize;
+        int tilesY = (height + tileSize - 1) / tileSize;
+        IntStream.range(0, tilesX * tilesY).parallel().forEach(tile -> comparison.compareTile(
+                new Rectangle((tile % tilesX) * tileSize, (tile / tilesX) * tileSize, tileSize, tileSize)
+                        .intersection(new Rectangle(width, height))));
+
+        long diffPixels = comparison.diffPixels.sum();
+        long compared = comparison.comparedPixels.sum();
+        boolean match = !comparison.exceeded.get() && diffPixels <= (long) (options.getMaxDiffRatio() * compared);
+        return new VisualResult(match ? VisualResult.Outcome.MATCH : VisualResult.Outcome.MISMATCH, diffPixels,
+                comparison.antiAliasedPixels.sum(), compared, hashDistance, diffImage, System.nanoTime() - started);
+    }
+
+    /**
+     * @return a difference hash: one bit per horizontal brightness step of the image scaled down to 9x8
+     */
+    public static long perceptualHash(BufferedImage image) {
+        return perceptualHash(pixels(image), image.getWidth(), image.getHeight());
+    }
+
+    static long perceptualHash(int[] pixels, int width, int height) {
+        double[] sums = new double[HASH_WIDTH * HASH_HEIGHT];
+        int[] cellOfColumn = new int[width];
+        for (int x = 0; x < width; x++) {
+            cellOfColumn[x] = (int) ((long) x * HASH_WIDTH / width);
+        }
+        // Every other row and column is plenty for 72 cells and halves the work twice
+        for (int y = 0; y < height; y += 2) {
+            int rowCell = (int) ((long) y * HASH_HEIGHT / height) * HASH_WIDTH;
+            int offset = y * width;
+            for (int x = 0; x < width; x += 2) {
+                sums[rowCell + cellOfColumn[x]] += brightness(pixels[offset + x]);
+            }
+        }
+        long hash = 0;
+        for (int row = 0; row < HASH_HEIGHT; row++) {
+            for (int column = 0; column < HASH_WIDTH - 1; column++) {
+                int cell = row * HASH_WIDTH + column;
+                // Cells in a row have the same pixel count give or take one column, so sums compare like averages
+                hash = (hash << 1) | (sums[cell] > sums[cell + 1] ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @return the image's pixels as ARGB, without copying when it is already stored that way
+     */
+    static int[] pixels(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB && image.getRaster().getSampleModelTranslateX() == 0
+                && image.getRaster().getSampleModelTranslateY() == 0) {
+            int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            if (data.length == image.getWidth() * image.getHeight()) {
+                return data;
+            }
+        }
+        // The types ImageIO decodes PNG screenshots to, read straight from the raster
+        if ((image.getType() == BufferedImage.TYPE_3BYTE_BGR || image.getType() == BufferedImage.TYPE_4BYTE_ABGR)
+                && image.getRaster().getDataBuffer() instanceof DataBufferByte
+                && image.getRaster().getSampleModelTranslateX() == 0 && image.getRaster().getSampleModelTranslateY() == 0) {
+            byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+            int channels = image.getType() == BufferedImage.TYPE_3BYTE_BGR ? 3 : 4;
+            int width = image.getWidth();
+            int[] pixels = new int[width * image.getHeight()];
+            if (data.length == pixels.length * channels) {
+                int alpha = channels - 3;
+                IntStream.range(0, image.getHeight()).parallel().forEach(y -> {
+                    for (int i = y * width, j = i * channels, end = i + width; i < end; i++, j += channels) {
+                        pixels[i] = (alpha == 1 ? (data[j] & 0xFF) << 24 : 0xFF000000)
+                                | (data[j + alpha + 2] & 0xFF) << 16 | (data[j + alpha + 1] & 0xFF) << 8
+                                | (data[j + alpha] & 0xFF);
+                    }
+                });
+                return pixels;
+            }
+        }
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = converted.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return ((DataBufferInt) converted.getRaster().getDataBuffer()).getData();
+    }
+
+    private static class Comparison {
+        private final int[] expected;
+        private final int[] actual;
+        private final int width;
+        private final int height;
+        private final VisualOptions options;
+        private final int[] diff;
+        private final double maxDelta;
+        private final long allowedDiffPixels;
+        private final LongAdder diffPixels = new LongAdder();
+        private final LongAdder antiAliasedPixels = new LongAdder();
+        private final LongAdder comparedPixels = new LongAdder();
+        private final AtomicBoolean exceeded = new AtomicBoolean();
+
+        private Comparison(int[] expected, int[] actual, int width, int height, VisualOptions options, int[] diff) {
+            this.expected = expected;
+            this.actual = actual;
+            this.width = width;
+            this.height = height;
+            this.options = options;
+            this.diff = diff;
+            this.maxDelta = MAX_YIQ_DELTA * options.getThreshold() * options.getThreshold();
+            // Compared against the full image: stopping early is only safe once even that tolerance is exceeded
+            this.allowedDiffPixels = (long) (options.getMaxDiffRatio() * width * height);
+        }
+
+        private void compareTile(Rectangle tile) {
+            List<Rectangle> ignored = new ArrayList<>();
+            for (Rectangle region : options.getIgnoreRegions()) {
+                if (region.intersects(tile)) {
+                    ignored.add(region);
+                }
+            }
+            long tileDiff = 0;
+            long tileAntiAliased = 0;
+            long tileCompared = 0;
+            for (int y = tile.y; y < tile.y + tile.height; y++) {
+                if (diff == null && exceeded.get()) {
+                    break;
+                }
+                for (int x = tile.x; x < tile.x + tile.width; x++) {
+                    int i = y * width + x;
+                    if (!ignored.isEmpty() && isIgnored(ignored, x, y)) {
+                        if (diff != null) {
+                            diff[i] = faded(actual[i]);
+                        }
+                        continue;
+                    }
+                    tileCompared++;
+                    if (expected[i] == actual[i] || colorDelta(expected[i], actual[i]) <= maxDelta) {
+                        if (diff != null) {
+                            diff[i] = faded(actual[i]);
+                        }
+                    } else if (options.isIgnoreAntiAliasing() && (isAntiAliased(expected, actual, x, y)
+                            || isAntiAliased(actual, expected, x, y))) {
+                        tileAntiAliased++;
+                        if (diff != null) {
+                            diff[i] = ANTI_ALIASED_COLOR;
+                        }
+                    } else {
+                        tileDiff++;
+                        if (diff != null) {
+                            diff[i] = DIFF_COLOR;
+                        }
+                    }
+                }
+                if (diff == null && tileDiff > allowedDiffPixels) {
+                    exceeded.set(true);
+                }
+            }
+            diffPixels.add(tileDiff);
+            antiAliasedPixels.add(tileAntiAliased);
+            comparedPixels.add(tileCompared);
+            if (diff == null && diffPixels.sum() > allowedDiffPixels) {
+                exceeded.set(true);
+            }
+        }
+
+        private static boolean isIgnored(List<Rectangle> regions, int x, int y) {
+            for (Rectangle region : regions) {
+                if (region.contains(x, y)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // A pixel on an edge: one darker and one brighter neighbour, both lying in flat areas of both images
+        private boolean isAntiAliased(int[] image, int[] other, int x1, int y1) {
+            int x0 = Math.max(x1 - 1, 0);
+            int y0 = Math.max(y1 - 1, 0);
+            int x2 = Math.min(x1 + 1, width - 1);
+            int y2 = Math.min(y1 + 1, height - 1);
+            int center = image[y1 * width + x1];
+            int zeroes = x1 == x0 || x1 == x2 || y1 == y0 || y1 == y2 ? 1 : 0;
+            double min = 0;
+            double max = 0;
+            int minX = 0;
+            int minY = 0;
+            int maxX = 0;
+            int maxY = 0;
+            for (int x = x0; x <= x2; x++) {
+                for (int y = y0; y <= y2; y++) {
+                    if (x == x1 && y == y1) {
+                        continue;
+                    }
+                    double delta = brightness(center) - brightness(image[y * width + x]);
+                    if (delta == 0) {
+                        if (++zeroes > 2) {
+                            return false;
+                        }
+                    } else if (delta < min) {
+                        min = delta;
+                        minX = x;
+                        minY = y;
+                    } else if (delta > max) {
+                        max = delta;
+                        maxX = x;
+                        maxY = y;
+                    }
+                }
+            }
+            if (min == 0 || max == 0) {
+                return false;
+            }
+            return (hasManySiblings(image, minX, minY) && hasManySiblings(other, minX, minY))
+                    || (hasManySiblings(image, maxX, maxY) && hasManySiblings(other, maxX, maxY));
+        }
+
+        private boolean hasManySiblings(int[] image, int x1, int y1) {
+            int x0 = Math.max(x1 - 1, 0);
+            int y0 = Math.max(y1 - 1, 0);
+            int x2 = Math.min(x1 + 1, width - 1);
+            int y2 = Math.min(y1 + 1, height - 1);
+            int center = image[y1 * width + x1];
+            int zeroes = x1 == x0 || x1 == x2 || y1 == y0 || y1 == y2 ? 1 : 0;
+            for (int x = x0; x <= x2; x++) {
+                for (int y = y0; y <= y2; y++) {
+                    if ((x != x1 || y != y1) && image[y * width + x] == center && ++zeroes > 2) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    // Squared YIQ distance, weighted as in "Measuring perceived color difference using YIQ NTSC transmission color space"
+    private static double colorDelta(int first, int second) {
+        int r1 = (first >> 16) & 0xFF;
+        int g1 = (first >> 8) & 0xFF;
+        int b1 = first & 0xFF;
+        int r2 = (second >> 16) & 0xFF;
+        int g2 = (second >> 8) & 0xFF;
+        int b2 = second & 0xFF;
+        double y = brightness(first) - brightness(second);
+        double i = (r1 - r2) * 0.59597799 - (g1 - g2) * 0.27417610 - (b1 - b2) * 0.32180189;
+        double q = (r1 - r2) * 0.21147017 - (g1 - g2) * 0.52261711 + (b1 - b2) * 0.31114694;
+        return 0.5053 * y * y + 0.299 * i * i + 0.1957 * q * q;
+    }
+
+    private static double brightness(int argb) {
+        return ((argb >> 16) & 0xFF) * 0.29889531 + ((argb >> 8) & 0xFF) * 0.58662247 + (argb & 0xFF) * 0.11448223;
+    }
+
+    // Unchanged pixels are drawn as a light grey copy so the differences stand out; integer luma keeps this cheap
+    private static int faded(int argb) {
+        int luma = (((argb >> 16) & 0xFF) * 77 + ((argb >> 8) & 0xFF) * 150 + (argb & 0xFF) * 29) >> 8;
+        int gray = 255 - (255 - luma) / 10;
+        return 0xFF000000 | gray << 16 | gray << 8 | gray;
+    }
+}
@@ -0,0 +1,128 @@
+package core.visual;
+
+import core.config.ConfigReader;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How {@link VisualComparator} decides that a capture matches its baseline.
+ * <ul>
+ *     <li>{@code threshold}: colour distance (0-1, in YIQ space) below which two pixels count as equal</li>
+ *     <li>{@code maxDiffRatio}: share of differing pixels still accepted as a match</li>
+ *     <li>{@code ignoreAntiAliasing}: pixels that only differ by anti-aliasing of an edge are not counted</li>
+ *     <li>{@code ignoreRegions}: areas, e.g. clocks or ads, that are not compared</li>
+ *     <li>{@code maxHashDistance}: perceptual hashes further apart than this fail the check without a pixel
+ *     comparison, unless a diff image is wanted</li>
+ * </ul>
+ * Defaults come from the {@code visual.*} properties.
+ */
+public class VisualOptions {
+    private final double threshold;
+    private final double maxDiffRatio;
+    private final boolean ignoreAntiAliasing;
+    private final List<Rectangle> ignoreRegions;
+    private final int maxHashDistance;
+    private final boolean diffImage;
+    private final int tileSize;
+
+    private VisualOptions(Builder builder) {
+        this.threshold = builder.threshold;
+        this.maxDiffRatio = builder.maxDiffRatio;
+        this.ignoreAntiAliasing = builder.ignoreAntiAliasing;
+        this.ignoreRegions = Collections.unmodifiableList(new ArrayList<>(builder.ignoreRegions));
+        this.maxHashDistance = builder.maxHashDistance;
+        this.diffImage = builder.diffImage;
+        this.tileSize = builder.tileSize;
+    }
+
+    public static VisualOptions defaults() {
+        return new Builder().build();
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public double getMaxDiffRatio() {
+        return maxDiffRatio;
+    }
+
+    public boolean isIgnoreAntiAliasing() {
+        return ignoreAntiAliasing;
+    }
+
+    public List<Rectangle> getIgnoreRegions() {
+        return ignoreRegions;
+    }
+
+    public int getMaxHashDistance() {
+        return maxHashDistance;
+    }
+
+    public boolean isDiffImage() {
+        return diffImage;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public static class Builder {
+        private double threshold = Double.parseDouble(ConfigReader.getConfigProp("visual.threshold", "0.1"));
+        private double maxDiffRatio = Double.parseDouble(ConfigReader.getConfigProp("visual.max.diff.ratio", "0"));
+        private boolean ignoreAntiAliasing = Boolean.parseBoolean(
+                ConfigReader.getConfigProp("visual.ignore.antialiasing", "true"));
+        private final List<Rectangle> ignoreRegions = new ArrayList<>();
+        private int maxHashDistance = Integer.parseInt(ConfigReader.getConfigProp("visual.max.hash.distance", "12"));
+        private boolean diffImage = true;
+        private int tileSize = Integer.parseInt(ConfigReader.getConfigProp("visual.tile.size", "256"));
+
+        public Builder threshold(double threshold) {
+            this.threshold = threshold;
+            return this;
+        }
+
+        public Builder maxDiffRatio(double maxDiffRatio) {
+            this.maxDiffRatio = maxDiffRatio;
+            return this;
+        }
+
+        public Builder ignoreAntiAliasing(boolean ignoreAntiAliasing) {
+            this.ignoreAntiAliasing = ignoreAntiAliasing;
+            return this;
+        }
+
+        public Builder ignoreRegion(Rectangle region) {
+            this.ignoreRegions.add(region);
+            return this;
+        }
+
+        public Builder maxHashDistance(int maxHashDistance) {
+            this.maxHashDistance = maxHashDistance;
+            return this;
+        }
+
+        public Builder diffImage(boolean diffImage) {
+            this.diffImage = diffImage;
+            return this;
+        }
+
+        public Builder tileSize(int tileSize) {
+            this.tileSize = tileSize;
+            return this;
+        }
+
+        public VisualOptions build() {
+            if (threshold < 0 || threshold > 1) {
+                throw new IllegalArgumentException("Threshold must be between 0 and 1, was " + threshold);
+            }
+            if (tileSize < 16) {
+                throw new IllegalArgumentException("Tile size must be at least 16 pixels, was " + tileSize);
+            }
+            return new VisualOptions(this);
+        }
+    }
+}
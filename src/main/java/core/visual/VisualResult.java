@@ -0,0 +1,101 @@
+package core.visual;
+
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+/**
+ * Outcome of comparing a capture with its baseline, see {@link VisualCheck} and {@link VisualComparator}
+ */
+public class VisualResult {
+    public enum Outcome {
+        /** No baseline existed, or baselines are being updated; the capture became the baseline */
+        NEW_BASELINE,
+        /** Same bytes as the baseline; nothing was decoded */
+        IDENTICAL,
+        /** Differences within the tolerance */
+        MATCH,
+        /** More differing pixels than the tolerance allows */
+        MISMATCH,
+        /** Perceptual hashes too far apart; pixels were not compared */
+        HASH_MISMATCH,
+        /** Capture and baseline have different dimensions */
+        SIZE_MISMATCH
+    }
+
+    private final Outcome outcome;
+    private final long diffPixels;
+    private final long antiAliasedPixels;
+    private final long comparedPixels;
+    private final int hashDistance;
+    private final BufferedImage diffImage;
+    private final long nanos;
+
+    VisualResult(Outcome outcome, long diffPixels, long antiAliasedPixels, long comparedPixels, int hashDistance,
+                 BufferedImage diffImage, long nanos) {
+        this.outcome = outcome;
+        this.diffPixels = diffPixels;
+        this.antiAliasedPixels = antiAliasedPixels;
+        this.comparedPixels = comparedPixels;
+        this.hashDistance = hashDistance;
+        this.diffImage = diffImage;
+        this.nanos = nanos;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isMatch() {
+        return outcome == Outcome.NEW_BASELINE || outcome == Outcome.IDENTICAL || outcome == Outcome.MATCH;
+    }
+
+    public long getDiffPixels() {
+        return diffPixels;
+    }
+
+    public long getAntiAliasedPixels() {
+        return antiAliasedPixels;
+    }
+
+    /**
+     * @return share of the compared pixels that differ, 0-1
+     */
+    public double getDiffRatio() {
+        return comparedPixels == 0 ? 0 : (double) diffPixels / comparedPixels;
+    }
+
+    /**
+     * @return Hamming distance of the perceptual hashes, -1 when they were not computed
+     */
+    public int getHashDistance() {
+        return hashDistance;
+    }
+
+    /**
+     * @return the capture with differences in red and anti-aliasing in yellow over a faded copy, or null
+     */
+    public BufferedImage getDiffImage() {
+        return diffImage;
+    }
+
+    public double getMillis() {
+        return nanos / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        switch (outcome) {
+            case NEW_BASELINE:
+                return "stored as the new baseline";
+            case IDENTICAL:
+                return "identical to the baseline";
+            case SIZE_MISMATCH:
+                return "size differs from the baseline";
+            case HASH_MISMATCH:
+                return "perceptually different from the baseline (hash distance " + hashDistance + ")";
+            default:
+                return String.format(Locale.ROOT, "%d pixels differ (%.3f%%), %d anti-aliased, in %.1f ms",
+                        diffPixels, getDiffRatio() * 100, antiAliasedPixels, getMillis());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package example.hooks;
+
+import core.config.ConfigReader;
+import example.support.StatusCodesServer;
+import io.cucumber.java.Before;
+
+public class LocalServerHooks {
+
+    // Runs before the other hooks so api.base.url points at the embedded server before any request is built
+    @Before(value = "@local_server", order = 0)
+    public void startLocalServer() {
+        long delayMillis = Long.parseLong(ConfigReader.getConfigProp("load.example.delay.ms", "5"));
+        System.setProperty("api.base.url", StatusCodesServer.start(delayMillis));
+    }
+}
@@ -3,13 +3,15 @@ package example.hooks;
 import core.hooks.CoreHooks;
 import core.reports.ReportFileUtil;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import org.testng.annotations.AfterSuite;
 
 public class TestHooks extends CoreHooks {
 
-    @Before("@ui")
+    // First, so page objects created by later hooks and steps bind to the started browser
+    @Before(value = "@ui", order = 0)
     public void setupUI(Scenario scenario) {
         beforeScenario(scenario);
     }
@@ -19,9 +21,14 @@ public class TestHooks extends CoreHooks {
         afterScenario(scenario);
     }
 
+    @AfterAll
+    public static void tearDownAll() {
+        afterAllScenarios();
+    }
+
     @Before("@api")
     public void setupAPI(Scenario scenario) {
-        // API test setup if needed
+        beforeApiScenario(scenario);
     }
 
     @AfterSuite(alwaysRun = true)
@@ -14,12 +14,17 @@ public class LoginPage extends PageObject {
     private By passwordField = By.id("password");
     private By loginButton = By.cssSelector("button[type='submit']");
     private By successMessage = By.cssSelector(".flash.success");
+    private By logoutButton = By.cssSelector("a[href='/logout']");
 
     // Methods
     public void navigateToLoginPage() {
         driver.get("https://the-internet.herokuapp.com/login");
     }
 
+    public void navigateToSecureArea() {
+        driver.get("https://the-internet.herokuapp.com/secure");
+    }
+
     public void enterUsername(String username) {
         clearAndSendKeys(usernameField, username);
     }
@@ -37,4 +42,8 @@ public class LoginPage extends PageObject {
         Assert.assertTrue(isDisplayed(successMessage, Duration.ofSeconds(5)), "Secure area not displayed!");
         Assert.assertTrue(getText(successMessage).contains("You logged into a secure area!"), "Login message incorrect!");
     }
+
+    public void verifyLoggedIn() {
+        Assert.assertTrue(isDisplayed(logoutButton, Duration.ofSeconds(5)), "Not logged in!");
+    }
 }
@@ -1,24 +1,27 @@
 package example.runners;
 
+import core.scheduling.ScenarioScheduler;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
 import org.testng.annotations.DataProvider;
 
 @CucumberOptions(
         features = "src/test/resources/features",
-        glue = {"example.stepdefs", "example.hooks"},
+        glue = {"example.stepdefs", "example.hooks", "core.load"},
         plugin = {
                 "pretty",
-                "html:target/cucumber-reports/cucumber.html",
-                "json:target/cucumber-reports/CucumberTestReport.json"
+                "core.reports.StepTimingPlugin",
+                "core.reports.LiveReportPlugin",
+                "core.scheduling.ScenarioDurationPlugin",
+                "core.reports.TimeToFirstStepPlugin"
         },
-        tags = "@ui"
+        tags = "@ui or @check"
 )
 public class TestNGRunner extends AbstractTestNGCucumberTests {
 
         @Override
         @DataProvider(parallel = true)
         public Object[][] scenarios() {
-                return super.scenarios();
+                return ScenarioScheduler.schedule(super.scenarios());
         }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package example.runners;
+
+import core.scheduling.VirtualThreadCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+
+@CucumberOptions(
+        features = "src/test/resources/features",
+        glue = {"example.stepdefs", "example.hooks", "core.load"},
+        plugin = {
+                "pretty",
+                "core.reports.StepTimingPlugin",
+                "core.reports.LiveReportPlugin",
+                "core.scheduling.ScenarioDurationPlugin"
+        },
+        tags = "@api"
+)
+public class VirtualThreadRunner extends VirtualThreadCucumberTests {
+}
@@ -0,0 +1,95 @@
+package example.stepdefs;
+
+import core.api.ApiClient;
+import core.api.ApiResponseCache;
+import example.support.CheckServer;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import org.testng.Assert;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class ApiCacheSteps {
+    private final ApiClientSteps apiClientSteps;
+    private final Map<String, String> overriddenProperties = new HashMap<>();
+    private int ttlSeconds;
+
+    public ApiCacheSteps(ApiClientSteps apiClientSteps) {
+        this.apiClientSteps = apiClientSteps;
+    }
+
+    @Given("an empty API response cache that keeps at most {int} entries for {int} second(s)")
+    public void anEmptyApiResponseCache(int maxEntries, int ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+        override("api.cache.enabled", "true");
+        override("api.cache.max.entries", String.valueOf(maxEntries));
+        override("api.cache.ttl.seconds", String.valueOf(ttlSeconds));
+        ApiResponseCache.clear();
+    }
+
+    @When("{int} concurrent cached GET request(s) ask(s) for {word}")
+    public void concurrentCachedGetRequestsAskFor(int count, String path) {
+        String url = checkServer().url(path);
+        List<CompletableFuture<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            responses.add(ApiClient.async(spec -> ApiClient.cached().get(url)));
+        }
+        responses.forEach(response -> assertReferenceData(response.join(), path));
+    }
+
+    @When("{int} cached GET request(s) ask(s) for {word}")
+    public void cachedGetRequestsAskFor(int count, String path) {
+        String url = checkServer().url(path);
+        for (int i = 0; i < count; i++) {
+            assertReferenceData(ApiClient.cached().get(url), path);
+        }
+    }
+
+    @When("the cached entries have expired")
+    public void theCachedEntriesHaveExpired() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(TimeUnit.SECONDS.toMillis(ttlSeconds) + 100);
+    }
+
+    @Then("the check server sent {int} full response(s) and {int} not modified response(s) for {word}")
+    public void theCheckServerSentResponsesFor(int full, int notModified, String path) {
+        Assert.assertEquals(checkServer().getFullResponseCount(path), full, "Full responses for " + path);
+        Assert.assertEquals(checkServer().getNotModifiedCount(path), notModified, "304 responses for " + path);
+    }
+
+    @After
+    public void restoreCacheSettings() {
+        if (overriddenProperties.isEmpty()) {
+            return;
+        }
+        overriddenProperties.forEach((key, value) -> {
+            if (value == null) {
+                System.clearProperty(key);
+            } else {
+                System.setProperty(key, value);
+            }
+        });
+        ApiResponseCache.clear();
+    }
+
+    private void override(String key, String value) {
+        overriddenProperties.putIfAbsent(key, System.getProperty(key));
+        System.setProperty(key, value);
+    }
+
+    private CheckServer checkServer() {
+        return apiClientSteps.getCheckServer();
+    }
+
+    private static void assertReferenceData(Response response, String path) {
+        Assert.assertEquals(response.getStatusCode(), 200, "Status of GET " + path);
+        Assert.assertTrue(response.asString().contains(path.split("\\?")[0]), "Body of GET " + path);
+    }
+}
@@ -0,0 +1,68 @@
+package example.stepdefs;
+
+import core.api.ApiClient;
+import core.api.ApiMetrics;
+import example.support.CheckServer;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+
+import java.util.Collections;
+import java.util.function.Function;
+
+public class ApiClientSteps {
+    private CheckServer checkServer;
+
+    @Given("a check server")
+    public void aCheckServer() {
+        checkServer = CheckServer.start();
+    }
+
+    CheckServer getCheckServer() {
+        return checkServer;
+    }
+
+    @When("I send {int} GET request(s) to the check server")
+    public void iSendGetRequestsToTheCheckServer(int count) {
+        String url = checkServer.url("/ok");
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(ApiClient.request().get(url).getStatusCode(), 200, "Status of GET " + url);
+        }
+    }
+
+    @When("I send {int} concurrent GET request(s) to the check server")
+    public void iSendConcurrentGetRequestsToTheCheckServer(int count) {
+        String url = checkServer.url("/ok");
+        Function<RequestSpecification, Response> call = spec -> spec.get(url);
+        for (Response response : ApiClient.all(Collections.nCopies(count, call))) {
+            Assert.assertEquals(response.getStatusCode(), 200, "Status of GET " + url);
+        }
+    }
+
+    @Then("the check server answered {int} request(s)")
+    public void theCheckServerAnsweredRequests(int count) {
+        Assert.assertEquals(checkServer.getRequestCount(), count, "Requests answered by the check server");
+    }
+
+    @Then("the check server answered {int} request(s) on {int} connection(s)")
+    public void theCheckServerAnsweredRequestsOnConnections(int count, int connections) {
+        theCheckServerAnsweredRequests(count);
+        Assert.assertEquals(checkServer.getConnectionCount(), connections, "Connections the requests came in on");
+    }
+
+    @Then("{int} API request(s) were recorded for the scenario")
+    public void apiRequestsWereRecordedForTheScenario(int count) {
+        Assert.assertEquals(ApiMetrics.getRequestCount(), count, "API requests recorded");
+    }
+
+    @After
+    public void stopCheckServer() {
+        if (checkServer != null) {
+            checkServer.stop();
+        }
+    }
+}
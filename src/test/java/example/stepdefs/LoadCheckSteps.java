@@ -0,0 +1,49 @@
+package example.stepdefs;
+
+import core.api.ApiClient;
+import core.load.LoadSteps;
+import example.support.StatusCodesServer;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import org.testng.Assert;
+
+public class LoadCheckSteps {
+    private final LoadSteps loadSteps;
+
+    public LoadCheckSteps(LoadSteps loadSteps) {
+        this.loadSteps = loadSteps;
+    }
+
+    // The first request of the JVM loads REST-assured, which can take seconds
+    @Given("the API client is warmed up with a request to {word}")
+    public void theApiClientIsWarmedUpWithARequestTo(String path) {
+        ApiClient.request().get(path);
+    }
+
+    @Given("the status codes server counts requests to {word}")
+    public void theStatusCodesServerCountsRequestsTo(String path) {
+        StatusCodesServer.track(path);
+    }
+
+    @Then("the status codes server answered {int} request(s) to {word}")
+    public void theStatusCodesServerAnsweredRequestsTo(int count, String path) {
+        Assert.assertEquals(StatusCodesServer.getRequestCount(path), count, "Requests to " + path);
+    }
+
+    @Then("the last request to {word} arrived {double} to {double} seconds after counting started")
+    public void theLastRequestArrivedAfterCountingStarted(String path, double minSeconds, double maxSeconds) {
+        double actual = StatusCodesServer.getTimeToLastRequest(path).toMillis() / 1000.0;
+        Assert.assertTrue(actual >= minSeconds && actual <= maxSeconds, "The last request to " + path + " arrived after "
+                + actual + " s, expected " + minSeconds + " to " + maxSeconds + " s");
+    }
+
+    @Then("a p{double} latency limit of {int} ms is reported as exceeded")
+    public void aLatencyLimitIsReportedAsExceeded(double percentile, int millis) {
+        try {
+            loadSteps.thePercentileLatencyIsBelow(percentile, millis);
+        } catch (AssertionError expected) {
+            return;
+        }
+        Assert.fail("A p" + percentile + " latency limit of " + millis + " ms passed");
+    }
+}
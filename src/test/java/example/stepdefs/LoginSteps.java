@@ -18,6 +18,11 @@ public class LoginSteps {
         loginPage.navigateToLoginPage();
     }
 
+    @Given("I navigate to the secure area")
+    public void iNavigateToTheSecureArea() {
+        loginPage.navigateToSecureArea();
+    }
+
     @When("I enter valid credentials")
     public void iEnterValidCredentials() {
         loginPage.enterUsername("tomsmith");
@@ -33,4 +38,9 @@ public class LoginSteps {
     public void iShouldSeeTheSecureArea() {
         loginPage.verifySecureAreaDisplayed();
     }
+
+    @Then("I should be logged in")
+    public void iShouldBeLoggedIn() {
+        loginPage.verifyLoggedIn();
+    }
 }
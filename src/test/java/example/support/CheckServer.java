@@ -0,0 +1,138 @@
+package example.support;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded server for the {@code @check} scenarios. Each scenario starts its own on a free local port, so the
+ * connection pool keeps its connections apart from those of other scenarios and the server only counts the
+ * scenario's own requests and the client connections they came in on.
+ * <ul>
+ *     <li>{@code GET /ok} answers 200</li>
+ *     <li>{@code GET /reference/<name>} answers JSON with an {@code ETag} after {@value #REFERENCE_DELAY_MILLIS} ms,
+ *     or 304 when {@code If-None-Match} has that tag; {@code ?no-store} adds {@code Cache-Control: no-store}</li>
+ * </ul>
+ */
+public class CheckServer {
+    private static final byte[] OK = "OK".getBytes(StandardCharsets.UTF_8);
+    private static final long REFERENCE_DELAY_MILLIS = 200;
+    private static final String ETAG = "\"v1\"";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requests = new AtomicInteger();
+    // Client ports; a kept-alive connection keeps its port
+    private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicInteger> fullResponses = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> notModified = new ConcurrentHashMap<>();
+
+    private CheckServer() {
+        // Otherwise Nagle's algorithm and delayed ACKs add 40 ms to every response on a kept-alive connection
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the check server", e);
+        }
+        server.createContext("/ok", exchange -> {
+            requests.incrementAndGet();
+            connections.add(exchange.getRemoteAddress().getPort());
+            exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, OK.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(OK);
+            }
+        });
+        server.createContext("/reference/", exchange -> {
+            String pathAndQuery = exchange.getRequestURI().toString();
+            sleep(REFERENCE_DELAY_MILLIS);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.computeIfAbsent(pathAndQuery, key -> new AtomicInteger()).incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            fullResponses.computeIfAbsent(pathAndQuery, key -> new AtomicInteger()).incrementAndGet();
+            byte[] body = ("{\"path\":\"" + exchange.getRequestURI().getPath() + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            if ("no-store".equals(exchange.getRequestURI().getQuery())) {
+                exchange.getResponseHeaders().add("Cache-Control", "no-store");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "check-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static CheckServer start() {
+        return new CheckServer();
+    }
+
+    /**
+     * @return the absolute URL of the path on this server
+     */
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return how many client connections the requests came in on
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * @return 200 responses with a body sent for the path and query
+     */
+    public int getFullResponseCount(String pathAndQuery) {
+        AtomicInteger count = fullResponses.get(pathAndQuery);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return 304 responses sent for the path and query
+     */
+    public int getNotModifiedCount(String pathAndQuery) {
+        AtomicInteger count = notModified.get(pathAndQuery);
+        return count == null ? 0 : count.get();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
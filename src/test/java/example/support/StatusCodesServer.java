@@ -0,0 +1,125 @@
+package example.support;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for the-internet's {@code /status_codes/<code>} pages, so load examples never hit a public site.
+ * {@code GET /status_codes/404} answers 404 after {@code load.example.delay.ms} of simulated server time.
+ * <p>
+ * Requests to a path and query passed to {@link #track} are counted, and the arrival of the last one is timed.
+ */
+public class StatusCodesServer {
+    private static final Map<String, Requests> TRACKED = new ConcurrentHashMap<>();
+    private static HttpServer server;
+
+    // Prevent instantiation
+    private StatusCodesServer() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Starts the server on a free local port once per JVM
+     *
+     * @return its base URL
+     */
+    public static synchronized String start(long delayMillis) {
+        if (server == null) {
+            // Otherwise Nagle's algorithm and delayed ACKs add 40 ms to every response on a kept-alive connection
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+            try {
+                server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the status codes server", e);
+            }
+            server.createContext("/status_codes/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                int status;
+                try {
+                    status = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+                } catch (NumberFormatException e) {
+                    status = 400;
+                }
+                Requests requests = TRACKED.get(exchange.getRequestURI().toString());
+                if (requests != null) {
+                    requests.arrived(System.nanoTime());
+                }
+                sleep(delayMillis);
+                byte[] body = ("This page returned a " + status + " status code.").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=utf-8");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "status-codes-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(0), "status-codes-server-shutdown"));
+        }
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Starts counting requests to the path and query, from zero if it was tracked before
+     */
+    public static void track(String pathAndQuery) {
+        TRACKED.put(pathAndQuery, new Requests());
+    }
+
+    public static int getRequestCount(String pathAndQuery) {
+        return tracked(pathAndQuery).count.get();
+    }
+
+    /**
+     * @return time from {@link #track} to the arrival of the last tracked request, zero when none arrived
+     */
+    public static Duration getTimeToLastRequest(String pathAndQuery) {
+        Requests requests = tracked(pathAndQuery);
+        return requests.count.get() == 0 ? Duration.ZERO : Duration.ofNanos(requests.last.get() - requests.trackedAt);
+    }
+
+    private static Requests tracked(String pathAndQuery) {
+        Requests requests = TRACKED.get(pathAndQuery);
+        if (requests == null) {
+            throw new IllegalStateException(pathAndQuery + " is not tracked");
+        }
+        return requests;
+    }
+
+    private static class Requests {
+        private final long trackedAt = System.nanoTime();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong last = new AtomicLong(trackedAt);
+
+        private void arrived(long nanos) {
+            last.accumulateAndGet(nanos, Math::max);
+            count.incrementAndGet();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
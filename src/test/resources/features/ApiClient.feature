@@ -0,0 +1,16 @@
+@api @check
+Feature: Connection pooling and latency recording of the API client
+
+  @tc_10
+  Scenario: Sequential requests reuse one pooled connection
+    Given a check server
+    When I send 20 GET requests to the check server
+    Then the check server answered 20 requests on 1 connection
+
+  @tc_11
+  Scenario: Sequential and concurrent requests are recorded for the scenario
+    Given a check server
+    When I send 3 GET requests to the check server
+    And I send 5 concurrent GET requests to the check server
+    Then the check server answered 8 requests
+    And 8 API requests were recorded for the scenario
@@ -0,0 +1,21 @@
+@api @check
+Feature: Response cache of the API client
+
+  # One scenario, since the cache and its settings are shared by the whole JVM
+  @tc_14
+  Scenario: Cached GETs share a request, revalidate once expired, skip no-store responses and evict the eldest
+    Given a check server
+    And an empty API response cache that keeps at most 3 entries for 1 second
+    When 5 concurrent cached GET requests ask for /reference/countries
+    Then the check server sent 1 full response and 0 not modified responses for /reference/countries
+    When the cached entries have expired
+    And 1 cached GET request asks for /reference/countries
+    Then the check server sent 1 full response and 1 not modified response for /reference/countries
+    When 2 cached GET requests ask for /reference/session?no-store
+    Then the check server sent 2 full responses and 0 not modified responses for /reference/session?no-store
+    # Three more entries push out /reference/countries, so it is fetched again without a conditional request
+    When 1 cached GET request asks for /reference/currencies
+    And 1 cached GET request asks for /reference/languages
+    And 1 cached GET request asks for /reference/regions
+    And 1 cached GET request asks for /reference/countries
+    Then the check server sent 2 full responses and 1 not modified response for /reference/countries
@@ -0,0 +1,23 @@
+@api @local_server @check
+Feature: Pacing, warm-up and thresholds of load checks
+
+  Background:
+    Given the API client is warmed up with a request to /status_codes/200
+
+  @tc_12
+  Scenario: An open workload sends requests at the arrival rate and leaves the warm-up out
+    Given the status codes server counts requests to /status_codes/200?check=open
+    And a load warm-up of 1 second
+    And requests arrive at 10 per second calling GET /status_codes/200?check=open for 2 seconds
+    # Arrivals are due every 100 ms for 3 seconds, the last one after 2.9 seconds; the last 2 seconds are measured
+    Then the status codes server answered 30 requests to /status_codes/200?check=open
+    And the last request to /status_codes/200?check=open arrived 2.9 to 4.5 seconds after counting started
+    And 20 requests were measured
+    And the error rate is below 1%
+
+  @tc_13
+  Scenario: A latency threshold below the server time fails the check
+    Given a load warm-up of 1 second
+    And requests arrive at 5 per second calling GET /status_codes/200?check=threshold for 2 seconds
+    Then the p95 latency is below 1000 ms
+    But a p95 latency limit of 1 ms is reported as exceeded
@@ -7,3 +7,8 @@ Feature: Login functionality
     When I enter valid credentials
     And I click the login button
     Then I should see the secure area
+
+  @tc_7 @auth_user
+  Scenario: Verify a cached session opens the secure area without the login form
+    Given I navigate to the secure area
+    Then I should be logged in
@@ -0,0 +1,17 @@
+@api @load @local_server
+Feature: Load check on an embedded status codes server
+
+  @tc_8
+  Scenario: Status page holds up under concurrent users
+    Given a load warm-up of 2 seconds
+    And the load is limited to 100 requests per second
+    And 10 concurrent users call GET /status_codes/200 for 10 seconds
+    Then the p95 latency is below 500 ms
+    And the error rate is below 1%
+
+  @tc_9
+  Scenario: Status page keeps up with a steady arrival rate
+    Given a load warm-up of 2 seconds
+    And requests arrive at 5 per second calling GET /status_codes/200 for 10 seconds
+    Then the p99 latency is below 1000 ms
+    And the error rate is below 1%